@@ -0,0 +1,64 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.ItemPedido;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.model.StatusPedido;
+import com.deliverytech.delivery_api.repository.RestauranteLocalizacao;
+
+/**
+ * Objetos de domínio montados em memória para os benchmarks (sem banco).
+ */
+final class Dados {
+
+    private Dados() {
+    }
+
+    static Pedido pedido(int itens) {
+        Cliente cliente = Cliente.builder().id(1L).nome("Cliente Benchmark").email("benchmark@email.com").build();
+        Restaurante restaurante = Restaurante.builder().id(1L).nome("Restaurante Benchmark").build();
+        Pedido pedido = Pedido.builder()
+                .id(1L)
+                .cliente(cliente)
+                .restaurante(restaurante)
+                .status(StatusPedido.REALIZADO)
+                .dataPedido(LocalDateTime.of(2025, 7, 1, 12, 0))
+                .enderecoEntrega("Rua do Benchmark, 100")
+                .itens(new ArrayList<>())
+                .build();
+        for (int i = 1; i <= itens; i++) {
+            Produto produto = Produto.builder()
+                    .id((long) i)
+                    .nome("Produto " + i)
+                    .preco(new BigDecimal("10.90").add(BigDecimal.valueOf(i)))
+                    .restaurante(restaurante)
+                    .build();
+            ItemPedido item = ItemPedido.builder().id((long) i).produto(produto).quantidade(1 + i % 3).build();
+            item.inicializarPrecoUnitario();
+            item.calcularSubtotal();
+            pedido.adicionarItem(item);
+        }
+        return pedido;
+    }
+
+    /**
+     * Restaurantes espalhados uniformemente num quadrado de 0,7° (~75 km) sobre a Grande São Paulo
+     */
+    static List<RestauranteLocalizacao> restaurantes(int quantidade, long semente) {
+        Random random = new Random(semente);
+        List<RestauranteLocalizacao> restaurantes = new ArrayList<>(quantidade);
+        for (int i = 1; i <= quantidade; i++) {
+            restaurantes.add(new RestauranteLocalizacao((long) i, "Restaurante " + i, "Lanches", "1133334444",
+                    new BigDecimal("5.00"), -24.0 + random.nextDouble() * 0.7, -47.0 + random.nextDouble() * 0.7));
+        }
+        return restaurantes;
+    }
+}
@@ -0,0 +1,58 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.deliverytech.delivery_api.security.JwtUtil;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Geração e validação de tokens com o mesmo segredo/expiração do application.properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "my-secret-keyQWERTYUIOPASDFGHJKLZXCVBNMQWERTY1");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86_400_000L);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+        token = jwtUtil.gerarToken("benchmark@email.com");
+    }
+
+    @Benchmark
+    public String gerarToken() {
+        return jwtUtil.gerarToken("benchmark@email.com");
+    }
+
+    @Benchmark
+    public Claims validarToken() {
+        return jwtUtil.validarToken(token);
+    }
+
+    @Benchmark
+    public Claims gerarEValidar() {
+        return jwtUtil.validarToken(jwtUtil.gerarToken("benchmark@email.com"));
+    }
+}
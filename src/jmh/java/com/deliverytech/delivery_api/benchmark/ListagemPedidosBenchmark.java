@@ -0,0 +1,128 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.deliverytech.delivery_api.DeliveryApiApplication;
+import com.deliverytech.delivery_api.dto.request.ItemPedidoRequest;
+import com.deliverytech.delivery_api.dto.request.PedidoRequest;
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.ClienteRepository;
+import com.deliverytech.delivery_api.repository.PedidoRepository;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.service.PedidoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Listagem de 100 pedidos do restaurante (consulta + JSON) no H2 em memória: projeção contra entidades
+ * com cliente, restaurante, itens e produtos. Compare gc.alloc.rate.norm (bytes por listagem).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListagemPedidosBenchmark {
+
+    private static final int PEDIDOS = 100;
+    private static final int ITENS_POR_PEDIDO = 3;
+
+    private ConfigurableApplicationContext contexto;
+    private PedidoService pedidoService;
+    private PedidoRepository pedidoRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private ObjectMapper objectMapper;
+    private Long restauranteId;
+
+    @Setup
+    public void setUp() {
+        SpringApplication aplicacao = new SpringApplication(DeliveryApiApplication.class);
+        aplicacao.setWebApplicationType(WebApplicationType.NONE);
+        contexto = aplicacao.run("--logging.level.root=WARN");
+        pedidoService = contexto.getBean(PedidoService.class);
+        pedidoRepository = contexto.getBean(PedidoRepository.class);
+        entityManager = contexto.getBean(EntityManager.class);
+        transactionTemplate = contexto.getBean(TransactionTemplate.class);
+        objectMapper = contexto.getBean(ObjectMapper.class);
+
+        Cliente cliente = contexto.getBean(ClienteRepository.class).save(Cliente.builder()
+                .nome("Cliente Benchmark")
+                .email("benchmark@email.com")
+                .telefone("11999999999")
+                .endereco("Rua do Teste, 100")
+                .build());
+        Restaurante restaurante = contexto.getBean(RestauranteRepository.class).save(Restaurante.builder()
+                .nome("Restaurante Benchmark")
+                .telefone("1133334444")
+                .TaxaEntrega(new BigDecimal("4.00"))
+                .build());
+        restauranteId = restaurante.getId();
+        ProdutoRepository produtoRepository = contexto.getBean(ProdutoRepository.class);
+        List<ItemPedidoRequest> itens = new ArrayList<>();
+        for (int i = 0; i < ITENS_POR_PEDIDO; i++) {
+            Produto produto = produtoRepository.save(Produto.builder()
+                    .nome("Produto " + i)
+                    .categoria("Lanches")
+                    .preco(new BigDecimal("20.00"))
+                    .restaurante(restaurante)
+                    .build());
+            itens.add(ItemPedidoRequest.builder().produtoId(produto.getId()).quantidade(i + 1).build());
+        }
+        for (int i = 0; i < PEDIDOS; i++) {
+            pedidoService.realizar(PedidoRequest.builder()
+                    .clienteId(cliente.getId())
+                    .restauranteId(restauranteId)
+                    .enderecoEntrega("Rua do Teste, 100")
+                    .itens(itens)
+                    .build());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public byte[] projecao() throws Exception {
+        return objectMapper.writeValueAsBytes(pedidoService.listarPorRestaurante(restauranteId, null, PEDIDOS));
+    }
+
+    // IDs paginados e depois o grafo de detalhe: o limite não pode ir na consulta com JOIN FETCH de itens
+    @Benchmark
+    public byte[] entidades() throws Exception {
+        return objectMapper.writeValueAsBytes(transactionTemplate.execute(status -> {
+            List<Long> ids = entityManager.createQuery(
+                            "SELECT p.id FROM Pedido p WHERE p.restaurante.id = :restauranteId ORDER BY p.id DESC", Long.class)
+                    .setParameter("restauranteId", restauranteId)
+                    .setMaxResults(PEDIDOS)
+                    .getResultList();
+            return pedidoRepository.findAllWithItensByIdIn(ids);
+        }));
+    }
+}
@@ -0,0 +1,71 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.deliverytech.delivery_api.model.ItemPedido;
+import com.deliverytech.delivery_api.model.Pedido;
+
+/**
+ * Aritmética BigDecimal de subtotal por item e total do pedido, por tamanho de carrinho.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PedidoCalculoBenchmark {
+
+    @Param({ "1", "5", "20" })
+    private int itens;
+
+    private Pedido pedido;
+    private ItemPedido item;
+
+    @Setup
+    public void setUp() {
+        pedido = Dados.pedido(itens);
+        item = pedido.getItens().get(0);
+    }
+
+    @Benchmark
+    public BigDecimal recalcularTotal() {
+        pedido.recalcularTotal();
+        return pedido.getTotal();
+    }
+
+    @Benchmark
+    public BigDecimal calcularSubtotal() {
+        item.calcularSubtotal();
+        return item.getSubtotal();
+    }
+
+    @Benchmark
+    public BigDecimal montarPedido() {
+        Pedido novo = Pedido.builder().itens(new ArrayList<>()).build();
+        for (ItemPedido existente : pedido.getItens()) {
+            ItemPedido copia = ItemPedido.builder()
+                    .produto(existente.getProduto())
+                    .quantidade(existente.getQuantidade())
+                    .precoUnitario(existente.getPrecoUnitario())
+                    .build();
+            copia.calcularSubtotal();
+            novo.adicionarItem(copia);
+        }
+        return novo.getTotal();
+    }
+}
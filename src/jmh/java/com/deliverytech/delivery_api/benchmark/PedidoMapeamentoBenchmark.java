@@ -0,0 +1,80 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.mapstruct.factory.Mappers;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.PropertyMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.deliverytech.delivery_api.dto.response.PedidoResponse;
+import com.deliverytech.delivery_api.dto.response.ProdutoResponse;
+import com.deliverytech.delivery_api.mapper.ResponseMapper;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.Produto;
+
+/**
+ * Mapeamento entidade → DTO: {@link ResponseMapper} gerado pelo MapStruct contra o ModelMapper
+ * reflexivo, configurado como o antigo ModelMapperConfig.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PedidoMapeamentoBenchmark {
+
+    @Param({ "1", "5", "20" })
+    private int itens;
+
+    private ModelMapper modelMapper;
+    private ResponseMapper responseMapper;
+    private Pedido pedido;
+    private Produto produto;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        modelMapper.addMappings(new PropertyMap<Pedido, PedidoResponse>() {
+            @Override
+            protected void configure() {
+                map().setClienteId(source.getCliente().getId());
+                map().setRestauranteId(source.getRestaurante().getId());
+            }
+        });
+        responseMapper = Mappers.getMapper(ResponseMapper.class);
+        pedido = Dados.pedido(itens);
+        produto = pedido.getItens().get(0).getProduto();
+    }
+
+    @Benchmark
+    public PedidoResponse pedidoModelMapper() {
+        return modelMapper.map(pedido, PedidoResponse.class);
+    }
+
+    @Benchmark
+    public PedidoResponse pedidoGerado() {
+        return responseMapper.toPedidoResponse(pedido);
+    }
+
+    @Benchmark
+    public ProdutoResponse produtoModelMapper() {
+        return modelMapper.map(produto, ProdutoResponse.class);
+    }
+
+    @Benchmark
+    public ProdutoResponse produtoGerado() {
+        return responseMapper.toProdutoResponse(produto);
+    }
+}
@@ -0,0 +1,96 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.deliverytech.delivery_api.busca.IndiceRestaurantesProximos;
+import com.deliverytech.delivery_api.dto.response.RestauranteProximoResponse;
+import com.deliverytech.delivery_api.repository.RestauranteLocalizacao;
+
+/**
+ * Restaurantes mais próximos de um cliente entre 100 mil: índice em grade contra a varredura de todos
+ * (o que a API teria de fazer sem o índice, depois de carregar tudo do banco).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RestaurantesProximosBenchmark {
+
+    private static final int CONSULTAS = 1024;
+
+    @Param({ "100000" })
+    private int restaurantes;
+
+    @Param({ "10" })
+    private int limite;
+
+    private IndiceRestaurantesProximos indice;
+    private List<RestauranteLocalizacao> todos;
+    private double[] latitudes;
+    private double[] longitudes;
+    private int proxima;
+
+    @Setup
+    public void setUp() {
+        todos = Dados.restaurantes(restaurantes, 42);
+        indice = new IndiceRestaurantesProximos(null);
+        indice.carregar(todos);
+        Random random = new Random(7);
+        latitudes = new double[CONSULTAS];
+        longitudes = new double[CONSULTAS];
+        for (int i = 0; i < CONSULTAS; i++) {
+            latitudes[i] = -24.0 + random.nextDouble() * 0.7;
+            longitudes[i] = -47.0 + random.nextDouble() * 0.7;
+        }
+    }
+
+    @Benchmark
+    public List<RestauranteProximoResponse> indice() {
+        int i = proxima++ & (CONSULTAS - 1);
+        return indice.buscarProximos(latitudes[i], longitudes[i], limite, 10.0);
+    }
+
+    @Benchmark
+    public RestauranteLocalizacao[] varreduraCompleta() {
+        int i = proxima++ & (CONSULTAS - 1);
+        double latitude = latitudes[i];
+        double longitude = longitudes[i];
+        double kmPorGrauLongitude = 111.195 * Math.cos(Math.toRadians(latitude));
+        RestauranteLocalizacao[] melhores = new RestauranteLocalizacao[limite];
+        double[] distancias = new double[limite];
+        int encontrados = 0;
+        for (RestauranteLocalizacao restaurante : todos) {
+            double dy = (restaurante.latitude() - latitude) * 111.195;
+            double dx = (restaurante.longitude() - longitude) * kmPorGrauLongitude;
+            double distancia = dx * dx + dy * dy;
+            if (encontrados == limite && distancia >= distancias[limite - 1]) {
+                continue;
+            }
+            int posicao = encontrados < limite ? encontrados++ : limite - 1;
+            while (posicao > 0 && distancias[posicao - 1] > distancia) {
+                distancias[posicao] = distancias[posicao - 1];
+                melhores[posicao] = melhores[posicao - 1];
+                posicao--;
+            }
+            distancias[posicao] = distancia;
+            melhores[posicao] = restaurante;
+        }
+        return melhores;
+    }
+}
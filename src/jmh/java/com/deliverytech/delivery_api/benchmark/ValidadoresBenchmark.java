@@ -0,0 +1,80 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.deliverytech.delivery_api.validation.CEPValidator;
+import com.deliverytech.delivery_api.validation.CNPJValidator;
+import com.deliverytech.delivery_api.validation.CategoriaValidator;
+import com.deliverytech.delivery_api.validation.TelefoneValidator;
+
+/**
+ * Validadores de Bean Validation chamados a cada request com CEP, telefone, categoria ou CNPJ.
+ * Cada validador mede um caso válido e um inválido (o inválido percorre todas as alternativas).
+ * Com o profiler gc do perfil jmh, gc.alloc.rate.norm deve ficar em ~0 B/op em todos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidadoresBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Cep {
+        @Param({ "01310-100", "0131010A" })
+        String valor;
+        final CEPValidator validator = new CEPValidator();
+    }
+
+    @State(Scope.Benchmark)
+    public static class Telefone {
+        @Param({ "(11) 99999-9999", "11 9999-999" })
+        String valor;
+        final TelefoneValidator validator = new TelefoneValidator();
+    }
+
+    @State(Scope.Benchmark)
+    public static class Categoria {
+        @Param({ "Pizzaria", "Churrascaria" })
+        String valor;
+        final CategoriaValidator validator = new CategoriaValidator();
+    }
+
+    @State(Scope.Benchmark)
+    public static class Cnpj {
+        @Param({ "11222333000181", "11222333000182" })
+        String valor;
+        final CNPJValidator validator = new CNPJValidator();
+    }
+
+    @Benchmark
+    public boolean cep(Cep cep) {
+        return cep.validator.isValid(cep.valor, null);
+    }
+
+    @Benchmark
+    public boolean telefone(Telefone telefone) {
+        return telefone.validator.isValid(telefone.valor, null);
+    }
+
+    @Benchmark
+    public boolean categoria(Categoria categoria) {
+        return categoria.validator.isValid(categoria.valor, null);
+    }
+
+    @Benchmark
+    public boolean cnpj(Cnpj cnpj) {
+        return cnpj.validator.isValid(cnpj.valor, null);
+    }
+}
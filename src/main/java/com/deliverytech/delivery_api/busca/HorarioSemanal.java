@@ -0,0 +1,67 @@
+package com.deliverytech.delivery_api.busca;
+
+import com.deliverytech.delivery_api.model.Expediente;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+
+/**
+ * Horário de funcionamento compilado em 7 × 1440 bits, um por minuto da semana (segunda 00:00 é o bit 0).
+ * "Aberto agora?" vira um teste de bit; turnos que passam da meia-noite de domingo continuam na segunda.
+ * Imutável.
+ */
+public final class HorarioSemanal {
+
+    static final int MINUTOS_DIA = 24 * 60;
+    static final int MINUTOS_SEMANA = 7 * MINUTOS_DIA;
+
+    /** Restaurante sem expedientes cadastrados */
+    public static final HorarioSemanal SEMPRE_ABERTO = new HorarioSemanal(todos());
+
+    private final long[] bits;
+
+    private HorarioSemanal(long[] bits) {
+        this.bits = bits;
+    }
+
+    public static HorarioSemanal compilar(Collection<Expediente> expedientes) {
+        if (expedientes.isEmpty()) {
+            return SEMPRE_ABERTO;
+        }
+        long[] bits = new long[(MINUTOS_SEMANA + 63) / 64];
+        for (Expediente expediente : expedientes) {
+            int abertura = minutoDoDia(expediente.getAbertura());
+            int fechamento = minutoDoDia(expediente.getFechamento());
+            int duracao = fechamento > abertura ? fechamento - abertura : MINUTOS_DIA - abertura + fechamento;
+            int inicio = (expediente.getDiaSemana().getValue() - 1) * MINUTOS_DIA + abertura;
+            for (int i = 0; i < duracao; i++) {
+                int minuto = (inicio + i) % MINUTOS_SEMANA;
+                bits[minuto >>> 6] |= 1L << minuto;
+            }
+        }
+        return new HorarioSemanal(bits);
+    }
+
+    public boolean estaAberto(LocalDateTime momento) {
+        return estaAberto(momento.getDayOfWeek(), minutoDoDia(momento.toLocalTime()));
+    }
+
+    public boolean estaAberto(DayOfWeek dia, int minutoDoDia) {
+        int minuto = (dia.getValue() - 1) * MINUTOS_DIA + minutoDoDia;
+        return (bits[minuto >>> 6] & (1L << minuto)) != 0;
+    }
+
+    private static int minutoDoDia(LocalTime horario) {
+        return horario.getHour() * 60 + horario.getMinute();
+    }
+
+    private static long[] todos() {
+        long[] bits = new long[(MINUTOS_SEMANA + 63) / 64];
+        for (int minuto = 0; minuto < MINUTOS_SEMANA; minuto++) {
+            bits[minuto >>> 6] |= 1L << minuto;
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,122 @@
+package com.deliverytech.delivery_api.busca;
+
+import com.deliverytech.delivery_api.event.ProdutoAlteradoEvent;
+import com.deliverytech.delivery_api.repository.DisponiveisPorRestaurante;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Conjunto materializado dos restaurantes com ao menos um produto disponível, mantido por um contador
+ * de produtos disponíveis por restaurante. Substitui o JOIN com a tabela de produtos a cada consulta.
+ * <p>
+ * Os contadores recebem a variação de cada cadastro, alteração ou exclusão feita por ProdutoService,
+ * após o commit. Gravações fora do serviço e corridas entre alterações simultâneas são corrigidas pela
+ * reconciliação periódica, que reconstrói tudo com uma contagem agrupada no banco.
+ */
+@Slf4j
+@Component
+public class IndiceDisponibilidade {
+
+    private final ProdutoRepository produtoRepository;
+    private final ReentrantLock escrita = new ReentrantLock();
+    // Nulo até a primeira construção; trocado por inteiro a cada reconciliação
+    private volatile Estado estado;
+
+    public IndiceDisponibilidade(ProdutoRepository produtoRepository) {
+        this.produtoRepository = produtoRepository;
+    }
+
+    /**
+     * Reconstrói contadores e conjunto a partir do banco: na subida e periodicamente, em segundo plano
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${restaurantes.disponibilidade.reconciliacao:5m}",
+               fixedDelayString = "${restaurantes.disponibilidade.reconciliacao:5m}")
+    public void reconstruir() {
+        escrita.lock();
+        try {
+            carregar(produtoRepository.contarDisponiveisPorRestaurante());
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    /**
+     * Substitui todo o conteúdo pelas contagens informadas
+     */
+    public void carregar(Collection<DisponiveisPorRestaurante> contagens) {
+        escrita.lock();
+        try {
+            Estado novo = new Estado();
+            for (DisponiveisPorRestaurante contagem : contagens) {
+                if (contagem.quantidade() > 0) {
+                    novo.contadores.put(contagem.restauranteId(), contagem.quantidade().intValue());
+                    novo.restaurantes.add(contagem.restauranteId());
+                }
+            }
+            Estado anterior = estado;
+            estado = novo;
+            if (anterior != null && !anterior.restaurantes.equals(novo.restaurantes)) {
+                log.warn("Reconciliação corrigiu o conjunto de restaurantes com produtos disponíveis: {} -> {}",
+                        anterior.restaurantes.size(), novo.restaurantes.size());
+            }
+            log.debug("Restaurantes com produtos disponíveis: {}", novo.restaurantes.size());
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    // Só depois do commit: uma alteração desfeita não muda o contador
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void atualizar(ProdutoAlteradoEvent evento) {
+        Estado atual = estado;
+        if (atual == null || evento.variacaoDisponiveis() == 0) {
+            // Ainda não construído: a construção lerá o produto já gravado
+            return;
+        }
+        // compute é atômico por restaurante: contador e conjunto mudam juntos
+        atual.contadores.compute(evento.restauranteId(), (id, quantidade) -> {
+            int nova = (quantidade != null ? quantidade : 0) + evento.variacaoDisponiveis();
+            if (nova > 0) {
+                atual.restaurantes.add(id);
+                return nova;
+            }
+            atual.restaurantes.remove(id);
+            return null;
+        });
+    }
+
+    /**
+     * IDs dos restaurantes com ao menos um produto disponível (visão somente leitura, sempre atual)
+     */
+    public Set<Long> restaurantes() {
+        Estado atual = estado;
+        if (atual == null) {
+            reconstruir();
+            atual = estado;
+        }
+        return Collections.unmodifiableSet(atual.restaurantes);
+    }
+
+    public int disponiveis(Long restauranteId) {
+        restaurantes();
+        return estado.contadores.getOrDefault(restauranteId, 0);
+    }
+
+    private static final class Estado {
+        private final ConcurrentHashMap<Long, Integer> contadores = new ConcurrentHashMap<>();
+        private final Set<Long> restaurantes = ConcurrentHashMap.newKeySet();
+    }
+}
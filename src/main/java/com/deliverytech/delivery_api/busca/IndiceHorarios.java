@@ -0,0 +1,148 @@
+package com.deliverytech.delivery_api.busca;
+
+import com.deliverytech.delivery_api.event.RestauranteAlteradoEvent;
+import com.deliverytech.delivery_api.model.Expediente;
+import com.deliverytech.delivery_api.repository.ExpedienteRestaurante;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Horários compilados ({@link HorarioSemanal}) dos restaurantes ativos, em ordem de ID.
+ * Responde "aberto agora?" e monta páginas de restaurantes abertos sem consultar o banco;
+ * a listagem busca depois só os IDs da página.
+ * <p>
+ * Construído na subida da aplicação e atualizado após o commit de cada alteração feita por
+ * RestauranteService. O "agora" é o relógio no fuso {@code restaurantes.fuso-horario}.
+ */
+@Slf4j
+@Component
+public class IndiceHorarios {
+
+    private final RestauranteRepository restauranteRepository;
+    private final ZoneId fusoHorario;
+    private final ReentrantLock escrita = new ReentrantLock();
+    // Nulo até a primeira construção
+    private volatile ConcurrentSkipListMap<Long, HorarioSemanal> ativos;
+
+    public IndiceHorarios(RestauranteRepository restauranteRepository,
+                          @Value("${restaurantes.fuso-horario:America/Sao_Paulo}") ZoneId fusoHorario) {
+        this.restauranteRepository = restauranteRepository;
+        this.fusoHorario = fusoHorario;
+    }
+
+    /**
+     * Reconstrói o índice a partir do banco. Roda na subida (depois da carga inicial) e pode ser
+     * chamado para incorporar restaurantes gravados direto no repositório.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        escrita.lock();
+        try {
+            carregar(restauranteRepository.findExpedientesAtivos());
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    /**
+     * Substitui todo o conteúdo do índice pelos turnos informados (uma linha por turno de cada restaurante ativo)
+     */
+    public void carregar(Collection<ExpedienteRestaurante> expedientes) {
+        escrita.lock();
+        try {
+            Map<Long, List<Expediente>> agrupados = new LinkedHashMap<>();
+            for (ExpedienteRestaurante linha : expedientes) {
+                List<Expediente> turnos = agrupados.computeIfAbsent(linha.restauranteId(), id -> new ArrayList<>());
+                if (linha.diaSemana() != null) {
+                    turnos.add(new Expediente(linha.diaSemana(), linha.abertura(), linha.fechamento()));
+                }
+            }
+            ConcurrentSkipListMap<Long, HorarioSemanal> novo = new ConcurrentSkipListMap<>();
+            agrupados.forEach((restauranteId, turnos) -> novo.put(restauranteId, HorarioSemanal.compilar(turnos)));
+            ativos = novo;
+            log.info("Índice de horários construído: {} restaurantes ativos", novo.size());
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    // Só depois do commit: uma alteração desfeita não muda o filtro
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void atualizar(RestauranteAlteradoEvent evento) {
+        escrita.lock();
+        try {
+            ConcurrentSkipListMap<Long, HorarioSemanal> indice = ativos;
+            if (indice == null) {
+                // Ainda não construído: a construção lerá o restaurante já gravado
+                return;
+            }
+            if (evento.ativo()) {
+                indice.put(evento.restauranteId(), HorarioSemanal.compilar(evento.expedientes()));
+            } else {
+                indice.remove(evento.restauranteId());
+            }
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    public LocalDateTime agora() {
+        return LocalDateTime.now(fusoHorario);
+    }
+
+    /**
+     * Restaurante ativo, aberto ou não
+     */
+    public boolean estaAtivo(Long restauranteId) {
+        return indice().containsKey(restauranteId);
+    }
+
+    /**
+     * Restaurante ativo e aberto no momento informado
+     */
+    public boolean estaAberto(Long restauranteId, LocalDateTime momento) {
+        HorarioSemanal horario = indice().get(restauranteId);
+        return horario != null && horario.estaAberto(momento);
+    }
+
+    /**
+     * Até {@code quantidade} IDs de restaurantes ativos e abertos no momento, com ID maior que {@code apos}, em ordem
+     */
+    public List<Long> abertos(Long apos, int quantidade, LocalDateTime momento) {
+        List<Long> ids = new ArrayList<>(quantidade);
+        for (Map.Entry<Long, HorarioSemanal> entrada : indice().tailMap(apos != null ? apos : 0L, false).entrySet()) {
+            if (entrada.getValue().estaAberto(momento)) {
+                ids.add(entrada.getKey());
+                if (ids.size() == quantidade) {
+                    break;
+                }
+            }
+        }
+        return ids;
+    }
+
+    private ConcurrentSkipListMap<Long, HorarioSemanal> indice() {
+        ConcurrentSkipListMap<Long, HorarioSemanal> indice = ativos;
+        if (indice == null) {
+            reconstruir();
+            indice = ativos;
+        }
+        return indice;
+    }
+}
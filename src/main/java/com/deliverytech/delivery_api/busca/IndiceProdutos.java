@@ -0,0 +1,299 @@
+package com.deliverytech.delivery_api.busca;
+
+import com.deliverytech.delivery_api.dto.response.ProdutoResponse;
+import com.deliverytech.delivery_api.event.ProdutoAlteradoEvent;
+import com.deliverytech.delivery_api.repository.ProdutoBusca;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Índice invertido em memória para a busca do cardápio (nome, categoria e descrição), por restaurante.
+ * Os textos são normalizados sem acento e em minúsculas; cada palavra é indexada por trigramas,
+ * o que permite buscar por trechos ("quei" encontra "Pão de Queijo") a cada tecla digitada, sem banco.
+ * <p>
+ * É construído na subida da aplicação e atualizado após o commit de cada cadastro, alteração ou
+ * exclusão feita por ProdutoService. Cada restaurante é um instantâneo imutável, trocado por inteiro
+ * a cada alteração: leituras nunca bloqueiam; escritas são serializadas.
+ */
+@Slf4j
+@Component
+public class IndiceProdutos {
+
+    public enum Campo { NOME, CATEGORIA, TODOS }
+
+    private static final int TAMANHO_GRAMA = 3;
+
+    private final ProdutoRepository produtoRepository;
+    private final ReentrantLock escrita = new ReentrantLock();
+    // Nulo até a primeira construção
+    private volatile Map<Long, IndiceRestaurante> porRestaurante;
+
+    public IndiceProdutos(ProdutoRepository produtoRepository) {
+        this.produtoRepository = produtoRepository;
+    }
+
+    /**
+     * Reconstrói o índice a partir do banco. Roda na subida (depois da carga inicial) e pode ser
+     * chamado para incorporar produtos gravados direto no repositório.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        escrita.lock();
+        try {
+            carregar(produtoRepository.findAllParaBusca());
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    /**
+     * Substitui todo o conteúdo do índice pelos produtos informados
+     */
+    public void carregar(Collection<ProdutoBusca> produtos) {
+        escrita.lock();
+        try {
+            Map<Long, List<ProdutoBusca>> agrupados = new HashMap<>();
+            for (ProdutoBusca produto : produtos) {
+                agrupados.computeIfAbsent(produto.restauranteId(), id -> new ArrayList<>()).add(produto);
+            }
+            Map<Long, IndiceRestaurante> novo = new ConcurrentHashMap<>();
+            agrupados.forEach((restauranteId, lista) -> novo.put(restauranteId, IndiceRestaurante.de(lista)));
+            porRestaurante = novo;
+            log.info("Índice de produtos construído: {} produtos de {} restaurantes", produtos.size(), novo.size());
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    // Só depois do commit: uma alteração desfeita não aparece na busca
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void atualizar(ProdutoAlteradoEvent evento) {
+        escrita.lock();
+        try {
+            Map<Long, IndiceRestaurante> indice = porRestaurante;
+            if (indice == null) {
+                // Ainda não construído: a construção lerá o produto já gravado
+                return;
+            }
+            IndiceRestaurante atual = indice.get(evento.restauranteId());
+            List<ProdutoBusca> produtos = new ArrayList<>();
+            if (atual != null) {
+                for (Entrada entrada : atual.entradas) {
+                    if (!entrada.produto.id().equals(evento.produtoId())) {
+                        produtos.add(entrada.produto);
+                    }
+                }
+            }
+            if (evento.produto() != null) {
+                produtos.add(evento.produto());
+            }
+            if (produtos.isEmpty()) {
+                indice.remove(evento.restauranteId());
+            } else {
+                indice.put(evento.restauranteId(), IndiceRestaurante.de(produtos));
+            }
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    public boolean contemRestaurante(Long restauranteId) {
+        return indice().containsKey(restauranteId);
+    }
+
+    /**
+     * O produto do restaurante, ou nulo se não existir (busca binária nas entradas ordenadas por ID)
+     */
+    public ProdutoResponse produto(Long restauranteId, long produtoId) {
+        IndiceRestaurante restaurante = indice().get(restauranteId);
+        return restaurante != null ? restaurante.produto(produtoId) : null;
+    }
+
+    /**
+     * Produtos do restaurante cujo campo contém todas as palavras do termo (sem diferenciar
+     * acentos ou maiúsculas), em ordem de ID. Termo vazio devolve o cardápio inteiro.
+     */
+    public List<ProdutoResponse> buscar(Long restauranteId, String termo, Campo campo) {
+        IndiceRestaurante restaurante = indice().get(restauranteId);
+        if (restaurante == null) {
+            return List.of();
+        }
+        return restaurante.buscar(palavras(normalizar(termo)), campo);
+    }
+
+    private Map<Long, IndiceRestaurante> indice() {
+        Map<Long, IndiceRestaurante> indice = porRestaurante;
+        if (indice == null) {
+            reconstruir();
+            indice = porRestaurante;
+        }
+        return indice;
+    }
+
+    /**
+     * Minúsculas e sem acentos: "Pão de Queijo" vira "pao de queijo", "Açaí" vira "acai"
+     */
+    static String normalizar(String texto) {
+        if (texto == null || texto.isEmpty()) {
+            return "";
+        }
+        String decomposto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        StringBuilder normalizado = new StringBuilder(decomposto.length());
+        for (int i = 0; i < decomposto.length(); i++) {
+            char c = decomposto.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                normalizado.append(Character.toLowerCase(c));
+            }
+        }
+        return normalizado.toString();
+    }
+
+    static List<String> palavras(String normalizado) {
+        List<String> palavras = new ArrayList<>();
+        int inicio = -1;
+        for (int i = 0; i <= normalizado.length(); i++) {
+            boolean letra = i < normalizado.length() && Character.isLetterOrDigit(normalizado.charAt(i));
+            if (letra && inicio < 0) {
+                inicio = i;
+            } else if (!letra && inicio >= 0) {
+                palavras.add(normalizado.substring(inicio, i));
+                inicio = -1;
+            }
+        }
+        return palavras;
+    }
+
+    private record Entrada(ProdutoBusca produto, ProdutoResponse resposta,
+                           String nome, String categoria, String descricao) {
+
+        static Entrada de(ProdutoBusca produto) {
+            return new Entrada(produto,
+                    new ProdutoResponse(produto.id(), produto.nome(), produto.categoria(), produto.descricao(),
+                            produto.preco(), produto.ativo()),
+                    normalizar(produto.nome()), normalizar(produto.categoria()), normalizar(produto.descricao()));
+        }
+
+        boolean contem(Campo campo, String palavra) {
+            return switch (campo) {
+                case NOME -> nome.contains(palavra);
+                case CATEGORIA -> categoria.contains(palavra);
+                case TODOS -> nome.contains(palavra) || categoria.contains(palavra) || descricao.contains(palavra);
+            };
+        }
+    }
+
+    /**
+     * Cardápio de um restaurante: entradas ordenadas por ID e, para cada trigrama, as posições
+     * (crescentes) das entradas em que ele aparece em qualquer campo.
+     */
+    private static final class IndiceRestaurante {
+
+        private final Entrada[] entradas;
+        private final Map<String, int[]> gramas;
+
+        private IndiceRestaurante(Entrada[] entradas, Map<String, int[]> gramas) {
+            this.entradas = entradas;
+            this.gramas = gramas;
+        }
+
+        static IndiceRestaurante de(List<ProdutoBusca> produtos) {
+            Entrada[] entradas = produtos.stream()
+                    .sorted(Comparator.comparing(ProdutoBusca::id))
+                    .map(Entrada::de)
+                    .toArray(Entrada[]::new);
+            Map<String, List<Integer>> posicoes = new HashMap<>();
+            for (int i = 0; i < entradas.length; i++) {
+                Entrada entrada = entradas[i];
+                for (String texto : new String[] { entrada.nome, entrada.categoria, entrada.descricao }) {
+                    for (String palavra : palavras(texto)) {
+                        for (int j = 0; j + TAMANHO_GRAMA <= palavra.length(); j++) {
+                            List<Integer> lista = posicoes.computeIfAbsent(
+                                    palavra.substring(j, j + TAMANHO_GRAMA), g -> new ArrayList<>());
+                            if (lista.isEmpty() || lista.get(lista.size() - 1) != i) {
+                                lista.add(i);
+                            }
+                        }
+                    }
+                }
+            }
+            Map<String, int[]> gramas = new HashMap<>(posicoes.size() * 4 / 3 + 1);
+            posicoes.forEach((grama, lista) -> gramas.put(grama, lista.stream().mapToInt(Integer::intValue).toArray()));
+            return new IndiceRestaurante(entradas, gramas);
+        }
+
+        ProdutoResponse produto(long produtoId) {
+            int inicio = 0, fim = entradas.length - 1;
+            while (inicio <= fim) {
+                int meio = (inicio + fim) >>> 1;
+                long id = entradas[meio].produto.id();
+                if (id == produtoId) {
+                    return entradas[meio].resposta;
+                } else if (id < produtoId) {
+                    inicio = meio + 1;
+                } else {
+                    fim = meio - 1;
+                }
+            }
+            return null;
+        }
+
+        List<ProdutoResponse> buscar(List<String> palavras, Campo campo) {
+            // Candidatos: entradas com todos os trigramas das palavras; depois confere o trecho no campo
+            int[] candidatos = null;
+            for (String palavra : palavras) {
+                for (int j = 0; j + TAMANHO_GRAMA <= palavra.length(); j++) {
+                    int[] posicoes = gramas.get(palavra.substring(j, j + TAMANHO_GRAMA));
+                    if (posicoes == null) {
+                        return List.of();
+                    }
+                    candidatos = candidatos == null ? posicoes : intersecao(candidatos, posicoes);
+                    if (candidatos.length == 0) {
+                        return List.of();
+                    }
+                }
+            }
+            List<ProdutoResponse> resultado = new ArrayList<>();
+            int total = candidatos != null ? candidatos.length : entradas.length;
+            for (int k = 0; k < total; k++) {
+                Entrada entrada = entradas[candidatos != null ? candidatos[k] : k];
+                if (palavras.stream().allMatch(palavra -> entrada.contem(campo, palavra))) {
+                    resultado.add(entrada.resposta);
+                }
+            }
+            return resultado;
+        }
+
+        private static int[] intersecao(int[] a, int[] b) {
+            int[] resultado = new int[Math.min(a.length, b.length)];
+            int i = 0, j = 0, n = 0;
+            while (i < a.length && j < b.length) {
+                if (a[i] == b[j]) {
+                    resultado[n++] = a[i];
+                    i++;
+                    j++;
+                } else if (a[i] < b[j]) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return n == resultado.length ? resultado : Arrays.copyOf(resultado, n);
+        }
+    }
+}
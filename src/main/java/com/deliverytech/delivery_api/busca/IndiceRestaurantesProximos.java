@@ -0,0 +1,236 @@
+package com.deliverytech.delivery_api.busca;
+
+import com.deliverytech.delivery_api.dto.response.RestauranteProximoResponse;
+import com.deliverytech.delivery_api.event.RestauranteAlteradoEvent;
+import com.deliverytech.delivery_api.repository.RestauranteLocalizacao;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongPredicate;
+
+/**
+ * Índice espacial em memória dos restaurantes ativos com coordenadas, para a busca "mais próximos de mim".
+ * Os restaurantes ficam numa grade de células de {@value #TAMANHO_CELULA_GRAUS}° (cerca de 1 km);
+ * a busca percorre anéis de células a partir da posição do cliente e para assim que nenhuma célula
+ * ainda não visitada pode conter algo mais perto que o N-ésimo encontrado.
+ * <p>
+ * Construído na subida da aplicação e atualizado após o commit de cada alteração feita por
+ * RestauranteService. Cada célula é um array imutável trocado por inteiro: leituras nunca bloqueiam;
+ * escritas são serializadas. A grade não dá a volta no antimeridiano (±180°).
+ */
+@Slf4j
+@Component
+public class IndiceRestaurantesProximos {
+
+    static final double TAMANHO_CELULA_GRAUS = 0.01;
+    private static final double KM_POR_GRAU = 111.195;
+    private static final double RAIO_TERRA_KM = 6371.0;
+
+    private final RestauranteRepository restauranteRepository;
+    private final ReentrantLock escrita = new ReentrantLock();
+    // Nulos até a primeira construção; trocados juntos numa reconstrução
+    private volatile Map<Long, RestauranteLocalizacao[]> celulas;
+    private volatile Map<Long, RestauranteLocalizacao> porId;
+
+    public IndiceRestaurantesProximos(RestauranteRepository restauranteRepository) {
+        this.restauranteRepository = restauranteRepository;
+    }
+
+    /**
+     * Reconstrói o índice a partir do banco. Roda na subida (depois da carga inicial) e pode ser
+     * chamado para incorporar restaurantes gravados direto no repositório.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        escrita.lock();
+        try {
+            carregar(restauranteRepository.findLocalizacaoAtivos());
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    /**
+     * Substitui todo o conteúdo do índice pelos restaurantes informados
+     */
+    public void carregar(Collection<RestauranteLocalizacao> restaurantes) {
+        escrita.lock();
+        try {
+            Map<Long, List<RestauranteLocalizacao>> agrupados = new HashMap<>();
+            Map<Long, RestauranteLocalizacao> novoPorId = new ConcurrentHashMap<>();
+            for (RestauranteLocalizacao restaurante : restaurantes) {
+                agrupados.computeIfAbsent(celula(restaurante.latitude(), restaurante.longitude()),
+                        c -> new ArrayList<>()).add(restaurante);
+                novoPorId.put(restaurante.id(), restaurante);
+            }
+            Map<Long, RestauranteLocalizacao[]> novasCelulas = new ConcurrentHashMap<>();
+            agrupados.forEach((celula, lista) -> novasCelulas.put(celula, lista.toArray(RestauranteLocalizacao[]::new)));
+            porId = novoPorId;
+            celulas = novasCelulas;
+            log.info("Índice de restaurantes próximos construído: {} restaurantes em {} células",
+                    novoPorId.size(), novasCelulas.size());
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    // Só depois do commit: uma alteração desfeita não aparece na busca
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void atualizar(RestauranteAlteradoEvent evento) {
+        escrita.lock();
+        try {
+            Map<Long, RestauranteLocalizacao[]> celulas = this.celulas;
+            if (celulas == null) {
+                // Ainda não construído: a construção lerá o restaurante já gravado
+                return;
+            }
+            RestauranteLocalizacao anterior = porId.remove(evento.restauranteId());
+            if (anterior != null) {
+                long celula = celula(anterior.latitude(), anterior.longitude());
+                RestauranteLocalizacao[] restantes = Arrays.stream(celulas.getOrDefault(celula, new RestauranteLocalizacao[0]))
+                        .filter(r -> !r.id().equals(evento.restauranteId()))
+                        .toArray(RestauranteLocalizacao[]::new);
+                if (restantes.length == 0) {
+                    celulas.remove(celula);
+                } else {
+                    celulas.put(celula, restantes);
+                }
+            }
+            RestauranteLocalizacao novo = evento.localizacao();
+            if (novo != null) {
+                long celula = celula(novo.latitude(), novo.longitude());
+                RestauranteLocalizacao[] atuais = celulas.getOrDefault(celula, new RestauranteLocalizacao[0]);
+                RestauranteLocalizacao[] comNovo = Arrays.copyOf(atuais, atuais.length + 1);
+                comNovo[atuais.length] = novo;
+                celulas.put(celula, comNovo);
+                porId.put(novo.id(), novo);
+            }
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    public int tamanho() {
+        indice();
+        return porId.size();
+    }
+
+    /**
+     * Até {@code limite} restaurantes a no máximo {@code raioKm} do ponto, do mais próximo ao mais distante
+     */
+    public List<RestauranteProximoResponse> buscarProximos(double latitude, double longitude, int limite, double raioKm) {
+        return buscarProximos(latitude, longitude, limite, raioKm, id -> true);
+    }
+
+    /**
+     * Como {@link #buscarProximos(double, double, int, double)}, só com os restaurantes aceitos pelo filtro
+     */
+    public List<RestauranteProximoResponse> buscarProximos(double latitude, double longitude, int limite, double raioKm,
+                                                           LongPredicate filtro) {
+        Map<Long, RestauranteLocalizacao[]> celulas = indice();
+        RestauranteLocalizacao[] melhores = new RestauranteLocalizacao[limite];
+        double[] distancias = new double[limite];
+        int encontrados = 0;
+
+        // Distância plana (equirretangular) para comparar; exata o bastante na escala de um raio de entrega
+        double kmPorGrauLongitude = KM_POR_GRAU * Math.cos(Math.toRadians(latitude));
+        double raioQuadrado = raioKm * raioKm;
+        int linha = posicao(latitude + 90);
+        int coluna = posicao(longitude + 180);
+
+        for (int anel = 0; ; anel++) {
+            for (int i = linha - anel; i <= linha + anel; i++) {
+                boolean borda = i == linha - anel || i == linha + anel;
+                // Nas linhas do meio do anel, só a primeira e a última coluna
+                int passo = borda ? 1 : Math.max(1, 2 * anel);
+                for (int j = coluna - anel; j <= coluna + anel; j += passo) {
+                    RestauranteLocalizacao[] celula = celulas.get(chave(i, j));
+                    if (celula == null) {
+                        continue;
+                    }
+                    for (RestauranteLocalizacao restaurante : celula) {
+                        double dy = (restaurante.latitude() - latitude) * KM_POR_GRAU;
+                        double dx = (restaurante.longitude() - longitude) * kmPorGrauLongitude;
+                        double distancia = dx * dx + dy * dy;
+                        if (distancia > raioQuadrado || (encontrados == limite && distancia >= distancias[limite - 1])
+                                || !filtro.test(restaurante.id())) {
+                            continue;
+                        }
+                        // Inserção ordenada: o limite é pequeno
+                        int posicao = encontrados < limite ? encontrados++ : limite - 1;
+                        while (posicao > 0 && distancias[posicao - 1] > distancia) {
+                            distancias[posicao] = distancias[posicao - 1];
+                            melhores[posicao] = melhores[posicao - 1];
+                            posicao--;
+                        }
+                        distancias[posicao] = distancia;
+                        melhores[posicao] = restaurante;
+                    }
+                }
+            }
+            // Qualquer célula fora dos anéis já vistos está a pelo menos 'anel' células de distância
+            // (a largura em km das colunas diminui com a latitude: usa a mais estreita do anel)
+            double alcance = anel * TAMANHO_CELULA_GRAUS * KM_POR_GRAU
+                    * Math.cos(Math.toRadians(Math.min(89.0, Math.abs(latitude) + (anel + 1) * TAMANHO_CELULA_GRAUS)));
+            double alcanceQuadrado = alcance * alcance;
+            if (alcanceQuadrado > raioQuadrado || (encontrados == limite && distancias[limite - 1] <= alcanceQuadrado)) {
+                break;
+            }
+        }
+
+        List<RestauranteProximoResponse> resultado = new ArrayList<>(encontrados);
+        for (int k = 0; k < encontrados; k++) {
+            RestauranteLocalizacao restaurante = melhores[k];
+            resultado.add(new RestauranteProximoResponse(restaurante.id(), restaurante.nome(), restaurante.categoria(),
+                    restaurante.telefone(), restaurante.taxaEntrega(), restaurante.latitude(), restaurante.longitude(),
+                    distanciaKm(latitude, longitude, restaurante.latitude(), restaurante.longitude())));
+        }
+        return resultado;
+    }
+
+    private Map<Long, RestauranteLocalizacao[]> indice() {
+        Map<Long, RestauranteLocalizacao[]> indice = celulas;
+        if (indice == null) {
+            reconstruir();
+            indice = celulas;
+        }
+        return indice;
+    }
+
+    /**
+     * Distância de grande círculo (haversine), arredondada em metros
+     */
+    static double distanciaKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        double km = 2 * RAIO_TERRA_KM * Math.asin(Math.sqrt(a));
+        return Math.round(km * 1000) / 1000.0;
+    }
+
+    private static long celula(double latitude, double longitude) {
+        return chave(posicao(latitude + 90), posicao(longitude + 180));
+    }
+
+    private static int posicao(double grausDeslocados) {
+        return (int) Math.floor(grausDeslocados / TAMANHO_CELULA_GRAUS);
+    }
+
+    private static long chave(int linha, int coluna) {
+        return ((long) linha << 32) | (coluna & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,12 @@
+package com.deliverytech.delivery_api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Tarefas agendadas (@Scheduled), como a reconciliação periódica dos índices em memória com o banco.
+ */
+@Configuration
+@EnableScheduling
+public class AgendamentoConfig {
+}
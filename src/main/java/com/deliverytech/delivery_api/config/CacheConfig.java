@@ -0,0 +1,57 @@
+package com.deliverytech.delivery_api.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Caches Caffeine nomeados para leituras frequentes de restaurantes e cardápios.
+ * Estatísticas (hit/miss/eviction) são publicadas no Micrometer como cache.gets, cache.evictions etc.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String RESTAURANTES = "restaurantes";
+    public static final String RESTAURANTES_POR_CNPJ = "restaurantesPorCnpj";
+    public static final String CARDAPIO_DISPONIVEL = "cardapioDisponivel";
+
+    @Value("${cache.restaurantes.maximum-size:1000}")
+    private long restaurantesMaximumSize;
+
+    @Value("${cache.restaurantes.ttl:10m}")
+    private Duration restaurantesTtl;
+
+    @Value("${cache.cardapio.maximum-size:1000}")
+    private long cardapioMaximumSize;
+
+    @Value("${cache.cardapio.ttl:5m}")
+    private Duration cardapioTtl;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Somente os caches abaixo: nomes desconhecidos falham em vez de criar caches sem limite
+        cacheManager.setCacheNames(List.of());
+
+        cacheManager.registerCustomCache(RESTAURANTES, caffeine(restaurantesMaximumSize, restaurantesTtl).build());
+        cacheManager.registerCustomCache(RESTAURANTES_POR_CNPJ, caffeine(restaurantesMaximumSize, restaurantesTtl).build());
+        cacheManager.registerCustomCache(CARDAPIO_DISPONIVEL, caffeine(cardapioMaximumSize, cardapioTtl).build());
+        return cacheManager;
+    }
+
+    private Caffeine<Object, Object> caffeine(long maximumSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats();
+    }
+}
@@ -0,0 +1,223 @@
+package com.deliverytech.delivery_api.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Grava as capturas do {@link ResponseCaptureFilter} fora da thread da requisição.
+ * A fila é limitada e sem bloqueio: cheia, a captura é descartada e contada em
+ * {@code captura.respostas.descartadas}. Uma única thread formata o JSON e acrescenta
+ * ao arquivo corrente, que é rotacionado ao atingir o tamanho máximo.
+ */
+@Slf4j
+public class CapturaRespostaWriter implements AutoCloseable {
+
+    static final String ARQUIVO_ATUAL = "capturas.log";
+    private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+    private static final DateTimeFormatter FORMATO_ROTACAO = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    public record Captura(LocalDateTime dataHora, String metodo, String url, int status, String contentType,
+                          byte[] corpoRequisicao, byte[] corpoResposta) {
+    }
+
+    private final Queue<Captura> fila = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger tamanhoFila = new AtomicInteger();
+    private final int capacidade;
+    private final Path diretorio;
+    private final long tamanhoMaximoArquivo;
+    private final int maximoArquivos;
+    private final Counter descartadas;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Thread escritor;
+    private volatile boolean ativo = true;
+
+    // Acessados somente pela thread de escrita
+    private OutputStream arquivo;
+    private long bytesNoArquivo;
+
+    public CapturaRespostaWriter(Path diretorio, int capacidade, long tamanhoMaximoArquivo, int maximoArquivos,
+                                 MeterRegistry meterRegistry) {
+        this.diretorio = diretorio;
+        this.capacidade = capacidade;
+        this.tamanhoMaximoArquivo = tamanhoMaximoArquivo;
+        this.maximoArquivos = maximoArquivos;
+        this.descartadas = Counter.builder("captura.respostas.descartadas")
+                .description("Capturas descartadas por fila cheia")
+                .register(meterRegistry);
+        Gauge.builder("captura.respostas.fila", tamanhoFila, AtomicInteger::get)
+                .description("Capturas aguardando gravação")
+                .register(meterRegistry);
+
+        this.escritor = new Thread(this::executar, "captura-respostas");
+        this.escritor.setDaemon(true);
+        this.escritor.start();
+    }
+
+    /**
+     * Enfileira sem bloquear; retorna false (e conta o descarte) se a fila estiver cheia
+     */
+    public boolean enfileirar(Captura captura) {
+        if (!ativo) {
+            descartadas.increment();
+            return false;
+        }
+        if (tamanhoFila.incrementAndGet() > capacidade) {
+            tamanhoFila.decrementAndGet();
+            descartadas.increment();
+            return false;
+        }
+        fila.offer(captura);
+        LockSupport.unpark(escritor);
+        return true;
+    }
+
+    public double getDescartadas() {
+        return descartadas.count();
+    }
+
+    /**
+     * Para a thread de escrita depois de gravar o que já está na fila
+     */
+    @Override
+    public void close() {
+        ativo = false;
+        LockSupport.unpark(escritor);
+        try {
+            escritor.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void executar() {
+        while (ativo || !fila.isEmpty()) {
+            Captura captura = fila.poll();
+            if (captura == null) {
+                descarregar();
+                // Sem prazo: enfileirar e close() acordam a thread; um unpark anterior ao park não se perde
+                if (ativo && fila.isEmpty()) {
+                    LockSupport.park(this);
+                }
+                continue;
+            }
+            tamanhoFila.decrementAndGet();
+            try {
+                gravar(formatar(captura).getBytes(StandardCharsets.UTF_8));
+            } catch (Exception e) {
+                log.warn("Erro ao gravar captura de {} {}: {}", captura.metodo(), captura.url(), e.getMessage());
+                fecharArquivo();
+            }
+        }
+        fecharArquivo();
+    }
+
+    private void gravar(byte[] conteudo) throws IOException {
+        if (arquivo != null && bytesNoArquivo > 0 && bytesNoArquivo + conteudo.length > tamanhoMaximoArquivo) {
+            rotacionar();
+        }
+        if (arquivo == null) {
+            Files.createDirectories(diretorio);
+            Path atual = diretorio.resolve(ARQUIVO_ATUAL);
+            arquivo = new BufferedOutputStream(Files.newOutputStream(atual,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND), 64 * 1024);
+            bytesNoArquivo = Files.size(atual);
+        }
+        arquivo.write(conteudo);
+        bytesNoArquivo += conteudo.length;
+    }
+
+    // Renomeia o arquivo corrente com data/hora e apaga os mais antigos além do limite
+    private void rotacionar() throws IOException {
+        fecharArquivo();
+        Path rotacionado = diretorio.resolve("capturas-" + LocalDateTime.now().format(FORMATO_ROTACAO) + ".log");
+        Files.move(diretorio.resolve(ARQUIVO_ATUAL), rotacionado);
+
+        List<Path> antigos;
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            antigos = arquivos
+                    .filter(p -> p.getFileName().toString().startsWith("capturas-"))
+                    .sorted()
+                    .toList();
+        }
+        for (int i = 0; i < antigos.size() - maximoArquivos; i++) {
+            Files.deleteIfExists(antigos.get(i));
+        }
+    }
+
+    private void descarregar() {
+        if (arquivo != null) {
+            try {
+                arquivo.flush();
+            } catch (IOException e) {
+                log.warn("Erro ao descarregar arquivo de capturas: {}", e.getMessage());
+                fecharArquivo();
+            }
+        }
+    }
+
+    private void fecharArquivo() {
+        if (arquivo != null) {
+            try {
+                arquivo.close();
+            } catch (IOException e) {
+                log.warn("Erro ao fechar arquivo de capturas: {}", e.getMessage());
+            }
+            arquivo = null;
+            bytesNoArquivo = 0;
+        }
+    }
+
+    private String formatar(Captura captura) {
+        StringBuilder content = new StringBuilder(256);
+        content.append("=== ENTREGA - TESTE DE ENDPOINT ===\n");
+        content.append("Data/Hora: ").append(captura.dataHora().format(FORMATO_DATA)).append("\n");
+        content.append("Método: ").append(captura.metodo()).append("\n");
+        content.append("URL Completa: ").append(captura.url()).append("\n");
+        content.append("Status HTTP: ").append(captura.status()).append("\n");
+        content.append("Content-Type: ").append(captura.contentType()).append("\n");
+
+        if (captura.corpoRequisicao().length > 0) {
+            content.append("\n=== DADOS ENVIADOS ===\n");
+            content.append(formatarCorpo(captura.corpoRequisicao()));
+        }
+
+        content.append("\n\n=== RESPOSTA REAL ===\n");
+        if (captura.corpoResposta().length > 0) {
+            content.append(formatarCorpo(captura.corpoResposta()));
+        } else {
+            content.append("(Resposta vazia)");
+        }
+        content.append("\n\n");
+        return content.toString();
+    }
+
+    private String formatarCorpo(byte[] corpo) {
+        try {
+            JsonNode json = objectMapper.readTree(corpo);
+            return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(json);
+        } catch (Exception e) {
+            return new String(corpo, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -91,6 +91,8 @@ private void inserirRestaurantes() {
             .categoria("Italiana")
             .telefone("1133333333")
             .TaxaEntrega(new BigDecimal("3.50"))
+            .latitude(-23.5614)
+            .longitude(-46.6559)
             .ativo(true)
             .build();
  
@@ -99,6 +101,8 @@ private void inserirRestaurantes() {
             .categoria("Fast Food")
             .telefone("1144444444")
             .TaxaEntrega(new BigDecimal("5.00"))
+            .latitude(-23.5505)
+            .longitude(-46.6333)
             .ativo(true)
             .build();
  
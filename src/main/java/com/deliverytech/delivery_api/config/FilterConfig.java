@@ -1,21 +1,46 @@
 package com.deliverytech.delivery_api.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 
+import java.nio.file.Path;
+
+/**
+ * Captura de respostas. Com {@code captura.habilitada=false} nenhum bean é criado:
+ * nem o filtro, nem a thread de gravação e suas métricas.
+ */
 @Configuration
+@ConditionalOnProperty(name = "captura.habilitada", havingValue = "true", matchIfMissing = true)
 public class FilterConfig {
 
+    @Bean(destroyMethod = "close")
+    public CapturaRespostaWriter capturaRespostaWriter(
+            MeterRegistry meterRegistry,
+            @Value("${captura.diretorio:entregaveis}") String diretorio,
+            @Value("${captura.fila.capacidade:1000}") int capacidade,
+            @Value("${captura.arquivo.tamanho-maximo:10MB}") DataSize tamanhoMaximoArquivo,
+            @Value("${captura.arquivo.maximo-arquivos:5}") int maximoArquivos) {
+        return new CapturaRespostaWriter(Path.of(diretorio), capacidade, tamanhoMaximoArquivo.toBytes(),
+                maximoArquivos, meterRegistry);
+    }
+
     @Bean
-    public FilterRegistrationBean<ResponseCaptureFilter> responseCaptureFilter() {
+    public FilterRegistrationBean<ResponseCaptureFilter> responseCaptureFilter(
+            CapturaRespostaWriter capturaRespostaWriter,
+            @Value("${captura.amostragem:1.0}") double amostragem,
+            @Value("${captura.corpo.tamanho-maximo:16KB}") DataSize tamanhoMaximoCorpo) {
         FilterRegistrationBean<ResponseCaptureFilter> registrationBean = new FilterRegistrationBean<>();
-        
-        registrationBean.setFilter(new ResponseCaptureFilter());
+
+        registrationBean.setFilter(new ResponseCaptureFilter(capturaRespostaWriter, amostragem,
+                (int) tamanhoMaximoCorpo.toBytes()));
         registrationBean.addUrlPatterns("/api/*");
         registrationBean.setOrder(1);
-        
+
         return registrationBean;
     }
 }
- 
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.deliverytech.delivery_api.config;
+
+import com.deliverytech.delivery_api.event.ProdutoAlteradoEvent;
+import com.deliverytech.delivery_api.event.RestauranteAlteradoEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Remove dos caches de {@link CacheConfig} as entradas afetadas por uma alteração, só depois do commit.
+ * Um @CacheEvict no método do serviço roda antes do commit: uma leitura concorrente ainda veria
+ * os dados antigos e os gravaria de volta no cache até o TTL.
+ */
+@Component
+public class InvalidacaoCaches {
+
+    private final CacheManager cacheManager;
+
+    public InvalidacaoCaches(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void produtoAlterado(ProdutoAlteradoEvent evento) {
+        cache(CacheConfig.CARDAPIO_DISPONIVEL).evict(evento.restauranteId());
+    }
+
+    // Na troca de CNPJ o antigo também sai: a busca por ele passa a não encontrar o restaurante
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void restauranteAlterado(RestauranteAlteradoEvent evento) {
+        cache(CacheConfig.RESTAURANTES).evict(evento.restauranteId());
+        Cache porCnpj = cache(CacheConfig.RESTAURANTES_POR_CNPJ);
+        evento.cnpjs().forEach(porCnpj::evict);
+    }
+
+    private Cache cache(String nome) {
+        Cache cache = cacheManager.getCache(nome);
+        if (cache == null) {
+            throw new IllegalStateException("Cache não configurado: " + nome);
+        }
+        return cache;
+    }
+}
@@ -0,0 +1,95 @@
+package com.deliverytech.delivery_api.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limita as conexões JDBC em uso ao tamanho do pool. Com threads virtuais, milhares de
+ * requisições podem pedir conexão ao mesmo tempo; aqui elas esperam em fila (semáforo justo),
+ * estacionando a thread virtual, em vez de disputarem o pool e estourarem o connectionTimeout.
+ * A permissão é devolvida quando a conexão é fechada (devolvida ao pool).
+ */
+public class LimiteConexoesDataSource extends DelegatingDataSource {
+
+    private final Semaphore permissoes;
+    private final long esperaMaximaMillis;
+
+    public LimiteConexoesDataSource(DataSource alvo, int conexoes, long esperaMaximaMillis) {
+        super(alvo);
+        this.permissoes = new Semaphore(conexoes, true);
+        this.esperaMaximaMillis = esperaMaximaMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        adquirir();
+        return liberarAoFechar(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        adquirir();
+        return liberarAoFechar(() -> super.getConnection(username, password));
+    }
+
+    public int getAguardando() {
+        return permissoes.getQueueLength();
+    }
+
+    public int getDisponiveis() {
+        return permissoes.availablePermits();
+    }
+
+    private void adquirir() throws SQLException {
+        try {
+            if (!permissoes.tryAcquire(esperaMaximaMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "Nenhuma conexão disponível após " + esperaMaximaMillis + " ms (" + getAguardando() + " aguardando)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrompido aguardando conexão", e);
+        }
+    }
+
+    private Connection liberarAoFechar(ObterConexao obter) throws SQLException {
+        Connection conexao;
+        try {
+            conexao = obter.get();
+        } catch (SQLException | RuntimeException e) {
+            permissoes.release();
+            throw e;
+        }
+        AtomicBoolean liberada = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, metodo, args) -> {
+                    if (metodo.getName().equals("close") && liberada.compareAndSet(false, true)) {
+                        try {
+                            conexao.close();
+                        } finally {
+                            permissoes.release();
+                        }
+                        return null;
+                    }
+                    try {
+                        return metodo.invoke(conexao, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    private interface ObterConexao {
+        Connection get() throws SQLException;
+    }
+}
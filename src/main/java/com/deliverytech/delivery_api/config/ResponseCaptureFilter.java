@@ -1,26 +1,31 @@
 package com.deliverytech.delivery_api.config;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.web.util.ContentCachingRequestWrapper;
 import org.springframework.web.util.ContentCachingResponseWrapper;
 
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ThreadLocalRandom;
 
+/**
+ * Captura request/response das APIs para {@code entregaveis/}. Na thread da requisição só
+ * copia os corpos (até o tamanho máximo) e enfileira; formatação e disco ficam com o
+ * {@link CapturaRespostaWriter}. Requisições fora da amostragem nem são bufferizadas.
+ */
 public class ResponseCaptureFilter implements Filter {
 
-    private final ObjectMapper objectMapper;
+    private final CapturaRespostaWriter writer;
+    private final double amostragem;
+    private final int tamanhoMaximoCorpo;
 
-    public ResponseCaptureFilter() {
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule());
+    public ResponseCaptureFilter(CapturaRespostaWriter writer, double amostragem, int tamanhoMaximoCorpo) {
+        this.writer = writer;
+        this.amostragem = amostragem;
+        this.tamanhoMaximoCorpo = tamanhoMaximoCorpo;
     }
 
     @Override
@@ -31,21 +36,23 @@ public class ResponseCaptureFilter implements Filter {
         HttpServletResponse httpResponse = (HttpServletResponse) response;
 
         // ✅ Só processar APIs (não arquivos estáticos)
-        if (!httpRequest.getRequestURI().startsWith("/api/")) {
+        // Exportações e streams SSE são streaming: o wrapper de captura guardaria a resposta inteira em memória
+        String uri = httpRequest.getRequestURI();
+        if (!uri.startsWith("/api/") || uri.endsWith("/exportar") || uri.endsWith("/stream") || !amostrada()) {
             chain.doFilter(request, response);
             return;
         }
 
         // ✅ Wrapper para capturar request e response
-        ContentCachingRequestWrapper requestWrapper = new ContentCachingRequestWrapper(httpRequest);
+        ContentCachingRequestWrapper requestWrapper = new ContentCachingRequestWrapper(httpRequest, tamanhoMaximoCorpo);
         ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(httpResponse);
 
         try {
             // ✅ Executar a requisição
             chain.doFilter(requestWrapper, responseWrapper);
 
-            // ✅ Capturar e salvar a resposta
-            capturarResposta(requestWrapper, responseWrapper);
+            // ✅ Enfileirar a captura (descartada se a fila estiver cheia)
+            writer.enfileirar(capturar(requestWrapper, responseWrapper));
 
         } finally {
             // ✅ IMPORTANTE: Copiar response de volta para o cliente
@@ -53,83 +60,30 @@ public class ResponseCaptureFilter implements Filter {
         }
     }
 
-    private void capturarResposta(ContentCachingRequestWrapper request,
-                                 ContentCachingResponseWrapper response) {
-        try {
-            // ✅ Criar diretório se não existir
-            File dir = new File("entregaveis");
-            if (!dir.exists()) {
-                dir.mkdirs();
-            }
-
-            // ✅ Gerar nome do arquivo
-            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-            String method = request.getMethod();
-            String endpoint = request.getRequestURI()
-                    .replace("/api/", "")
-                    .replace("/", "_");
-            
-            String fileName = String.format("%s_%s_%s.txt", method, endpoint, timestamp);
-
-            // ✅ Capturar dados da requisição
-            String queryString = request.getQueryString();
-            String fullUrl = request.getRequestURL().toString();
-            if (queryString != null) {
-                fullUrl += "?" + queryString;
-            }
-
-            // ✅ Capturar body da requisição
-            String requestBody = new String(request.getContentAsByteArray());
-
-            // ✅ Capturar body da resposta (AQUI ESTÁ A MAGIA!)
-            String responseBody = new String(response.getContentAsByteArray());
-
-            // ✅ Preparar conteúdo do arquivo
-            StringBuilder content = new StringBuilder();
-            content.append("=== ENTREGA - TESTE DE ENDPOINT ===\n");
-            content.append("Data/Hora: ").append(LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"))).append("\n");
-            content.append("Método: ").append(method).append("\n");
-            content.append("URL Completa: ").append(fullUrl).append("\n");
-            content.append("Status HTTP: ").append(response.getStatus()).append("\n");
-            content.append("Content-Type: ").append(response.getContentType()).append("\n");
-
-            // ✅ ADICIONAR: Request Body (se houver)
-            if (!requestBody.isEmpty()) {
-                content.append("\n=== DADOS ENVIADOS ===\n");
-                try {
-                    Object jsonRequest = objectMapper.readValue(requestBody, Object.class);
-                    String formattedRequest = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(jsonRequest);
-                    content.append(formattedRequest);
-                } catch (Exception e) {
-                    content.append(requestBody);
-                }
-            }
-
-            // ✅ ADICIONAR: Response Body REAL
-            content.append("\n\n=== RESPOSTA REAL ===\n");
-            if (!responseBody.isEmpty()) {
-                try {
-                    Object jsonResponse = objectMapper.readValue(responseBody, Object.class);
-                    String formattedResponse = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(jsonResponse);
-                    content.append(formattedResponse);
-                } catch (Exception e) {
-                    content.append(responseBody);
-                }
-            } else {
-                content.append("(Resposta vazia)");
-            }
-
-            // ✅ Salvar arquivo
-            try (FileWriter writer = new FileWriter(new File(dir, fileName))) {
-                writer.write(content.toString());
-            }
-
-            // ✅ Log no console
-            System.out.println("📄 Resposta completa salva: entregaveis/" + fileName);
-
-        } catch (Exception e) {
-            System.err.println("❌ Erro ao salvar resposta: " + e.getMessage());
+    private boolean amostrada() {
+        return amostragem >= 1.0 || ThreadLocalRandom.current().nextDouble() < amostragem;
+    }
+
+    private CapturaRespostaWriter.Captura capturar(ContentCachingRequestWrapper request,
+                                                  ContentCachingResponseWrapper response) throws IOException {
+        String fullUrl = request.getRequestURL().toString();
+        if (request.getQueryString() != null) {
+            fullUrl += "?" + request.getQueryString();
         }
+
+        // Lê só o início do buffer da resposta, sem copiar o corpo inteiro
+        byte[] corpoResposta;
+        try (InputStream conteudo = response.getContentInputStream()) {
+            corpoResposta = conteudo.readNBytes(tamanhoMaximoCorpo);
+        }
+
+        return new CapturaRespostaWriter.Captura(
+                LocalDateTime.now(),
+                request.getMethod(),
+                fullUrl,
+                response.getStatus(),
+                response.getContentType(),
+                request.getContentAsByteArray(),
+                corpoResposta);
     }
 }
- 
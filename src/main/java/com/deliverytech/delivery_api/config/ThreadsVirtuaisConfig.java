@@ -0,0 +1,54 @@
+package com.deliverytech.delivery_api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Modo de threads virtuais ({@code spring.threads.virtual.enabled=true}): o Spring Boot passa a
+ * atender o Tomcat e o executor de tarefas ({@code @Async}, MVC assíncrono) com threads virtuais.
+ * Como toda requisição bloqueia em JDBC, o pool Hikari vira o gargalo; as conexões em uso ficam
+ * limitadas ao tamanho do pool por {@link LimiteConexoesDataSource}.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ThreadsVirtuaisConfig {
+
+    @Bean
+    public static BeanPostProcessor limiteConexoesPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    log.info("Threads virtuais: conexões JDBC em uso limitadas a {}", hikari.getMaximumPoolSize());
+                    return new LimiteConexoesDataSource(hikari, hikari.getMaximumPoolSize(), hikari.getConnectionTimeout());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder limiteConexoesMetricas(DataSource dataSource) {
+        return registry -> {
+            try {
+                LimiteConexoesDataSource limite = dataSource.unwrap(LimiteConexoesDataSource.class);
+                Gauge.builder("jdbc.conexoes.aguardando", limite, LimiteConexoesDataSource::getAguardando)
+                        .description("Threads aguardando permissão para obter conexão JDBC")
+                        .register(registry);
+            } catch (SQLException e) {
+                log.warn("DataSource sem limite de conexões: {}", e.getMessage());
+            }
+        };
+    }
+}
@@ -4,6 +4,10 @@ package com.deliverytech.delivery_api.controller;
 import com.deliverytech.delivery_api.model.Cliente;
 import com.deliverytech.delivery_api.dto.request.ClienteRequest; // ✅ ADICIONAR IMPORT
 import com.deliverytech.delivery_api.dto.response.ApiResponseWrapper;
+import com.deliverytech.delivery_api.dto.response.ClienteResponse;
+import com.deliverytech.delivery_api.dto.response.PaginaResponse;
+import com.deliverytech.delivery_api.dto.response.RankingPedidosResponse;
+import com.deliverytech.delivery_api.mapper.ResponseMapper;
 import com.deliverytech.delivery_api.service.ClienteService; // ✅ INTERFACE
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,6 +28,7 @@ import java.util.Optional;
 public class ClienteController {
 
     private final ClienteService clienteService; // ✅ INJEÇÃO DA INTERFACE
+    private final ResponseMapper responseMapper;
 
     /**
      * Cadastrar novo cliente
@@ -34,7 +39,7 @@ public class ClienteController {
         try {
             log.info("Recebida requisição para cadastrar cliente: {}", clienteRequest.getEmail());
             Cliente clienteSalvo = clienteService.cadastrar(clienteRequest);
-            return ResponseEntity.status(HttpStatus.CREATED).body(clienteSalvo);
+            return ResponseEntity.status(HttpStatus.CREATED).body(responseMapper.toClienteResponse(clienteSalvo));
         } catch (IllegalArgumentException e) {
             log.warn("Erro de validação ao cadastrar cliente: {}", e.getMessage());
             return ResponseEntity.badRequest().body("Erro: " + e.getMessage());
@@ -46,13 +51,15 @@ public class ClienteController {
     }
 
     /**
-     * Listar todos os clientes ativos
-     * GET /clientes
+     * Listar clientes ativos paginados por cursor
+     * GET /clientes?after={cursor}&limit=20
      */
     @GetMapping
-    public ResponseEntity<List<Cliente>> listar() {
+    public ResponseEntity<PaginaResponse<ClienteResponse>> listar(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit) {
         log.info("Recebida requisição para listar clientes ativos");
-        List<Cliente> clientes = clienteService.listarAtivos();
+        PaginaResponse<ClienteResponse> clientes = clienteService.listarAtivos(PaginaResponse.decodificarCursor(after), limit);
         return ResponseEntity.ok(clientes);
     }
 
@@ -61,12 +68,12 @@ public class ClienteController {
      * GET /clientes/{id}
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponseWrapper<Cliente>> buscarPorId(@PathVariable Long id) {
+    public ResponseEntity<ApiResponseWrapper<ClienteResponse>> buscarPorId(@PathVariable Long id) {
         log.info("Recebida requisição para buscar cliente ID: {}", id);
         Optional<Cliente> cliente = clienteService.buscarPorId(id);
 
         if (cliente.isPresent()) {
-            return ResponseEntity.ok(ApiResponseWrapper.success(cliente.get(), "Cliente encontrado"));
+            return ResponseEntity.ok(ApiResponseWrapper.success(responseMapper.toClienteResponse(cliente.get()), "Cliente encontrado"));
         } else {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                 .body(ApiResponseWrapper.error("Cliente não encontrado"));
@@ -83,7 +90,7 @@ public class ClienteController {
         Optional<Cliente> cliente = clienteService.buscarPorEmail(email);
 
         if (cliente.isPresent()) {
-            return ResponseEntity.ok(cliente.get());
+            return ResponseEntity.ok(responseMapper.toClienteResponse(cliente.get()));
         } else {
             return ResponseEntity.notFound().build();
         }
@@ -94,10 +101,20 @@ public class ClienteController {
      * GET /clientes/buscar?nome=João
      */
     @GetMapping("/buscar")
-    public ResponseEntity<List<Cliente>> buscarPorNome(@RequestParam String nome) {
+    public ResponseEntity<List<ClienteResponse>> buscarPorNome(@RequestParam String nome) {
         log.info("Recebida requisição para buscar clientes por nome: {}", nome);
         List<Cliente> clientes = clienteService.buscarPorNome(nome);
-        return ResponseEntity.ok(clientes);
+        return ResponseEntity.ok(responseMapper.toClienteResponses(clientes));
+    }
+
+    /**
+     * Ranking dos clientes por número de pedidos entregues
+     * GET /api/clientes/ranking
+     */
+    @GetMapping("/ranking")
+    public ResponseEntity<List<RankingPedidosResponse>> rankingPorPedidos() {
+        log.info("Recebida requisição para ranking de clientes por pedidos");
+        return ResponseEntity.ok(clienteService.rankingPorPedidos());
     }
 
     /**
@@ -110,7 +127,7 @@ public class ClienteController {
         try {
             log.info("Recebida requisição para atualizar cliente ID: {}", id);
             Cliente clienteAtualizado = clienteService.atualizar(id, clienteRequest); // ✅ ALTERAR se o service suportar
-            return ResponseEntity.ok(clienteAtualizado);
+            return ResponseEntity.ok(responseMapper.toClienteResponse(clienteAtualizado));
         } catch (IllegalArgumentException e) {
             log.warn("Erro de validação ao atualizar cliente: {}", e.getMessage());
             return ResponseEntity.badRequest().body("Erro: " + e.getMessage());
@@ -155,7 +172,7 @@ public class ClienteController {
             return ResponseEntity.ok()
                 .body(Map.of(
                     "mensagem", "Cliente " + status + " com sucesso",
-                    "cliente", clienteAtualizado
+                    "cliente", responseMapper.toClienteResponse(clienteAtualizado)
                 ));
             
         } catch (IllegalArgumentException e) {
@@ -1,17 +1,36 @@
 package com.deliverytech.delivery_api.controller;
 
 import com.deliverytech.delivery_api.dto.request.PedidoRequest;
+import com.deliverytech.delivery_api.dto.request.StatusLoteRequest;
+import com.deliverytech.delivery_api.dto.response.PaginaResponse;
+import com.deliverytech.delivery_api.dto.response.PedidoResponse;
+import com.deliverytech.delivery_api.dto.response.TransicaoStatusResponse;
+import com.deliverytech.delivery_api.event.PedidoStatusHub;
+import com.deliverytech.delivery_api.mapper.ResponseMapper;
 import com.deliverytech.delivery_api.model.Pedido;
 import com.deliverytech.delivery_api.model.StatusPedido;
+import com.deliverytech.delivery_api.repository.PedidoExportacao;
 import com.deliverytech.delivery_api.service.PedidoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import jakarta.validation.Valid; // corrigido
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -26,6 +45,9 @@ import java.util.Map;
 public class PedidoController {
 
     private final PedidoService pedidoService;
+    private final PedidoStatusHub pedidoStatusHub;
+    private final ObjectMapper objectMapper;
+    private final ResponseMapper responseMapper;
 
     /**
      * Realizar um novo pedido
@@ -36,7 +58,7 @@ public class PedidoController {
         try {
             log.info("Recebida requisição para realizar pedido");
             Pedido pedidoSalvo = pedidoService.realizar(pedidoRequest);
-            return ResponseEntity.status(HttpStatus.CREATED).body(pedidoSalvo);
+            return ResponseEntity.status(HttpStatus.CREATED).body(responseMapper.toPedidoResponse(pedidoSalvo));
         } catch (IllegalArgumentException e) {
             log.warn("Erro de validação ao realizar pedido: {}", e.getMessage());
             return ResponseEntity.badRequest().body("Erro: " + e.getMessage());
@@ -55,41 +77,69 @@ public class PedidoController {
     public ResponseEntity<?> buscarPorId(@PathVariable Long id) {
         log.info("Recebida requisição para buscar pedido por ID: {}", id);
         return pedidoService.buscarPorIdComItens(id)
+            .map(responseMapper::toPedidoResponse)
             .map(ResponseEntity::ok)
             .orElse(ResponseEntity.notFound().build());
     }
 
     /**
-     * Listar pedidos por cliente
-     * GET /pedidos/cliente/{clienteId}
+     * Listar pedidos por cliente, do mais recente para o mais antigo, paginados por cursor
+     * GET /pedidos/cliente/{clienteId}?after={cursor}&limit=20
      */
     @GetMapping("/cliente/{clienteId}")
-    public ResponseEntity<List<Pedido>> listarPorCliente(@PathVariable Long clienteId) {
+    public ResponseEntity<PaginaResponse<PedidoResponse>> listarPorCliente(
+            @PathVariable Long clienteId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit) {
         log.info("Recebida requisição para listar pedidos do cliente ID: {}", clienteId);
-        List<Pedido> pedidos = pedidoService.listarPorCliente(clienteId);
-        return ResponseEntity.ok(pedidos);
+        PaginaResponse<Pedido> pedidos = pedidoService.listarPorCliente(clienteId, PaginaResponse.decodificarCursor(after), limit);
+        return ResponseEntity.ok(pedidos.map(responseMapper::toPedidoResponse));
     }
 
     /**
-     * Listar pedidos por restaurante
-     * GET /pedidos/restaurante/{restauranteId}
+     * Listar pedidos por restaurante, do mais recente para o mais antigo, paginados por cursor
+     * GET /pedidos/restaurante/{restauranteId}?after={cursor}&limit=20
      */
     @GetMapping("/restaurante/{restauranteId}")
-    public ResponseEntity<List<Pedido>> listarPorRestaurante(@PathVariable Long restauranteId) {
+    public ResponseEntity<PaginaResponse<PedidoResponse>> listarPorRestaurante(
+            @PathVariable Long restauranteId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit) {
         log.info("Recebida requisição para listar pedidos do restaurante ID: {}", restauranteId);
-        List<Pedido> pedidos = pedidoService.listarPorRestaurante(restauranteId);
+        PaginaResponse<PedidoResponse> pedidos = pedidoService.listarPorRestaurante(restauranteId, PaginaResponse.decodificarCursor(after), limit);
         return ResponseEntity.ok(pedidos);
     }
 
+    /**
+     * Acompanhar as mudanças de status dos pedidos do restaurante (Server-Sent Events)
+     * GET /pedidos/restaurante/{restauranteId}/stream
+     * Em vez de recarregar a lista inteira, o painel recebe um evento "status" por mudança
+     */
+    @GetMapping(value = "/restaurante/{restauranteId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter acompanharRestaurante(@PathVariable Long restauranteId) {
+        log.info("Recebida assinatura de status dos pedidos do restaurante ID: {}", restauranteId);
+        return pedidoStatusHub.assinarRestaurante(restauranteId);
+    }
+
+    /**
+     * Acompanhar as mudanças de status dos pedidos do cliente (Server-Sent Events)
+     * GET /pedidos/cliente/{clienteId}/stream
+     */
+    @GetMapping(value = "/cliente/{clienteId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter acompanharCliente(@PathVariable Long clienteId) {
+        log.info("Recebida assinatura de status dos pedidos do cliente ID: {}", clienteId);
+        return pedidoStatusHub.assinarCliente(clienteId);
+    }
+
     /**
      * Listar pedidos por status
      * GET /pedidos/status/{status}
      */
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Pedido>> listarPorStatus(@PathVariable StatusPedido status) {
+    public ResponseEntity<List<PedidoResponse>> listarPorStatus(@PathVariable StatusPedido status) {
         log.info("Recebida requisição para listar pedidos com status: {}", status);
         List<Pedido> pedidos = pedidoService.listarPorStatus(status);
-        return ResponseEntity.ok(pedidos);
+        return ResponseEntity.ok(responseMapper.toPedidoResponses(pedidos));
     }
 
     /**
@@ -97,12 +147,12 @@ public class PedidoController {
      * GET /pedidos/restaurante/{restauranteId}/status/{status}
      */
     @GetMapping("/restaurante/{restauranteId}/status/{status}")
-    public ResponseEntity<List<Pedido>> listarPorRestauranteEStatus(
+    public ResponseEntity<List<PedidoResponse>> listarPorRestauranteEStatus(
             @PathVariable Long restauranteId,
             @PathVariable StatusPedido status) {
         log.info("Recebida requisição para listar pedidos do restaurante ID: {} com status: {}", restauranteId, status);
         List<Pedido> pedidos = pedidoService.listarPorRestauranteEStatus(restauranteId, status);
-        return ResponseEntity.ok(pedidos);
+        return ResponseEntity.ok(responseMapper.toPedidoResponses(pedidos));
     }
 
     /**
@@ -114,7 +164,7 @@ public class PedidoController {
         try {
             log.info("Recebida requisição para atualizar status do pedido ID: {} para {}", id, status);
             Pedido pedido = pedidoService.atualizarStatus(id, status);
-            return ResponseEntity.ok(pedido);
+            return ResponseEntity.ok(responseMapper.toPedidoResponse(pedido));
         } catch (IllegalArgumentException e) {
             log.warn("Erro de validação ao atualizar status do pedido: {}", e.getMessage());
             return ResponseEntity.badRequest().body("Erro: " + e.getMessage());
@@ -125,6 +175,28 @@ public class PedidoController {
         }
     }
 
+    /**
+     * Atualizar o status de vários pedidos de uma vez (ex.: tablet da cozinha)
+     * PATCH /pedidos/status
+     * Responde com o resultado de cada pedido: APLICADO, TRANSICAO_INVALIDA ou NAO_ENCONTRADO
+     */
+    @PatchMapping("/status")
+    public ResponseEntity<?> atualizarStatusEmLote(@Valid @RequestBody StatusLoteRequest request) {
+        try {
+            log.info("Recebida requisição para atualizar {} pedidos para {}", request.getPedidoIds().size(), request.getStatus());
+            List<TransicaoStatusResponse> resultados =
+                pedidoService.atualizarStatusEmLote(request.getPedidoIds(), request.getStatus());
+            return ResponseEntity.ok(resultados);
+        } catch (IllegalArgumentException e) {
+            log.warn("Erro de validação ao atualizar status em lote: {}", e.getMessage());
+            return ResponseEntity.badRequest().body("Erro: " + e.getMessage());
+        } catch (Exception e) {
+            log.error("Erro interno ao atualizar status em lote", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Erro interno do servidor");
+        }
+    }
+
     /**
      * Confirmar pedido
      * PATCH /pedidos/{id}/confirmar
@@ -134,7 +206,7 @@ public class PedidoController {
         try {
             log.info("Recebida requisição para confirmar pedido ID: {}", id);
             Pedido pedido = pedidoService.confirmar(id);
-            return ResponseEntity.ok(pedido);
+            return ResponseEntity.ok(responseMapper.toPedidoResponse(pedido));
         } catch (IllegalArgumentException e) {
             log.warn("Erro de validação ao confirmar pedido: {}", e.getMessage());
             return ResponseEntity.badRequest().body("Erro: " + e.getMessage());
@@ -154,7 +226,7 @@ public class PedidoController {
         try {
             log.info("Recebida requisição para iniciar preparo do pedido ID: {}", id);
             Pedido pedido = pedidoService.iniciarPreparo(id);
-            return ResponseEntity.ok(pedido);
+            return ResponseEntity.ok(responseMapper.toPedidoResponse(pedido));
         } catch (IllegalArgumentException e) {
             log.warn("Erro de validação ao iniciar preparo do pedido: {}", e.getMessage());
             return ResponseEntity.badRequest().body("Erro: " + e.getMessage());
@@ -174,7 +246,7 @@ public class PedidoController {
         try {
             log.info("Recebida requisição para finalizar preparo do pedido ID: {}", id);
             Pedido pedido = pedidoService.finalizarPreparo(id);
-            return ResponseEntity.ok(pedido);
+            return ResponseEntity.ok(responseMapper.toPedidoResponse(pedido));
         } catch (IllegalArgumentException e) {
             log.warn("Erro de validação ao finalizar preparo do pedido: {}", e.getMessage());
             return ResponseEntity.badRequest().body("Erro: " + e.getMessage());
@@ -194,7 +266,7 @@ public class PedidoController {
         try {
             log.info("Recebida requisição para iniciar entrega do pedido ID: {}", id);
             Pedido pedido = pedidoService.iniciarEntrega(id);
-            return ResponseEntity.ok(pedido);
+            return ResponseEntity.ok(responseMapper.toPedidoResponse(pedido));
         } catch (IllegalArgumentException e) {
             log.warn("Erro de validação ao iniciar entrega do pedido: {}", e.getMessage());
             return ResponseEntity.badRequest().body("Erro: " + e.getMessage());
@@ -214,7 +286,7 @@ public class PedidoController {
         try {
             log.info("Recebida requisição para finalizar entrega do pedido ID: {}", id);
             Pedido pedido = pedidoService.finalizarEntrega(id);
-            return ResponseEntity.ok(pedido);
+            return ResponseEntity.ok(responseMapper.toPedidoResponse(pedido));
         } catch (IllegalArgumentException e) {
             log.warn("Erro de validação ao finalizar entrega do pedido: {}", e.getMessage());
             return ResponseEntity.badRequest().body("Erro: " + e.getMessage());
@@ -234,7 +306,7 @@ public class PedidoController {
         try {
             log.info("Recebida requisição para cancelar pedido ID: {}", id);
             Pedido pedido = pedidoService.cancelar(id);
-            return ResponseEntity.ok(pedido);
+            return ResponseEntity.ok(responseMapper.toPedidoResponse(pedido));
         } catch (IllegalArgumentException e) {
             log.warn("Erro de validação ao cancelar pedido: {}", e.getMessage());
             return ResponseEntity.badRequest().body("Erro: " + e.getMessage());
@@ -262,7 +334,7 @@ public class PedidoController {
             LocalDateTime dataFim = fim.atTime(LocalTime.MAX);
             
             List<Pedido> pedidos = pedidoService.listarPorPeriodo(restauranteId, dataInicio, dataFim);
-            return ResponseEntity.ok(pedidos);
+            return ResponseEntity.ok(responseMapper.toPedidoResponses(pedidos));
         } catch (IllegalArgumentException e) {
             log.warn("Erro de validação ao listar pedidos por período: {}", e.getMessage());
             return ResponseEntity.badRequest().body("Erro: " + e.getMessage());
@@ -273,6 +345,69 @@ public class PedidoController {
         }
     }
 
+    /**
+     * Exportar pedidos do restaurante no período, em NDJSON (padrão) ou CSV
+     * GET /pedidos/exportar?restauranteId={id}&inicio={data}&fim={data}&formato=ndjson|csv
+     *
+     * As linhas são escritas na saída à medida que saem do cursor do banco: a memória fica constante
+     * e, como a escrita é bloqueante, um cliente lento segura a leitura do cursor (back-pressure).
+     */
+    @GetMapping("/exportar")
+    public void exportar(
+            @RequestParam Long restauranteId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(defaultValue = "ndjson") String formato,
+            HttpServletResponse response) throws IOException {
+        log.info("Recebida requisição para exportar pedidos do restaurante ID: {} de {} a {} ({})",
+            restauranteId, inicio, fim, formato);
+
+        boolean csv = "csv".equalsIgnoreCase(formato);
+        if (!csv && !"ndjson".equalsIgnoreCase(formato)) {
+            throw new IllegalArgumentException("Formato de exportação inválido: " + formato);
+        }
+
+        response.setContentType(csv ? "text/csv" : "application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, String.format(
+            "attachment; filename=\"pedidos_%d_%s_%s.%s\"", restauranteId, inicio, fim, csv ? "csv" : "ndjson"));
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        ObjectWriter jsonWriter = objectMapper.writerFor(PedidoExportacao.class);
+        if (csv) {
+            writer.write("id,clienteId,clienteNome,status,total,dataPedido,dataEntrega,enderecoEntrega\n");
+        }
+
+        pedidoService.exportarPorPeriodo(restauranteId, inicio.atStartOfDay(), fim.atTime(LocalTime.MAX), linha -> {
+            try {
+                writer.write(csv ? linhaCsv(linha) : jsonWriter.writeValueAsString(linha));
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    private static String linhaCsv(PedidoExportacao linha) {
+        return String.join(",",
+            String.valueOf(linha.id()),
+            String.valueOf(linha.clienteId()),
+            campoCsv(linha.clienteNome()),
+            String.valueOf(linha.status()),
+            linha.total() != null ? linha.total().toPlainString() : "",
+            linha.dataPedido() != null ? linha.dataPedido().toString() : "",
+            linha.dataEntrega() != null ? linha.dataEntrega().toString() : "",
+            campoCsv(linha.enderecoEntrega()));
+    }
+
+    private static String campoCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        return "\"" + valor.replace("\"", "\"\"") + "\"";
+    }
+
     /**
      * Obter estatísticas de pedidos por período
      * GET /pedidos/estatisticas?restauranteId={id}&inicio={data}&fim={data}
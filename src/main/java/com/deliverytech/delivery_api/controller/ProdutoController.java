@@ -3,11 +3,11 @@ package com.deliverytech.delivery_api.controller;
 
 
 import com.deliverytech.delivery_api.dto.request.ProdutoRequest;
+import com.deliverytech.delivery_api.dto.response.PaginaResponse;
 import com.deliverytech.delivery_api.dto.response.ProdutoResponse;
+import com.deliverytech.delivery_api.mapper.ResponseMapper;
 import com.deliverytech.delivery_api.model.Produto;
-import com.deliverytech.delivery_api.model.Restaurante;
 import com.deliverytech.delivery_api.service.ProdutoService;
-import com.deliverytech.delivery_api.service.RestauranteService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,7 +15,6 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import java.util.List;
-import java.util.stream.Collectors;
 
 
 @RestController
@@ -25,38 +24,28 @@ public class ProdutoController {
 
 
     private final ProdutoService produtoService;
-    private final RestauranteService restauranteService;
+    private final ResponseMapper responseMapper;
 
 
     @PostMapping
     public ResponseEntity<ProdutoResponse> cadastrar(@Valid @RequestBody ProdutoRequest request) {
-        Restaurante restaurante = restauranteService.buscarPorId(request.getRestauranteId())
-                .orElseThrow(() -> new RuntimeException("Restaurante não encontrado"));
-
-
-        Produto produto = Produto.builder()
-                .nome(request.getNome())
-                .categoria(request.getCategoria())
-                .descricao(request.getDescricao())
-                .preco(request.getPreco())
-                .ativo(true)
-                .restaurante(restaurante)
-                .build();
-
-
         Produto salvo = produtoService.cadastrar(request);//corrido
-        return ResponseEntity.status(201).body(new ProdutoResponse(
-                salvo.getId(), salvo.getNome(), salvo.getCategoria(), 
-                salvo.getDescricao(), salvo.getPreco(), salvo.getAtivo()));
+        return ResponseEntity.status(201).body(responseMapper.toProdutoResponse(salvo));
     }
 
 
     @GetMapping("/restaurante/{restauranteId}")
     public List<ProdutoResponse> listarPorRestaurante(@PathVariable Long restauranteId) {
-        return produtoService.listarPorRestaurante(restauranteId).stream()
-                .map(p -> new ProdutoResponse(p.getId(), p.getNome(), p.getCategoria(),
-                    p.getDescricao(), p.getPreco(), p.getAtivo()))
-                .collect(Collectors.toList());
+        return responseMapper.toProdutoResponses(produtoService.listarPorRestaurante(restauranteId));
+    }
+
+    /**
+     * Produtos do restaurante mais vendidos em pedidos entregues
+     * GET /api/produtos/restaurante/{restauranteId}/mais-vendidos
+     */
+    @GetMapping("/restaurante/{restauranteId}/mais-vendidos")
+    public List<ProdutoResponse> maisVendidos(@PathVariable Long restauranteId) {
+        return produtoService.produtosMaisVendidos(restauranteId);
     }
 
     @PutMapping("/{id}")
@@ -68,7 +57,7 @@ public class ProdutoController {
                 .preco(request.getPreco())
                 .build();
         Produto salvo = produtoService.atualizar(id, request); // corrigido
-        return ResponseEntity.ok(new ProdutoResponse(salvo.getId(), salvo.getNome(), salvo.getCategoria(), salvo.getDescricao(), salvo.getPreco(), salvo.getAtivo()));
+        return ResponseEntity.ok(responseMapper.toProdutoResponse(salvo));
     }
 
 
@@ -79,14 +68,13 @@ public class ProdutoController {
     }
 
 
-    // ADICIONAR: Listar todos os produtos
+    // Listar produtos paginados por cursor: GET /api/produtos?after={cursor}&limit=20
     @GetMapping
-    public List<ProdutoResponse> listarTodos() {
-        return produtoService.listarTodos().stream()
-                .map(p -> new ProdutoResponse(
-                    p.getId(), p.getNome(), p.getCategoria(),
-                    p.getDescricao(), p.getPreco(), p.getAtivo()))
-                .collect(Collectors.toList());
+    public PaginaResponse<ProdutoResponse> listarTodos(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit) {
+        return produtoService.listarTodos(PaginaResponse.decodificarCursor(after), limit)
+                .map(responseMapper::toProdutoResponse);
     }
 
 
@@ -94,8 +82,7 @@ public class ProdutoController {
     @GetMapping("/{id}")
     public ResponseEntity<ProdutoResponse> buscarPorId(@PathVariable Long id) {
         return produtoService.buscarPorId(id)
-                .map(p -> new ProdutoResponse(p.getId(), p.getNome(), p.getCategoria(),
-                     p.getDescricao(), p.getPreco(), p.getAtivo()))
+                .map(responseMapper::toProdutoResponse)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -116,26 +103,23 @@ public class ProdutoController {
     public List<ProdutoResponse> buscarPorCategoria(
             @RequestParam Long restauranteId, 
             @PathVariable String categoria) {
-        return produtoService.buscarPorCategoria(restauranteId, categoria).stream()
-                .map(p -> new ProdutoResponse(p.getId(), p.getNome(), p.getCategoria(),
-                    p.getDescricao(), p.getPreco(), p.getAtivo()))
-                .collect(Collectors.toList());
+        return produtoService.buscarPorCategoria(restauranteId, categoria);
     }
 
     /**
-     * Busca produtos por nome
-     * GET /api/produtos/buscar?nome={nome}
+     * Busca produtos por nome, ou por nome, categoria e descrição com "q"
+     * GET /api/produtos/buscar?restauranteId={id}&nome={nome}
+     * GET /api/produtos/buscar?restauranteId={id}&q={termo}
      */
     
     @GetMapping("/buscar")
     public ResponseEntity<List<ProdutoResponse>> buscarPorNome(
             @RequestParam Long restauranteId, 
-            @RequestParam String nome) {
-        List<Produto> produtos = produtoService.buscarPorNome(restauranteId, nome);
-        List<ProdutoResponse> response = produtos.stream()
-            .map(p -> new ProdutoResponse(p.getId(), p.getNome(), p.getCategoria(),
-                p.getDescricao(), p.getPreco(), p.getAtivo()))
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(response);
+            @RequestParam(required = false) String nome,
+            @RequestParam(required = false) String q) {
+        List<ProdutoResponse> produtos = q != null
+                ? produtoService.buscar(restauranteId, q)
+                : produtoService.buscarPorNome(restauranteId, nome);
+        return ResponseEntity.ok(produtos);
     }
 }
@@ -1,6 +1,7 @@
 package com.deliverytech.delivery_api.controller;
 
 import com.deliverytech.delivery_api.service.RelatorioService;
+import com.deliverytech.delivery_api.service.VendaDiariaService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
@@ -21,6 +22,7 @@ import java.util.Map;
 public class RelatorioController {
 
     private final RelatorioService relatorioService;
+    private final VendaDiariaService vendaDiariaService;
 
     /**
      * Relatório de vendas por restaurante
@@ -94,4 +96,14 @@ public class RelatorioController {
         Map<String, Object> resumo = relatorioService.resumoVendas(dataInicio, dataFim);
         return ResponseEntity.ok(resumo);
     }
+
+    /**
+     * Reconstrói a tabela de vendas diárias a partir dos pedidos
+     * POST /api/relatorios/vendas-diarias/reconstruir
+     */
+    @PostMapping("/vendas-diarias/reconstruir")
+    public ResponseEntity<Map<String, Object>> reconstruirVendasDiarias() {
+        int linhas = vendaDiariaService.reconstruir();
+        return ResponseEntity.ok(Map.of("linhas", linhas));
+    }
 }
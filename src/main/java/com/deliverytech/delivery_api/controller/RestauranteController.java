@@ -2,6 +2,11 @@ package com.deliverytech.delivery_api.controller;
 
 import com.deliverytech.delivery_api.dto.request.RestauranteRequest;
 import com.deliverytech.delivery_api.dto.response.ApiResponseWrapper;
+import com.deliverytech.delivery_api.dto.response.PaginaResponse;
+import com.deliverytech.delivery_api.dto.response.RankingPedidosResponse;
+import com.deliverytech.delivery_api.dto.response.RestauranteProximoResponse;
+import com.deliverytech.delivery_api.dto.response.RestauranteResponse;
+import com.deliverytech.delivery_api.mapper.ResponseMapper;
 import com.deliverytech.delivery_api.model.Restaurante;
 import com.deliverytech.delivery_api.service.RestauranteService;
 import lombok.RequiredArgsConstructor;
@@ -11,9 +16,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 @Slf4j
 @RestController
@@ -23,6 +26,7 @@ import java.util.Map;
 public class RestauranteController {
 
     private final RestauranteService restauranteService;
+    private final ResponseMapper responseMapper;
 
     /**
      * Cadastrar novo restaurante
@@ -33,7 +37,7 @@ public class RestauranteController {
         try {
             log.info("Recebida requisição para cadastrar restaurante: {}", restauranteRequest.getNome());
             Restaurante restauranteSalvo = restauranteService.cadastrar(restauranteRequest);
-            return ResponseEntity.status(HttpStatus.CREATED).body(restauranteSalvo);
+            return ResponseEntity.status(HttpStatus.CREATED).body(responseMapper.toRestauranteResponse(restauranteSalvo));
         } catch (IllegalArgumentException e) {
             log.warn("Erro de validação ao cadastrar restaurante: {}", e.getMessage());
             return ResponseEntity.badRequest().body("Erro: " + e.getMessage());
@@ -45,13 +49,17 @@ public class RestauranteController {
     }
 
     /**
-     * Listar todos os restaurantes ativos
-     * GET /restaurantes
+     * Listar restaurantes ativos paginados por cursor
+     * GET /restaurantes?after={cursor}&limit=20&abertos=true
      */
     @GetMapping
-    public ResponseEntity<List<Restaurante>> listar() {
+    public ResponseEntity<PaginaResponse<RestauranteResponse>> listar(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "false") boolean abertos) {
         log.info("Recebida requisição para listar restaurantes ativos");
-        List<Restaurante> restaurantes = restauranteService.listarAtivos();
+        PaginaResponse<RestauranteResponse> restaurantes = restauranteService.listarAtivos(
+            PaginaResponse.decodificarCursor(after), limit, abertos);
         return ResponseEntity.ok(restaurantes);
     }
 
@@ -60,7 +68,7 @@ public class RestauranteController {
      * GET /restaurantes/{id}
      */
     @GetMapping("/{id}") // corrigido
-    public ResponseEntity<ApiResponseWrapper<Restaurante>> buscarPorId(@PathVariable Long id) {
+    public ResponseEntity<ApiResponseWrapper<RestauranteResponse>> buscarPorId(@PathVariable Long id) {
         log.info("Recebida requisição para buscar restaurante por ID: {}", id);
 
         return restauranteService.buscarPorId(id)
@@ -87,10 +95,10 @@ public class RestauranteController {
      * GET /restaurantes/buscar?nome=Pizzaria
      */
     @GetMapping("/buscar")
-    public ResponseEntity<List<Restaurante>> buscarPorNome(@RequestParam String nome) {
+    public ResponseEntity<List<RestauranteResponse>> buscarPorNome(@RequestParam String nome) {
         log.info("Recebida requisição para buscar restaurantes por nome: {}", nome);
         List<Restaurante> restaurantes = restauranteService.buscarPorNome(nome);
-        return ResponseEntity.ok(restaurantes);
+        return ResponseEntity.ok(responseMapper.toRestauranteResponses(restaurantes));
     }
 
     /**
@@ -98,10 +106,10 @@ public class RestauranteController {
      * GET /restaurantes/especialidade/{especialidade}
      */
     @GetMapping("/especialidade/{especialidade}")
-    public ResponseEntity<List<Restaurante>> buscarPorEspecialidade(@PathVariable String especialidade) {
+    public ResponseEntity<List<RestauranteResponse>> buscarPorEspecialidade(@PathVariable String especialidade) {
         log.info("Recebida requisição para buscar restaurantes por especialidade: {}", especialidade);
         List<Restaurante> restaurantes = restauranteService.buscarPorEspecialidade(especialidade);
-        return ResponseEntity.ok(restaurantes);
+        return ResponseEntity.ok(responseMapper.toRestauranteResponses(restaurantes));
     }
 
     /**
@@ -114,7 +122,7 @@ public class RestauranteController {
         try {
             log.info("Recebida requisição para atualizar restaurante ID: {}", id);
             Restaurante restauranteAtualizado = restauranteService.atualizar(id, restauranteRequest);
-            return ResponseEntity.ok(restauranteAtualizado);
+            return ResponseEntity.ok(responseMapper.toRestauranteResponse(restauranteAtualizado));
         } catch (IllegalArgumentException e) {
             log.warn("Erro de validação ao atualizar restaurante: {}", e.getMessage());
             return ResponseEntity.badRequest().body("Erro: " + e.getMessage());
@@ -168,33 +176,37 @@ public class RestauranteController {
 
     /**
      * Buscar restaurantes com produtos disponíveis
-     * GET /restaurantes/com-produtos-disponiveis
+     * GET /restaurantes/com-produtos-disponiveis?abertos=true
      */
     @GetMapping("/com-produtos-disponiveis")
-    public ResponseEntity<List<Restaurante>> buscarComProdutosDisponiveis() {
+    public ResponseEntity<List<RestauranteResponse>> buscarComProdutosDisponiveis(
+            @RequestParam(defaultValue = "false") boolean abertos) {
         log.info("Recebida requisição para buscar restaurantes com produtos disponíveis");
-        List<Restaurante> restaurantes = restauranteService.buscarComProdutosDisponiveis();
-        return ResponseEntity.ok(restaurantes);
+        List<Restaurante> restaurantes = restauranteService.buscarComProdutosDisponiveis(abertos);
+        return ResponseEntity.ok(responseMapper.toRestauranteResponses(restaurantes));
+    }
+
+    /**
+     * Restaurantes ativos e abertos agora mais próximos de uma coordenada, do mais perto ao mais longe
+     * GET /restaurantes/proximos?latitude=-23.56&longitude=-46.65&limit=10&raioKm=10
+     */
+    @GetMapping("/proximos")
+    public ResponseEntity<List<RestauranteProximoResponse>> buscarProximos(
+            @RequestParam Double latitude,
+            @RequestParam Double longitude,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) Double raioKm) {
+        log.info("Recebida requisição para buscar restaurantes próximos de ({}, {})", latitude, longitude);
+        return ResponseEntity.ok(restauranteService.buscarProximos(latitude, longitude, limit, raioKm));
     }
 
     /**
-     * Ranking de restaurantes por número de pedidos
+     * Ranking dos restaurantes ativos por número de pedidos entregues
      * GET /restaurantes/ranking
      */
     @GetMapping("/ranking")
-    public ResponseEntity<List<Map<String, Object>>> rankingPorPedidos() {
+    public ResponseEntity<List<RankingPedidosResponse>> rankingPorPedidos() {
         log.info("Recebida requisição para ranking de restaurantes por pedidos");
-        List<Object[]> ranking = restauranteService.rankingPorPedidos();
-        
-        List<Map<String, Object>> response = ranking.stream()
-            .map(row -> {
-                Map<String, Object> item = new HashMap<>();
-                item.put("nome", row[0]);
-                item.put("totalPedidos", row[1]);
-                return item;
-            })
-            .toList();
-        
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(restauranteService.rankingPorPedidos());
     }
 }
@@ -0,0 +1,27 @@
+package com.deliverytech.delivery_api.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpedienteRequest {
+
+    @NotNull(message = "Dia da semana é obrigatório")
+    private DayOfWeek diaSemana;
+
+    @NotNull(message = "Horário de abertura é obrigatório")
+    private LocalTime abertura;
+
+    @NotNull(message = "Horário de fechamento é obrigatório")
+    private LocalTime fechamento;
+}
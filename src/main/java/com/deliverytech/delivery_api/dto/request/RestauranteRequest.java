@@ -5,8 +5,13 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 
+import java.util.List;
+
+import com.deliverytech.delivery_api.validation.ValidCNPJ;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -18,13 +23,21 @@ public class RestauranteRequest {
     private String nome;
     
     @NotBlank(message = "CNPJ é obrigatório")
-    @Pattern(regexp = "\\d{14}", message = "CNPJ deve ter 14 dígitos numéricos")
+    @ValidCNPJ
     private String cnpj;
     
     @NotBlank(message = "Endereço é obrigatório")
     @Size(max = 200, message = "Endereço não pode exceder 200 caracteres")
     private String endereco;
     
+    @DecimalMin(value = "-90.0", message = "Latitude deve estar entre -90 e 90")
+    @DecimalMax(value = "90.0", message = "Latitude deve estar entre -90 e 90")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0", message = "Longitude deve estar entre -180 e 180")
+    @DecimalMax(value = "180.0", message = "Longitude deve estar entre -180 e 180")
+    private Double longitude;
+
     @NotBlank(message = "Telefone é obrigatório")
     @Pattern(regexp = "\\d{10,11}", message = "Telefone deve ter entre 10 e 11 dígitos")
     private String telefone;
@@ -39,4 +52,8 @@ public class RestauranteRequest {
     @NotBlank(message = "Horário de funcionamento é obrigatório")
     @Size(max = 100, message = "Horário de funcionamento não pode exceder 100 caracteres")
     private String horarioFuncionamento;
+
+    // Turnos da semana usados no filtro "aberto agora"; vazio = sempre aberto
+    @Valid
+    private List<ExpedienteRequest> expedientes;
 }
@@ -0,0 +1,27 @@
+package com.deliverytech.delivery_api.dto.request;
+
+import com.deliverytech.delivery_api.model.StatusPedido;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusLoteRequest {
+
+    @NotEmpty(message = "Informe pelo menos um pedido")
+    @Size(max = 100, message = "No máximo 100 pedidos por lote")
+    private List<@NotNull Long> pedidoIds;
+
+    @NotNull(message = "Status é obrigatório")
+    private StatusPedido status;
+}
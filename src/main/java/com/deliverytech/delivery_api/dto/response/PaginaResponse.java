@@ -0,0 +1,76 @@
+package com.deliverytech.delivery_api.dto.response;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Página de resultados com paginação por cursor (keyset).
+ * O cursor é opaco para o cliente: basta repassá-lo no parâmetro "after" para obter a próxima página.
+ */
+@Schema(description = "Página de resultados paginada por cursor", title = "Pagina Response")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaResponse<T> {
+
+    public static final int LIMITE_PADRAO = 20;
+    public static final int LIMITE_MAXIMO = 100;
+
+    @Schema(description = "Itens da página")
+    private List<T> conteudo;
+
+    @Schema(description = "Cursor da próxima página (nulo na última página)")
+    private String proximoCursor;
+
+    @Schema(description = "Indica se existem mais itens após esta página", example = "true")
+    private boolean temMais;
+
+    /**
+     * Monta a página a partir de uma consulta que buscou limite + 1 registros:
+     * o registro excedente só indica que existe uma próxima página.
+     */
+    public static <T> PaginaResponse<T> of(List<T> resultados, int limite, Function<T, Long> id) {
+        if (resultados.size() <= limite) {
+            return new PaginaResponse<>(resultados, null, false);
+        }
+        List<T> pagina = resultados.subList(0, limite);
+        return new PaginaResponse<>(pagina, codificarCursor(id.apply(pagina.get(limite - 1))), true);
+    }
+
+    public <R> PaginaResponse<R> map(Function<T, R> mapper) {
+        return new PaginaResponse<>(conteudo.stream().map(mapper).toList(), proximoCursor, temMais);
+    }
+
+    /**
+     * Limita o tamanho da página a 1..LIMITE_MAXIMO
+     */
+    public static int normalizarLimite(int limite) {
+        return Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+    }
+
+    public static String codificarCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Converte o cursor recebido no ID do último registro da página anterior (nulo na primeira página)
+     */
+    public static Long decodificarCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.deliverytech.delivery_api.dto.response;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RankingPedidosResponse {
+    private Long id;
+    private String nome;
+    private Long totalPedidos;
+}
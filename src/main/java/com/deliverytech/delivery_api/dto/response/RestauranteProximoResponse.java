@@ -0,0 +1,19 @@
+package com.deliverytech.delivery_api.dto.response;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestauranteProximoResponse {
+    private Long id;
+    private String nome;
+    private String categoria;
+    private String telefone;
+    private BigDecimal taxaEntrega;
+    private Double latitude;
+    private Double longitude;
+    private Double distanciaKm;
+}
@@ -4,15 +4,17 @@ import lombok.*;
 
 import java.math.BigDecimal;
 
-@Data
-@NoArgsConstructor
+/**
+ * Dados públicos do restaurante; imutável para poder ficar nos caches de restaurante
+ */
+@Value
 @AllArgsConstructor
 public class RestauranteResponse {
-    private Long id;
-    private String nome;
-    private String categoria;
-    private String telefone;
-    private BigDecimal taxaEntrega;
-    private Integer tempoEntregaMinutos;
-    private Boolean ativo;
+    Long id;
+    String nome;
+    String categoria;
+    String telefone;
+    BigDecimal taxaEntrega;
+    Integer tempoEntregaMinutos;
+    Boolean ativo;
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.deliverytech.delivery_api.dto.response;
+
+import com.deliverytech.delivery_api.model.StatusPedido;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de um pedido dentro de uma atualização de status em lote.
+ */
+@Schema(description = "Resultado da transição de status de um pedido do lote", title = "Transicao Status Response")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransicaoStatusResponse {
+
+    public enum Resultado {
+        APLICADO,
+        TRANSICAO_INVALIDA,
+        NAO_ENCONTRADO
+    }
+
+    @Schema(description = "ID do pedido")
+    private Long pedidoId;
+
+    @Schema(description = "Resultado da transição")
+    private Resultado resultado;
+
+    @Schema(description = "Status do pedido após o lote (nulo se não encontrado)")
+    private StatusPedido status;
+}
@@ -0,0 +1,56 @@
+package com.deliverytech.delivery_api.event;
+
+import com.deliverytech.delivery_api.model.ItemPedido;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.StatusPedido;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Publicado na mesma transação em que o status de um pedido muda.
+ * {@code itensVendidos} (quantidade por produto) só é preenchido na entrega e não vai para o stream SSE.
+ */
+public record PedidoStatusAlteradoEvent(
+        Long pedidoId,
+        Long restauranteId,
+        Long clienteId,
+        StatusPedido statusAnterior,
+        StatusPedido statusNovo,
+        BigDecimal total,
+        LocalDateTime dataPedido,
+        @JsonIgnore Map<Long, Integer> itensVendidos) {
+
+    public PedidoStatusAlteradoEvent(Long pedidoId, Long restauranteId, Long clienteId, StatusPedido statusAnterior,
+                                     StatusPedido statusNovo, BigDecimal total, LocalDateTime dataPedido) {
+        this(pedidoId, restauranteId, clienteId, statusAnterior, statusNovo, total, dataPedido, Map.of());
+    }
+
+    /**
+     * Na entrega, lê os itens do pedido: carregue-o com os itens (grafo de detalhe)
+     */
+    public static PedidoStatusAlteradoEvent de(Pedido pedido, StatusPedido statusAnterior) {
+        return new PedidoStatusAlteradoEvent(
+                pedido.getId(),
+                pedido.getRestaurante() != null ? pedido.getRestaurante().getId() : null,
+                pedido.getCliente() != null ? pedido.getCliente().getId() : null,
+                statusAnterior,
+                pedido.getStatus(),
+                pedido.getTotal(),
+                pedido.getDataPedido(),
+                pedido.getStatus() == StatusPedido.ENTREGUE ? itensVendidos(pedido) : Map.of());
+    }
+
+    private static Map<Long, Integer> itensVendidos(Pedido pedido) {
+        Map<Long, Integer> itens = new HashMap<>();
+        for (ItemPedido item : pedido.getItens()) {
+            if (item.getProduto() != null && item.getQuantidade() != null) {
+                itens.merge(item.getProduto().getId(), item.getQuantidade(), Integer::sum);
+            }
+        }
+        return Map.copyOf(itens);
+    }
+}
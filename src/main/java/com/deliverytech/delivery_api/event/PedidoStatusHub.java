@@ -0,0 +1,183 @@
+package com.deliverytech.delivery_api.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Distribui as mudanças de status já confirmadas para os painéis conectados por SSE,
+ * por restaurante e por cliente. Cada assinante tem um buffer limitado, esvaziado por uma
+ * virtual thread enquanto houver eventos; se o buffer encher (cliente lento ou conexão travada),
+ * o assinante é desconectado e contado em {@code pedidos.stream.desconectados}.
+ * A publicação nunca bloqueia a thread que confirmou a transação.
+ */
+@Slf4j
+@Component
+public class PedidoStatusHub {
+
+    static final String EVENTO = "status";
+
+    private final Map<Long, Set<Assinante>> porRestaurante = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Assinante>> porCliente = new ConcurrentHashMap<>();
+    private final AtomicInteger assinantes = new AtomicInteger();
+    private final ExecutorService entregas =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("pedidos-stream-", 0).factory());
+    private final int tamanhoBuffer;
+    private final long timeoutMillis;
+    private final Counter desconectados;
+
+    public PedidoStatusHub(MeterRegistry meterRegistry,
+                           @Value("${pedidos.stream.buffer:256}") int tamanhoBuffer,
+                           @Value("${pedidos.stream.timeout:30m}") Duration timeout) {
+        this.tamanhoBuffer = tamanhoBuffer;
+        this.timeoutMillis = timeout.toMillis();
+        this.desconectados = Counter.builder("pedidos.stream.desconectados")
+                .description("Assinantes desconectados por não acompanharem os eventos")
+                .register(meterRegistry);
+        Gauge.builder("pedidos.stream.assinantes", assinantes, AtomicInteger::get)
+                .description("Conexões SSE abertas")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter assinarRestaurante(Long restauranteId) {
+        return assinarRestaurante(restauranteId, new SseEmitter(timeoutMillis));
+    }
+
+    public SseEmitter assinarCliente(Long clienteId) {
+        return assinarCliente(clienteId, new SseEmitter(timeoutMillis));
+    }
+
+    SseEmitter assinarRestaurante(Long restauranteId, SseEmitter emitter) {
+        return registrar(porRestaurante, restauranteId, emitter);
+    }
+
+    SseEmitter assinarCliente(Long clienteId, SseEmitter emitter) {
+        return registrar(porCliente, clienteId, emitter);
+    }
+
+    // Só depois do commit: um lote desfeito ou um pedido que perdeu a disputa não chega aos painéis
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void publicar(PedidoStatusAlteradoEvent evento) {
+        if (evento.restauranteId() != null) {
+            entregar(porRestaurante.get(evento.restauranteId()), evento);
+        }
+        if (evento.clienteId() != null) {
+            entregar(porCliente.get(evento.clienteId()), evento);
+        }
+    }
+
+    int assinantes() {
+        return assinantes.get();
+    }
+
+    @PreDestroy
+    public void fechar() {
+        entregas.shutdownNow();
+        porRestaurante.values().forEach(canal -> canal.forEach(assinante -> assinante.emitter.complete()));
+        porCliente.values().forEach(canal -> canal.forEach(assinante -> assinante.emitter.complete()));
+    }
+
+    private SseEmitter registrar(Map<Long, Set<Assinante>> canal, Long chave, SseEmitter emitter) {
+        Assinante assinante = new Assinante(emitter, canal, chave, new ArrayBlockingQueue<>(tamanhoBuffer));
+        canal.compute(chave, (id, conjunto) -> {
+            Set<Assinante> atual = conjunto != null ? conjunto : ConcurrentHashMap.newKeySet();
+            atual.add(assinante);
+            return atual;
+        });
+        assinantes.incrementAndGet();
+        emitter.onCompletion(() -> remover(assinante));
+        emitter.onTimeout(() -> remover(assinante));
+        emitter.onError(erro -> remover(assinante));
+        return emitter;
+    }
+
+    private void entregar(Set<Assinante> canal, PedidoStatusAlteradoEvent evento) {
+        if (canal == null) {
+            return;
+        }
+        for (Assinante assinante : canal) {
+            if (assinante.buffer.offer(evento)) {
+                agendar(assinante);
+            } else if (remover(assinante)) {
+                desconectados.increment();
+                log.warn("Assinante de pedidos desconectado por buffer cheio ({} eventos)", tamanhoBuffer);
+                assinante.buffer.clear();
+                // complete() espera um send em andamento; fora da thread que publicou
+                entregas.execute(assinante.emitter::complete);
+            }
+        }
+    }
+
+    private void agendar(Assinante assinante) {
+        if (assinante.entregando.compareAndSet(false, true)) {
+            entregas.execute(() -> drenar(assinante));
+        }
+    }
+
+    private void drenar(Assinante assinante) {
+        try {
+            PedidoStatusAlteradoEvent evento;
+            while (!assinante.encerrado.get() && (evento = assinante.buffer.poll()) != null) {
+                assinante.emitter.send(SseEmitter.event().name(EVENTO).data(evento));
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Falha ao enviar evento de pedido, assinante removido: {}", e.getMessage());
+            remover(assinante);
+        } finally {
+            assinante.entregando.set(false);
+        }
+        // Evento enfileirado entre o último poll e a liberação da flag
+        if (!assinante.encerrado.get() && !assinante.buffer.isEmpty()) {
+            agendar(assinante);
+        }
+    }
+
+    private boolean remover(Assinante assinante) {
+        if (!assinante.encerrado.compareAndSet(false, true)) {
+            return false;
+        }
+        assinante.canal.computeIfPresent(assinante.chave, (id, conjunto) -> {
+            conjunto.remove(assinante);
+            return conjunto.isEmpty() ? null : conjunto;
+        });
+        assinantes.decrementAndGet();
+        return true;
+    }
+
+    // Igualdade por identidade: o canal referencia o conjunto que contém o próprio assinante
+    private static final class Assinante {
+        final SseEmitter emitter;
+        final Map<Long, Set<Assinante>> canal;
+        final Long chave;
+        final BlockingQueue<PedidoStatusAlteradoEvent> buffer;
+        final AtomicBoolean entregando = new AtomicBoolean();
+        final AtomicBoolean encerrado = new AtomicBoolean();
+
+        Assinante(SseEmitter emitter, Map<Long, Set<Assinante>> canal, Long chave,
+                  BlockingQueue<PedidoStatusAlteradoEvent> buffer) {
+            this.emitter = emitter;
+            this.canal = canal;
+            this.chave = chave;
+            this.buffer = buffer;
+        }
+    }
+}
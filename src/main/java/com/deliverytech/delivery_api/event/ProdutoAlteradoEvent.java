@@ -0,0 +1,26 @@
+package com.deliverytech.delivery_api.event;
+
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.repository.ProdutoBusca;
+
+/**
+ * Publicado na transação que cadastra, altera ou exclui um produto.
+ * {@code produto} é nulo quando o produto foi excluído; {@code variacaoDisponiveis} é quanto a
+ * alteração muda a quantidade de produtos disponíveis do restaurante (-1, 0 ou 1).
+ */
+public record ProdutoAlteradoEvent(
+        Long produtoId,
+        Long restauranteId,
+        ProdutoBusca produto,
+        int variacaoDisponiveis) {
+
+    public static ProdutoAlteradoEvent salvo(Produto produto, boolean disponivelAntes) {
+        int variacao = (Boolean.TRUE.equals(produto.getAtivo()) ? 1 : 0) - (disponivelAntes ? 1 : 0);
+        return new ProdutoAlteradoEvent(produto.getId(), produto.getRestaurante().getId(), ProdutoBusca.de(produto), variacao);
+    }
+
+    public static ProdutoAlteradoEvent excluido(Produto produto) {
+        return new ProdutoAlteradoEvent(produto.getId(), produto.getRestaurante().getId(), null,
+                Boolean.TRUE.equals(produto.getAtivo()) ? -1 : 0);
+    }
+}
@@ -0,0 +1,39 @@
+package com.deliverytech.delivery_api.event;
+
+import com.deliverytech.delivery_api.model.Expediente;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.RestauranteLocalizacao;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Publicado na transação que cadastra, altera, ativa ou inativa um restaurante.
+ * {@code localizacao} é nula quando ele deixa de aparecer na busca por proximidade
+ * (inativo ou sem coordenadas); {@code expedientes} é vazio quando inativo.
+ * {@code cnpjs} traz o CNPJ atual e, se mudou, o anterior: as buscas por ambos deixam de valer.
+ */
+public record RestauranteAlteradoEvent(
+        Long restauranteId,
+        boolean ativo,
+        RestauranteLocalizacao localizacao,
+        List<Expediente> expedientes,
+        Set<String> cnpjs) {
+
+    public static RestauranteAlteradoEvent de(Restaurante restaurante) {
+        return de(restaurante, restaurante.getCnpj());
+    }
+
+    public static RestauranteAlteradoEvent de(Restaurante restaurante, String cnpjAnterior) {
+        boolean ativo = Boolean.TRUE.equals(restaurante.getAtivo());
+        boolean localizavel = ativo && restaurante.getLatitude() != null && restaurante.getLongitude() != null;
+        return new RestauranteAlteradoEvent(restaurante.getId(), ativo,
+                localizavel ? RestauranteLocalizacao.de(restaurante) : null,
+                ativo ? List.copyOf(restaurante.getExpedientes()) : List.of(),
+                Stream.of(restaurante.getCnpj(), cnpjAnterior).filter(Objects::nonNull)
+                        .collect(Collectors.toUnmodifiableSet()));
+    }
+}
@@ -0,0 +1,65 @@
+package com.deliverytech.delivery_api.mapper;
+
+import java.util.List;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+
+import com.deliverytech.delivery_api.dto.response.ClienteResponse;
+import com.deliverytech.delivery_api.dto.response.ItemPedidoResponse;
+import com.deliverytech.delivery_api.dto.response.PedidoResponse;
+import com.deliverytech.delivery_api.dto.response.ProdutoResponse;
+import com.deliverytech.delivery_api.dto.response.RestauranteResponse;
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.ItemPedido;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.ItemPedidoResumo;
+import com.deliverytech.delivery_api.repository.PedidoResumo;
+
+/**
+ * Mapeamento entidade → dto.response. A implementação (ResponseMapperImpl) é gerada pelo
+ * MapStruct na compilação: chamadas diretas a getters/setters, sem reflexão em tempo de execução.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface ResponseMapper {
+
+    // A disponibilidade do produto é controlada pelo campo 'ativo'
+    @Mapping(target = "disponivel", source = "ativo")
+    ProdutoResponse toProdutoResponse(Produto produto);
+
+    List<ProdutoResponse> toProdutoResponses(List<Produto> produtos);
+
+    @Mapping(target = "tempoEntregaMinutos", ignore = true)
+    RestauranteResponse toRestauranteResponse(Restaurante restaurante);
+
+    List<RestauranteResponse> toRestauranteResponses(List<Restaurante> restaurantes);
+
+    @Mapping(target = "dataCadastro", source = "dataCriacao")
+    ClienteResponse toClienteResponse(Cliente cliente);
+
+    List<ClienteResponse> toClienteResponses(List<Cliente> clientes);
+
+    // O endereço do pedido é texto livre; não há como preencher o Endereco estruturado
+    @Mapping(target = "clienteId", source = "cliente.id")
+    @Mapping(target = "restauranteId", source = "restaurante.id")
+    @Mapping(target = "valorTotal", source = "total")
+    @Mapping(target = "enderecoEntrega", ignore = true)
+    PedidoResponse toPedidoResponse(Pedido pedido);
+
+    List<PedidoResponse> toPedidoResponses(List<Pedido> pedidos);
+
+    @Mapping(target = "produtoId", source = "produto.id")
+    @Mapping(target = "nomeProduto", source = "produto.nome")
+    ItemPedidoResponse toItemPedidoResponse(ItemPedido item);
+
+    // Listagem por projeção: os itens de toda a página chegam já agrupados por pedido
+    @Mapping(target = "valorTotal", source = "resumo.total")
+    @Mapping(target = "enderecoEntrega", ignore = true)
+    @Mapping(target = "itens", source = "itens")
+    PedidoResponse toPedidoResponse(PedidoResumo resumo, List<ItemPedidoResponse> itens);
+
+    ItemPedidoResponse toItemPedidoResponse(ItemPedidoResumo item);
+}
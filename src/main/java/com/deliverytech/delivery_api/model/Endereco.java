@@ -32,5 +32,12 @@ public class Endereco {
 
     @Column(name = "complemento")
     private String complemento;
+
+    // Graus decimais (WGS 84); opcionais enquanto o endereço não for geocodificado
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
 }
  
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.deliverytech.delivery_api.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * Um turno de funcionamento do restaurante num dia da semana.
+ * Fechamento menor ou igual à abertura avança para o dia seguinte ("18:00-02:00"; "00:00-00:00" são 24 h).
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Expediente {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dia_semana", nullable = false)
+    private DayOfWeek diaSemana;
+
+    @Column(name = "abertura", nullable = false)
+    private LocalTime abertura;
+
+    @Column(name = "fechamento", nullable = false)
+    private LocalTime fechamento;
+}
@@ -1,11 +1,15 @@
 package com.deliverytech.delivery_api.model;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import org.hibernate.annotations.BatchSize;
+
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -13,21 +17,43 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_pedido_cliente_id", columnList = "cliente_id, id"),
+    @Index(name = "idx_pedido_restaurante_id", columnList = "restaurante_id, id"),
+    @Index(name = "idx_pedido_restaurante_data_status", columnList = "restaurante_id, data_pedido, status"),
+    @Index(name = "idx_pedido_data_status", columnList = "data_pedido, status")
+})
+// Associações LAZY; cada caso de uso declara o que precisa:
+// resumo (listagens) traz cliente e restaurante, detalhe traz também os itens com seus produtos
+@NamedEntityGraph(name = Pedido.GRAFO_RESUMO, attributeNodes = {
+    @NamedAttributeNode("cliente"),
+    @NamedAttributeNode("restaurante")
+})
+@NamedEntityGraph(name = Pedido.GRAFO_DETALHE, attributeNodes = {
+    @NamedAttributeNode("cliente"),
+    @NamedAttributeNode("restaurante"),
+    @NamedAttributeNode(value = "itens", subgraph = "itens")
+}, subgraphs = @NamedSubgraph(name = "itens", attributeNodes = @NamedAttributeNode("produto")))
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Pedido {
 
+    public static final String GRAFO_RESUMO = "Pedido.resumo";
+    public static final String GRAFO_DETALHE = "Pedido.detalhe";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pedido_seq")
+    @SequenceGenerator(name = "pedido_seq", sequenceName = "pedido_seq", allocationSize = 50)
     private Long id;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cliente_id")
     private Cliente cliente;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "restaurante_id")
     private Restaurante restaurante;
     
@@ -45,7 +71,9 @@ public class Pedido {
     private LocalDateTime dataEntrega;
     
     // Relacionamento com ItemPedido
+    // Fora de um grafo, os itens de vários pedidos são inicializados em lotes de 50 (IN em vez de um SELECT por pedido)
     @OneToMany(mappedBy = "pedido", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
     private List<ItemPedido> itens = new ArrayList<>();
     
     // Método para adicionar item ao pedido
@@ -76,13 +104,14 @@ public class Pedido {
     
     // Método para verificar se o pedido pode ser cancelado
     public boolean podeSerCancelado() {
-        return this.status != StatusPedido.EM_ENTREGA && 
-               this.status != StatusPedido.ENTREGUE && 
-               this.status != StatusPedido.CANCELADO;
+        return this.status == null || this.status.podeMudarPara(StatusPedido.CANCELADO);
     }
     
-    // Método para atualizar status
+    // Método para atualizar status, respeitando a tabela de transições de StatusPedido
     public void atualizarStatus(StatusPedido novoStatus) {
+        if (this.status != null && !this.status.podeMudarPara(novoStatus)) {
+            throw new IllegalArgumentException("Transição de status inválida: " + this.status + " -> " + novoStatus);
+        }
         this.status = novoStatus;
         
         if (novoStatus == StatusPedido.ENTREGUE) {
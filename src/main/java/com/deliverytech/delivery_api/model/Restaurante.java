@@ -2,6 +2,8 @@ package com.deliverytech.delivery_api.model;
 
 import lombok.*;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.hibernate.annotations.BatchSize;
 import jakarta.persistence.*;
 
 import java.math.BigDecimal;
@@ -10,6 +12,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@BatchSize(size = 50)
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -17,7 +21,8 @@ import java.util.List;
 public class Restaurante {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "restaurante_seq")
+    @SequenceGenerator(name = "restaurante_seq", sequenceName = "restaurante_seq", allocationSize = 50)
     private Long id;
 
     private String nome;
@@ -26,6 +31,11 @@ public class Restaurante {
     private String cnpj;
 
     private String endereco;
+
+    // Coordenadas em graus decimais (WGS 84), usadas pela busca por proximidade
+    private Double latitude;
+    private Double longitude;
+
     private String telefone;
     private String especialidade;
     private String categoria;
@@ -34,9 +44,18 @@ public class Restaurante {
     @Column(length = 1000)
     private String descricao;
 
+    // Texto livre exibido ao cliente; o filtro "aberto agora" usa os expedientes
     @Column(nullable = true)
     private String horarioFuncionamento;
 
+    // Sem expedientes cadastrados, o restaurante é considerado sempre aberto
+    @ElementCollection
+    @CollectionTable(name = "restaurante_expediente", joinColumns = @JoinColumn(name = "restaurante_id"))
+    @BatchSize(size = 50)
+    @JsonIgnore
+    @Builder.Default
+    private List<Expediente> expedientes = new ArrayList<>();
+
     @Builder.Default
     private Boolean ativo = true;
 
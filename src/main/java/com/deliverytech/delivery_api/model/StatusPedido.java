@@ -1,5 +1,11 @@
 package com.deliverytech.delivery_api.model;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum StatusPedido {
     REALIZADO,      // Pedido foi recebido pelo sistema
     CONFIRMADO,     // Restaurante confirmou o recebimento do pedido
@@ -7,5 +13,28 @@ public enum StatusPedido {
     PRONTO,         // Pedido está pronto para entrega/retirada
     EM_ENTREGA,     // Pedido está a caminho do cliente
     ENTREGUE,       // Pedido foi entregue ao cliente
-    CANCELADO       // Pedido foi cancelado
+    CANCELADO;      // Pedido foi cancelado
+
+    // Tabela de transições: o ciclo só anda para frente e pode ser cancelado até sair para entrega
+    private static final Map<StatusPedido, Set<StatusPedido>> PROXIMOS = new EnumMap<>(StatusPedido.class);
+
+    static {
+        PROXIMOS.put(REALIZADO, EnumSet.of(CONFIRMADO, CANCELADO));
+        PROXIMOS.put(CONFIRMADO, EnumSet.of(EM_PREPARO, CANCELADO));
+        PROXIMOS.put(EM_PREPARO, EnumSet.of(PRONTO, CANCELADO));
+        PROXIMOS.put(PRONTO, EnumSet.of(EM_ENTREGA, CANCELADO));
+        PROXIMOS.put(EM_ENTREGA, EnumSet.of(ENTREGUE));
+        PROXIMOS.put(ENTREGUE, EnumSet.noneOf(StatusPedido.class));
+        PROXIMOS.put(CANCELADO, EnumSet.noneOf(StatusPedido.class));
+
+        PROXIMOS.replaceAll((status, destinos) -> Collections.unmodifiableSet(destinos));
+    }
+
+    public boolean podeMudarPara(StatusPedido novoStatus) {
+        return PROXIMOS.get(this).contains(novoStatus);
+    }
+
+    public boolean isFinal() {
+        return PROXIMOS.get(this).isEmpty();
+    }
 }
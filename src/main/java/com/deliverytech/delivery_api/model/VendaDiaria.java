@@ -0,0 +1,34 @@
+package com.deliverytech.delivery_api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+
+/**
+ * Vendas consolidadas por restaurante e dia do pedido, mantidas incrementalmente
+ * quando um pedido é entregue ou cancelado.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_venda_diaria_dia", columnList = "dia"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VendaDiaria {
+
+    @EmbeddedId
+    private VendaDiariaId id;
+
+    @Builder.Default
+    private Long pedidosEntregues = 0L;
+
+    @Builder.Default
+    private BigDecimal valorTotal = BigDecimal.ZERO;
+
+    @Builder.Default
+    private Long pedidosCancelados = 0L;
+}
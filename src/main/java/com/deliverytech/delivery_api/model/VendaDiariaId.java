@@ -0,0 +1,22 @@
+package com.deliverytech.delivery_api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VendaDiariaId implements Serializable {
+
+    @Column(name = "restaurante_id")
+    private Long restauranteId;
+
+    private LocalDate dia;
+}
@@ -0,0 +1,64 @@
+package com.deliverytech.delivery_api.ranking;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.LongPredicate;
+
+/**
+ * Contagem exata por ID com as posições mantidas em ordem (maior total primeiro; empate pelo menor ID).
+ * Incrementar custa O(log n); ler os K primeiros custa O(K), mais os descartados pelo filtro.
+ * Escritas são serializadas; leituras não bloqueiam e veem cada posição antes ou depois de um incremento.
+ */
+public final class RankingTopK {
+
+    public record Posicao(long id, long total) {
+    }
+
+    private static final Comparator<Posicao> ORDEM =
+            Comparator.comparingLong(Posicao::total).reversed().thenComparingLong(Posicao::id);
+
+    private final Map<Long, Long> totais = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Posicao> posicoes = new ConcurrentSkipListSet<>(ORDEM);
+
+    public synchronized void somar(long id, long quantidade) {
+        Long anterior = totais.get(id);
+        long total = (anterior != null ? anterior : 0L) + quantidade;
+        if (anterior != null) {
+            posicoes.remove(new Posicao(id, anterior));
+        }
+        if (total > 0) {
+            totais.put(id, total);
+            posicoes.add(new Posicao(id, total));
+        } else {
+            totais.remove(id);
+        }
+    }
+
+    public long total(long id) {
+        return totais.getOrDefault(id, 0L);
+    }
+
+    public List<Posicao> topo(int k) {
+        return topo(k, id -> true);
+    }
+
+    /**
+     * As {@code k} primeiras posições cujos IDs o filtro aceita
+     */
+    public List<Posicao> topo(int k, LongPredicate filtro) {
+        List<Posicao> topo = new ArrayList<>(Math.min(k, totais.size()));
+        for (Posicao posicao : posicoes) {
+            if (topo.size() == k) {
+                break;
+            }
+            if (filtro.test(posicao.id())) {
+                topo.add(posicao);
+            }
+        }
+        return topo;
+    }
+}
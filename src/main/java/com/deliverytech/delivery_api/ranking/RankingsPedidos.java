@@ -0,0 +1,129 @@
+package com.deliverytech.delivery_api.ranking;
+
+import com.deliverytech.delivery_api.event.PedidoStatusAlteradoEvent;
+import com.deliverytech.delivery_api.model.StatusPedido;
+import com.deliverytech.delivery_api.ranking.RankingTopK.Posicao;
+import com.deliverytech.delivery_api.repository.ContagemPorId;
+import com.deliverytech.delivery_api.repository.ItemPedidoRepository;
+import com.deliverytech.delivery_api.repository.PedidoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongPredicate;
+
+/**
+ * Rankings de pedidos entregues em memória: restaurantes e clientes por número de pedidos,
+ * e produtos de cada restaurante por quantidade vendida. Substituem o GROUP BY com ORDER BY e LIMIT
+ * sobre pedido/item_pedido a cada requisição.
+ * <p>
+ * Cada pedido entregue soma após o commit. A reconciliação periódica recalcula tudo com contagens
+ * agrupadas no banco e troca o conjunto inteiro, corrigindo gravações fora do fluxo de status
+ * e corridas com a própria reconciliação.
+ */
+@Slf4j
+@Component
+public class RankingsPedidos {
+
+    private final PedidoRepository pedidoRepository;
+    private final ItemPedidoRepository itemPedidoRepository;
+    private final ReentrantLock escrita = new ReentrantLock();
+    // Nulo até a primeira construção
+    private volatile Rankings rankings;
+
+    public RankingsPedidos(PedidoRepository pedidoRepository, ItemPedidoRepository itemPedidoRepository) {
+        this.pedidoRepository = pedidoRepository;
+        this.itemPedidoRepository = itemPedidoRepository;
+    }
+
+    /**
+     * Recalcula os rankings a partir do banco: na subida e periodicamente, em segundo plano
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${rankings.reconciliacao:10m}", fixedDelayString = "${rankings.reconciliacao:10m}")
+    public void reconstruir() {
+        escrita.lock();
+        try {
+            carregar(pedidoRepository.contarEntreguesPorRestaurante(),
+                    pedidoRepository.contarEntreguesPorCliente(),
+                    itemPedidoRepository.contarVendidosPorProduto());
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    /**
+     * Substitui os rankings pelas contagens informadas
+     */
+    public void carregar(List<ContagemPorId> porRestaurante, List<ContagemPorId> porCliente, List<ContagemPorId> porProduto) {
+        escrita.lock();
+        try {
+            Rankings novo = new Rankings();
+            porRestaurante.forEach(contagem -> novo.restaurantes.somar(contagem.id(), contagem.total()));
+            porCliente.forEach(contagem -> novo.clientes.somar(contagem.id(), contagem.total()));
+            porProduto.forEach(contagem -> novo.produtos(contagem.restauranteId()).somar(contagem.id(), contagem.total()));
+            rankings = novo;
+            log.debug("Rankings recalculados: {} restaurantes, {} clientes", porRestaurante.size(), porCliente.size());
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    // Só depois do commit: uma entrega desfeita não entra no ranking
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void registrar(PedidoStatusAlteradoEvent evento) {
+        Rankings atual = rankings;
+        if (atual == null || evento.statusNovo() != StatusPedido.ENTREGUE) {
+            // Ainda não construído: a construção lerá o pedido já entregue
+            return;
+        }
+        if (evento.restauranteId() != null) {
+            atual.restaurantes.somar(evento.restauranteId(), 1);
+            RankingTopK produtos = atual.produtos(evento.restauranteId());
+            evento.itensVendidos().forEach(produtos::somar);
+        }
+        if (evento.clienteId() != null) {
+            atual.clientes.somar(evento.clienteId(), 1);
+        }
+    }
+
+    public List<Posicao> topRestaurantes(int k, LongPredicate filtro) {
+        return atuais().restaurantes.topo(k, filtro);
+    }
+
+    public List<Posicao> topClientes(int k) {
+        return atuais().clientes.topo(k);
+    }
+
+    public List<Posicao> topProdutos(Long restauranteId, int k, LongPredicate filtro) {
+        RankingTopK produtos = atuais().produtosPorRestaurante.get(restauranteId);
+        return produtos != null ? produtos.topo(k, filtro) : List.of();
+    }
+
+    private Rankings atuais() {
+        Rankings atual = rankings;
+        if (atual == null) {
+            reconstruir();
+            atual = rankings;
+        }
+        return atual;
+    }
+
+    private static final class Rankings {
+        private final RankingTopK restaurantes = new RankingTopK();
+        private final RankingTopK clientes = new RankingTopK();
+        private final Map<Long, RankingTopK> produtosPorRestaurante = new ConcurrentHashMap<>();
+
+        RankingTopK produtos(Long restauranteId) {
+            return produtosPorRestaurante.computeIfAbsent(restauranteId, id -> new RankingTopK());
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.deliverytech.delivery_api.repository;
 
+import com.deliverytech.delivery_api.dto.response.ClienteResponse;
 import com.deliverytech.delivery_api.model.Cliente;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
 
@@ -11,45 +15,16 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long> {
     Optional<Cliente> findByEmail(String email);
     boolean existsByEmail(String email);
     List<Cliente> findByAtivoTrue();
+    // Paginação por cursor (keyset) sobre a chave primária, direto no DTO: só as colunas da resposta
+    @Query("SELECT new com.deliverytech.delivery_api.dto.response.ClienteResponse(" +
+           "c.id, c.nome, c.email, c.telefone, c.endereco, c.ativo, c.dataCriacao) " +
+           "FROM Cliente c WHERE c.ativo = true AND c.id > :apos ORDER BY c.id")
+    List<ClienteResponse> findResumoAtivos(@Param("apos") Long apos, Limit limit);
     List<Cliente> findByNomeContainingIgnoreCase(String nome);
-    
-    @Query(value = "SELECT c.nome, COUNT(p.id) as total_pedidos " +
-                   "FROM cliente c " +
-                   "LEFT JOIN pedido p ON c.id = p.cliente_id " +
-                   "GROUP BY c.id, c.nome " +
-                   "ORDER BY total_pedidos DESC " +
-                   "LIMIT 10", nativeQuery = true)
-    List<Object[]> rankingClientesPorPedidos();
-}
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
 
+    // Clientes de um ranking já calculado em memória (busca por chave primária)
+    @Query("SELECT new com.deliverytech.delivery_api.dto.response.ClienteResponse(" +
+           "c.id, c.nome, c.email, c.telefone, c.endereco, c.ativo, c.dataCriacao) " +
+           "FROM Cliente c WHERE c.id IN :ids")
+    List<ClienteResponse> findResumoByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,16 @@
+package com.deliverytech.delivery_api.repository;
+
+/**
+ * Total agrupado por um ID (restaurante, cliente ou produto), usado para reconciliar os rankings.
+ * {@code restauranteId} só é preenchido na contagem por produto.
+ */
+public record ContagemPorId(
+    Long restauranteId,
+    Long id,
+    Long total
+) {
+
+    public ContagemPorId(Long id, Long total) {
+        this(null, id, total);
+    }
+}
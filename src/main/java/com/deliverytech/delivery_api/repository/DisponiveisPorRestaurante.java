@@ -0,0 +1,10 @@
+package com.deliverytech.delivery_api.repository;
+
+/**
+ * Quantidade de produtos disponíveis de um restaurante.
+ */
+public record DisponiveisPorRestaurante(
+    Long restauranteId,
+    Long quantidade
+) {
+}
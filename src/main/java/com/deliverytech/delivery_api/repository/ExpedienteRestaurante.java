@@ -0,0 +1,15 @@
+package com.deliverytech.delivery_api.repository;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * Um turno de um restaurante ativo; dia e horários nulos quando o restaurante não tem turnos cadastrados.
+ */
+public record ExpedienteRestaurante(
+    Long restauranteId,
+    DayOfWeek diaSemana,
+    LocalTime abertura,
+    LocalTime fechamento
+) {
+}
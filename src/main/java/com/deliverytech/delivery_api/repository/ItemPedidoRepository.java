@@ -1,23 +1,44 @@
 package com.deliverytech.delivery_api.repository;
 
 import com.deliverytech.delivery_api.model.ItemPedido;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ItemPedidoRepository extends JpaRepository<ItemPedido, Long> {
     
     List<ItemPedido> findByPedidoId(Long pedidoId);
+
+    // Itens de uma página de pedidos já listada, em uma única consulta
+    @Query("SELECT new com.deliverytech.delivery_api.repository.ItemPedidoResumo(" +
+           "i.pedido.id, pr.id, pr.nome, i.quantidade, i.precoUnitario) " +
+           "FROM ItemPedido i JOIN i.produto pr WHERE i.pedido.id IN :pedidoIds ORDER BY i.id")
+    List<ItemPedidoResumo> findResumoByPedidoIdIn(@Param("pedidoIds") Collection<Long> pedidoIds);
     
     @Query("SELECT SUM(i.quantidade) FROM ItemPedido i WHERE i.produto.id = :produtoId")
     Integer countQuantidadeByProdutoId(@Param("produtoId") Long produtoId);
     
-    @Query("SELECT i.produto.id, i.produto.nome, SUM(i.quantidade) as total FROM ItemPedido i " +
-           "WHERE i.pedido.restaurante.id = :restauranteId " +
-           "GROUP BY i.produto.id, i.produto.nome ORDER BY total DESC")
-    List<Object[]> findMostSoldProductsByRestaurante(@Param("restauranteId") Long restauranteId);
+    // Reconciliação dos rankings: quantidade vendida em pedidos entregues, por restaurante e produto
+    @Query("SELECT new com.deliverytech.delivery_api.repository.ContagemPorId(" +
+           "p.restaurante.id, i.produto.id, SUM(i.quantidade)) " +
+           "FROM ItemPedido i JOIN i.pedido p WHERE p.status = 'ENTREGUE' " +
+           "GROUP BY p.restaurante.id, i.produto.id")
+    List<ContagemPorId> contarVendidosPorProduto();
+
+    // Relatório dos produtos mais vendidos em pedidos entregues no intervalo [inicio, fim)
+    @Query("SELECT pr.nome AS nomeProduto, SUM(i.quantidade) AS quantidadeVendida, SUM(i.subtotal) AS totalArrecadado " +
+           "FROM ItemPedido i JOIN i.pedido p JOIN i.produto pr WHERE p.status = 'ENTREGUE' " +
+           "AND p.dataPedido >= :inicio AND p.dataPedido < :fim " +
+           "GROUP BY pr.id, pr.nome ORDER BY SUM(i.quantidade) DESC")
+    List<RelatorioProdutosVendidos> relatorioProdutosMaisVendidos(
+        @Param("inicio") LocalDateTime inicio,
+        @Param("fim") LocalDateTime fim,
+        Limit limit);
 }
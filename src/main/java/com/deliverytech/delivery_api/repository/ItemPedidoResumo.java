@@ -0,0 +1,14 @@
+package com.deliverytech.delivery_api.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Item de um pedido listado, com o nome do produto já resolvido na consulta.
+ */
+public record ItemPedidoResumo(
+    Long pedidoId,
+    Long produtoId,
+    String nomeProduto,
+    Integer quantidade,
+    BigDecimal precoUnitario
+) {}
@@ -0,0 +1,21 @@
+package com.deliverytech.delivery_api.repository;
+
+import com.deliverytech.delivery_api.model.StatusPedido;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Linha de exportação de pedidos: projeção só com as colunas exportadas,
+ * sem entidades gerenciadas (o contexto de persistência não cresce durante o streaming).
+ */
+public record PedidoExportacao(
+    Long id,
+    Long clienteId,
+    String clienteNome,
+    StatusPedido status,
+    BigDecimal total,
+    LocalDateTime dataPedido,
+    LocalDateTime dataEntrega,
+    String enderecoEntrega
+) {}
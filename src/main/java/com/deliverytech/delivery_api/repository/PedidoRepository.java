@@ -3,14 +3,24 @@ package com.deliverytech.delivery_api.repository;
 import com.deliverytech.delivery_api.model.Pedido;
 import com.deliverytech.delivery_api.model.StatusPedido;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
+
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PedidoRepository extends JpaRepository<Pedido, Long> {
@@ -18,30 +28,89 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
     List<Pedido> findByClienteId(Long clienteId);
     List<Pedido> findByRestauranteId(Long restauranteId);
     List<Pedido> findByStatus(StatusPedido status);
+
+    @EntityGraph(Pedido.GRAFO_RESUMO)
     List<Pedido> findByDataPedidoBetween(LocalDateTime inicio, LocalDateTime fim);
 
-    // Query com JOIN FETCH para carregar itens
-    @Query("SELECT p FROM Pedido p LEFT JOIN FETCH p.itens i LEFT JOIN FETCH i.produto WHERE p.id = :id")
-    Optional<Pedido> findByIdWithItens(@Param("id") Long id);
+    // Histórico do cliente, fase 1: só os IDs da página por cursor (keyset), dos mais recentes para os mais antigos.
+    // Paginar junto com o fetch da coleção de itens faria o Hibernate paginar em memória
+    @Query("SELECT p.id FROM Pedido p WHERE p.cliente.id = :clienteId AND p.id < :antes ORDER BY p.id DESC")
+    List<Long> findIdsByClienteId(@Param("clienteId") Long clienteId, @Param("antes") Long antes, Limit limit);
+
+    // Listagem do restaurante por cursor, só com as colunas da resposta (cliente e restaurante não são carregados)
+    @Query("SELECT new com.deliverytech.delivery_api.repository.PedidoResumo(" +
+           "p.id, p.cliente.id, p.restaurante.id, p.status, p.total, p.dataPedido) " +
+           "FROM Pedido p WHERE p.restaurante.id = :restauranteId AND p.id < :antes ORDER BY p.id DESC")
+    List<PedidoResumo> findResumoByRestauranteId(
+        @Param("restauranteId") Long restauranteId,
+        @Param("antes") Long antes,
+        Limit limit
+    );
 
-    // Query com JOIN FETCH para carregar itens por cliente
-    @Query("SELECT p FROM Pedido p LEFT JOIN FETCH p.itens i LEFT JOIN FETCH i.produto WHERE p.cliente.id = :clienteId")
-    List<Pedido> findByClienteIdWithItens(@Param("clienteId") Long clienteId);
+    // Fase 2: os pedidos da página, completos, em uma única consulta (no máximo LIMITE_MAXIMO IDs)
+    @EntityGraph(Pedido.GRAFO_DETALHE)
+    @Query("SELECT p FROM Pedido p WHERE p.id IN :ids ORDER BY p.id DESC")
+    List<Pedido> findAllWithItensByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.status FROM Pedido p WHERE p.id = :id")
+    Optional<StatusPedido> findStatusById(@Param("id") Long id);
+
+    @Query("SELECT new com.deliverytech.delivery_api.repository.PedidoStatusAtual(p.id, p.status) " +
+           "FROM Pedido p WHERE p.id IN :ids")
+    List<PedidoStatusAtual> findStatusByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Transição condicional: só altera os pedidos cujo status ainda é o esperado.
+    // Retorna menos linhas que IDs quando outra transação mudou algum deles antes (sem lock pessimista)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Pedido p SET p.status = :novoStatus, p.dataEntrega = COALESCE(:dataEntrega, p.dataEntrega) " +
+           "WHERE p.id IN :ids AND p.status = :statusAtual")
+    int transicionarStatus(
+        @Param("ids") Collection<Long> ids,
+        @Param("statusAtual") StatusPedido statusAtual,
+        @Param("novoStatus") StatusPedido novoStatus,
+        @Param("dataEntrega") LocalDateTime dataEntrega
+    );
+
+    // Dados para os eventos de mudança de status, sem uma consulta por cliente/restaurante
+    @EntityGraph(Pedido.GRAFO_RESUMO)
+    @Query("SELECT p FROM Pedido p WHERE p.id IN :ids")
+    List<Pedido> findAllWithClienteERestauranteByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Pedido completo (cliente, restaurante, itens e produtos) em uma consulta
+    @EntityGraph(Pedido.GRAFO_DETALHE)
+    @Query("SELECT p FROM Pedido p WHERE p.id = :id")
+    Optional<Pedido> findByIdWithItens(@Param("id") Long id);
     
-    // Buscar pedidos por restaurante e status
+    // Buscar pedidos por restaurante e status, já com os itens para a resposta
+    @EntityGraph(Pedido.GRAFO_DETALHE)
     @Query("SELECT p FROM Pedido p WHERE p.restaurante.id = :restauranteId AND p.status = :status ORDER BY p.dataPedido DESC")
     List<Pedido> findByRestauranteIdAndStatus(
         @Param("restauranteId") Long restauranteId,
         @Param("status") StatusPedido status);
 
     // Buscar pedidos por período e restaurante
+    @EntityGraph(Pedido.GRAFO_DETALHE)
     @Query("SELECT p FROM Pedido p WHERE p.restaurante.id = :restauranteId " +
            "AND p.dataPedido BETWEEN :inicio AND :fim ORDER BY p.dataPedido DESC")
     List<Pedido> findByRestauranteIdAndPeriodo(
         @Param("restauranteId") Long restauranteId,
         @Param("inicio") LocalDateTime inicio,
         @Param("fim") LocalDateTime fim);
-        
+
+    // Exportação por período: cursor JDBC com fetch size fixo, lido sob demanda (deve ser consumido em transação)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.deliverytech.delivery_api.repository.PedidoExportacao(" +
+           "p.id, c.id, c.nome, p.status, p.total, p.dataPedido, p.dataEntrega, p.enderecoEntrega) " +
+           "FROM Pedido p JOIN p.cliente c WHERE p.restaurante.id = :restauranteId " +
+           "AND p.dataPedido BETWEEN :inicio AND :fim ORDER BY p.dataPedido")
+    Stream<PedidoExportacao> streamByRestauranteIdAndPeriodo(
+        @Param("restauranteId") Long restauranteId,
+        @Param("inicio") LocalDateTime inicio,
+        @Param("fim") LocalDateTime fim);
+
     // Buscar totais por período para um restaurante
     @Query("SELECT COUNT(p), SUM(p.total) FROM Pedido p WHERE p.restaurante.id = :restauranteId " +
            "AND p.status = 'ENTREGUE' AND p.dataPedido BETWEEN :inicio AND :fim")
@@ -49,4 +118,29 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
         @Param("restauranteId") Long restauranteId,
         @Param("inicio") LocalDateTime inicio,
         @Param("fim") LocalDateTime fim);
+
+    // Relatórios sobre pedidos entregues no intervalo [inicio, fim); totais diários ficam em VendaDiaria
+    @Query("SELECT c.nome AS nomeCliente, COUNT(p) AS quantidadePedidos, SUM(p.total) AS totalGasto " +
+           "FROM Pedido p JOIN p.cliente c WHERE p.status = 'ENTREGUE' " +
+           "AND p.dataPedido >= :inicio AND p.dataPedido < :fim " +
+           "GROUP BY c.id, c.nome ORDER BY COUNT(p) DESC, SUM(p.total) DESC")
+    List<RelatorioClientesAtivos> relatorioClientesAtivos(
+        @Param("inicio") LocalDateTime inicio,
+        @Param("fim") LocalDateTime fim,
+        Limit limit);
+
+    @Query("SELECT COUNT(DISTINCT p.cliente.id) FROM Pedido p WHERE p.status = 'ENTREGUE' " +
+           "AND p.dataPedido >= :inicio AND p.dataPedido < :fim")
+    long contarClientesAtivos(
+        @Param("inicio") LocalDateTime inicio,
+        @Param("fim") LocalDateTime fim);
+
+    // Reconciliação dos rankings: pedidos entregues por restaurante e por cliente
+    @Query("SELECT new com.deliverytech.delivery_api.repository.ContagemPorId(p.restaurante.id, COUNT(p)) " +
+           "FROM Pedido p WHERE p.status = 'ENTREGUE' GROUP BY p.restaurante.id")
+    List<ContagemPorId> contarEntreguesPorRestaurante();
+
+    @Query("SELECT new com.deliverytech.delivery_api.repository.ContagemPorId(p.cliente.id, COUNT(p)) " +
+           "FROM Pedido p WHERE p.status = 'ENTREGUE' GROUP BY p.cliente.id")
+    List<ContagemPorId> contarEntreguesPorCliente();
 }
@@ -0,0 +1,18 @@
+package com.deliverytech.delivery_api.repository;
+
+import com.deliverytech.delivery_api.model.StatusPedido;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Linha de listagem de pedidos: só as colunas de PedidoResponse, sem carregar cliente e restaurante.
+ */
+public record PedidoResumo(
+    Long id,
+    Long clienteId,
+    Long restauranteId,
+    StatusPedido status,
+    BigDecimal total,
+    LocalDateTime dataPedido
+) {}
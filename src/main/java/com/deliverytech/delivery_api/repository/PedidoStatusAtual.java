@@ -0,0 +1,8 @@
+package com.deliverytech.delivery_api.repository;
+
+import com.deliverytech.delivery_api.model.StatusPedido;
+
+/**
+ * Status corrente de um pedido, sem carregar a entidade.
+ */
+public record PedidoStatusAtual(Long id, StatusPedido status) {}
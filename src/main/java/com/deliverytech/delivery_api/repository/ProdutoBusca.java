@@ -0,0 +1,24 @@
+package com.deliverytech.delivery_api.repository;
+
+import com.deliverytech.delivery_api.model.Produto;
+
+import java.math.BigDecimal;
+
+/**
+ * Campos de um produto usados pela busca do cardápio, sem o restaurante carregado.
+ */
+public record ProdutoBusca(
+    Long id,
+    Long restauranteId,
+    String nome,
+    String categoria,
+    String descricao,
+    BigDecimal preco,
+    Boolean ativo
+) {
+
+    public static ProdutoBusca de(Produto produto) {
+        return new ProdutoBusca(produto.getId(), produto.getRestaurante().getId(), produto.getNome(),
+            produto.getCategoria(), produto.getDescricao(), produto.getPreco(), produto.getAtivo());
+    }
+}
@@ -3,6 +3,7 @@ package com.deliverytech.delivery_api.repository;
 import com.deliverytech.delivery_api.model.Produto;
 import com.deliverytech.delivery_api.model.Restaurante;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -17,29 +18,25 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
     
     Optional<Produto> findByNomeAndRestaurante_Id(String nome, Long restauranteId);
     Optional<Produto> findByNomeAndRestaurante(String nome, Restaurante restaurante);
+    // Listar produtos paginados por cursor (keyset)
+    List<Produto> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
     // Buscar produtos por restaurante
     List<Produto> findByRestauranteId(Long restauranteId);
     
-    // Buscar produtos disponíveis por restaurante
-    List<Produto> findByRestauranteIdAndDisponivelTrue(Long restauranteId);
-    
-    // Buscar produtos por categoria e restaurante
-    List<Produto> findByRestauranteIdAndCategoriaContainingIgnoreCase(Long restauranteId, String categoria);
+    // Buscar produtos disponíveis por restaurante (disponível = ativo, como no índice de disponibilidade)
+    List<Produto> findByRestauranteIdAndAtivoTrue(Long restauranteId);
     
-    // Buscar produtos por nome e restaurante
-    List<Produto> findByRestauranteIdAndNomeContainingIgnoreCase(Long restauranteId, String nome);
+    // Carga do índice de busca (busca.IndiceProdutos): todos os produtos, só com os campos pesquisáveis
+    @Query("SELECT new com.deliverytech.delivery_api.repository.ProdutoBusca(" +
+           "p.id, p.restaurante.id, p.nome, p.categoria, p.descricao, p.preco, p.ativo) FROM Produto p")
+    List<ProdutoBusca> findAllParaBusca();
+
+    // Produtos disponíveis por restaurante, para reconciliar o índice de disponibilidade
+    @Query("SELECT new com.deliverytech.delivery_api.repository.DisponiveisPorRestaurante(p.restaurante.id, COUNT(p)) " +
+           "FROM Produto p WHERE p.ativo = true GROUP BY p.restaurante.id")
+    List<DisponiveisPorRestaurante> contarDisponiveisPorRestaurante();
     
     // Buscar produtos por faixa de preço e restaurante
     List<Produto> findByRestauranteIdAndPrecoBetween(Long restauranteId, BigDecimal precoMin, BigDecimal precoMax);
-    
-    // Buscar produtos mais vendidos
-    @Query(value = "SELECT p.*, COUNT(ip.id) as vendas " +
-                   "FROM produto p " +
-                   "JOIN item_pedido ip ON p.id = ip.produto_id " +
-                   "JOIN pedido ped ON ip.pedido_id = ped.id " +
-                   "WHERE p.restaurante_id = :restauranteId " +
-                   "GROUP BY p.id " +
-                   "ORDER BY vendas DESC " +
-                   "LIMIT 10", nativeQuery = true)
-    List<Produto> findMostSoldProductsByRestaurante(@Param("restauranteId") Long restauranteId);
 }
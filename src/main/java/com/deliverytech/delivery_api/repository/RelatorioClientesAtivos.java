@@ -0,0 +1,9 @@
+package com.deliverytech.delivery_api.repository;
+
+import java.math.BigDecimal;
+
+public interface RelatorioClientesAtivos {
+    String getNomeCliente();
+    Long getQuantidadePedidos();
+    BigDecimal getTotalGasto();
+}
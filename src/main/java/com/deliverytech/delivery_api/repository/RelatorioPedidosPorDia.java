@@ -0,0 +1,11 @@
+package com.deliverytech.delivery_api.repository;
+
+import java.math.BigDecimal;
+
+public interface RelatorioPedidosPorDia {
+    Integer getAno();
+    Integer getMes();
+    Integer getDia();
+    Long getQuantidadePedidos();
+    BigDecimal getTotalVendas();
+}
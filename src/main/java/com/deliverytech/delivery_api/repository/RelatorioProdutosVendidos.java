@@ -0,0 +1,9 @@
+package com.deliverytech.delivery_api.repository;
+
+import java.math.BigDecimal;
+
+public interface RelatorioProdutosVendidos {
+    String getNomeProduto();
+    Long getQuantidadeVendida();
+    BigDecimal getTotalArrecadado();
+}
@@ -0,0 +1,24 @@
+package com.deliverytech.delivery_api.repository;
+
+import com.deliverytech.delivery_api.model.Restaurante;
+
+import java.math.BigDecimal;
+
+/**
+ * Campos de um restaurante ativo usados pela busca por proximidade.
+ */
+public record RestauranteLocalizacao(
+    Long id,
+    String nome,
+    String categoria,
+    String telefone,
+    BigDecimal taxaEntrega,
+    double latitude,
+    double longitude
+) {
+
+    public static RestauranteLocalizacao de(Restaurante restaurante) {
+        return new RestauranteLocalizacao(restaurante.getId(), restaurante.getNome(), restaurante.getCategoria(),
+            restaurante.getTelefone(), restaurante.getTaxaEntrega(), restaurante.getLatitude(), restaurante.getLongitude());
+    }
+}
@@ -1,10 +1,14 @@
 package com.deliverytech.delivery_api.repository;
 
+import com.deliverytech.delivery_api.dto.response.RestauranteResponse;
 import com.deliverytech.delivery_api.model.Restaurante;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,24 +25,38 @@ public interface RestauranteRepository extends JpaRepository<Restaurante, Long>
     
     // Busca restaurantes ativos
     List<Restaurante> findByAtivoTrue();
+
+    // Restaurantes ativos paginados por cursor (keyset), direto no DTO: só as colunas da resposta
+    @Query("SELECT new com.deliverytech.delivery_api.dto.response.RestauranteResponse(" +
+           "r.id, r.nome, r.categoria, r.telefone, r.TaxaEntrega, CAST(NULL AS Integer), r.ativo) " +
+           "FROM Restaurante r WHERE r.ativo = true AND r.id > :apos ORDER BY r.id")
+    List<RestauranteResponse> findResumoAtivos(@Param("apos") Long apos, Limit limit);
     
+    // Página de restaurantes já escolhida pelo índice de horários
+    @Query("SELECT new com.deliverytech.delivery_api.dto.response.RestauranteResponse(" +
+           "r.id, r.nome, r.categoria, r.telefone, r.TaxaEntrega, CAST(NULL AS Integer), r.ativo) " +
+           "FROM Restaurante r WHERE r.ativo = true AND r.id IN :ids ORDER BY r.id")
+    List<RestauranteResponse> findResumoByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Turnos de todos os restaurantes ativos (uma linha vazia para quem não tem turnos), para o índice de horários
+    @Query("SELECT new com.deliverytech.delivery_api.repository.ExpedienteRestaurante(" +
+           "r.id, e.diaSemana, e.abertura, e.fechamento) " +
+           "FROM Restaurante r LEFT JOIN r.expedientes e WHERE r.ativo = true")
+    List<ExpedienteRestaurante> findExpedientesAtivos();
+
+    // Restaurantes ativos com coordenadas, para o índice de proximidade
+    @Query("SELECT new com.deliverytech.delivery_api.repository.RestauranteLocalizacao(" +
+           "r.id, r.nome, r.categoria, r.telefone, r.TaxaEntrega, r.latitude, r.longitude) " +
+           "FROM Restaurante r WHERE r.ativo = true AND r.latitude IS NOT NULL AND r.longitude IS NOT NULL")
+    List<RestauranteLocalizacao> findLocalizacaoAtivos();
+
     // Busca restaurantes por especialidade
     List<Restaurante> findByEspecialidadeContainingIgnoreCase(String especialidade);
     
     // Busca restaurantes por nome
     List<Restaurante> findByNomeContainingIgnoreCase(String nome);
     
-    // Busca restaurantes com produtos disponíveis
-    @Query("SELECT DISTINCT r FROM Restaurante r JOIN r.produtos p WHERE p.disponivel = true AND r.ativo = true")
-    List<Restaurante> findRestaurantesWithProdutosDisponiveis();
-    
-    // Ranking de restaurantes por número de pedidos
-    @Query(value = "SELECT r.nome, COUNT(p.id) as total_pedidos " +
-                  "FROM restaurante r " +
-                  "LEFT JOIN pedido p ON r.id = p.restaurante_id " +
-                  "WHERE r.ativo = true " +
-                  "GROUP BY r.id, r.nome " +
-                  "ORDER BY total_pedidos DESC " +
-                  "LIMIT 10", nativeQuery = true)
-    List<Object[]> rankingRestaurantesPorPedidos();
+    // Restaurantes ativos entre os IDs informados (busca por chave primária, sem JOIN)
+    @Query("SELECT r FROM Restaurante r WHERE r.ativo = true AND r.id IN :ids ORDER BY r.id")
+    List<Restaurante> findAtivosByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,9 @@
+package com.deliverytech.delivery_api.repository;
+
+import java.math.BigDecimal;
+
+public interface ResumoVendas {
+    Long getTotalPedidos();
+    BigDecimal getValorTotalVendas();
+    Long getRestaurantesAtivos();
+}
@@ -0,0 +1,66 @@
+package com.deliverytech.delivery_api.repository;
+
+import com.deliverytech.delivery_api.model.VendaDiaria;
+import com.deliverytech.delivery_api.model.VendaDiariaId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface VendaDiariaRepository extends JpaRepository<VendaDiaria, VendaDiariaId> {
+
+    // Incremento atômico no banco, sem ler a linha antes (não perde atualizações concorrentes)
+    @Modifying
+    @Query("UPDATE VendaDiaria v SET v.pedidosEntregues = v.pedidosEntregues + :entregues, " +
+           "v.valorTotal = v.valorTotal + :valor, v.pedidosCancelados = v.pedidosCancelados + :cancelados " +
+           "WHERE v.id.restauranteId = :restauranteId AND v.id.dia = :dia")
+    int acumular(
+        @Param("restauranteId") Long restauranteId,
+        @Param("dia") LocalDate dia,
+        @Param("entregues") long entregues,
+        @Param("valor") BigDecimal valor,
+        @Param("cancelados") long cancelados);
+
+    // Reconstrução completa a partir dos pedidos (SQL portável entre H2 e MySQL)
+    @Modifying
+    @Query(value = "INSERT INTO venda_diaria (restaurante_id, dia, pedidos_entregues, valor_total, pedidos_cancelados) " +
+           "SELECT restaurante_id, CAST(data_pedido AS DATE), " +
+           "SUM(CASE WHEN status = 'ENTREGUE' THEN 1 ELSE 0 END), " +
+           "COALESCE(SUM(CASE WHEN status = 'ENTREGUE' THEN total END), 0), " +
+           "SUM(CASE WHEN status = 'CANCELADO' THEN 1 ELSE 0 END) " +
+           "FROM pedido WHERE status IN ('ENTREGUE', 'CANCELADO') AND restaurante_id IS NOT NULL " +
+           "AND data_pedido IS NOT NULL " +
+           "GROUP BY restaurante_id, CAST(data_pedido AS DATE)", nativeQuery = true)
+    int reconstruir();
+
+    // Relatórios: leem no máximo uma linha por restaurante e dia do intervalo [inicio, fim]
+    @Query("SELECT r.nome AS nomeRestaurante, SUM(v.valorTotal) AS totalVendas, SUM(v.pedidosEntregues) AS quantidadePedidos " +
+           "FROM VendaDiaria v JOIN Restaurante r ON r.id = v.id.restauranteId " +
+           "WHERE v.id.dia BETWEEN :inicio AND :fim AND v.pedidosEntregues > 0 " +
+           "GROUP BY r.id, r.nome ORDER BY SUM(v.valorTotal) DESC")
+    List<RelatorioVendas> relatorioVendasPorRestaurante(
+        @Param("inicio") LocalDate inicio,
+        @Param("fim") LocalDate fim);
+
+    @Query("SELECT year(v.id.dia) AS ano, month(v.id.dia) AS mes, day(v.id.dia) AS dia, " +
+           "SUM(v.pedidosEntregues) AS quantidadePedidos, SUM(v.valorTotal) AS totalVendas " +
+           "FROM VendaDiaria v WHERE v.id.dia BETWEEN :inicio AND :fim AND v.pedidosEntregues > 0 " +
+           "GROUP BY year(v.id.dia), month(v.id.dia), day(v.id.dia) " +
+           "ORDER BY year(v.id.dia), month(v.id.dia), day(v.id.dia)")
+    List<RelatorioPedidosPorDia> relatorioPedidosPorDia(
+        @Param("inicio") LocalDate inicio,
+        @Param("fim") LocalDate fim);
+
+    @Query("SELECT COALESCE(SUM(v.pedidosEntregues), 0) AS totalPedidos, COALESCE(SUM(v.valorTotal), 0) AS valorTotalVendas, " +
+           "COUNT(DISTINCT v.id.restauranteId) AS restaurantesAtivos " +
+           "FROM VendaDiaria v WHERE v.id.dia BETWEEN :inicio AND :fim AND v.pedidosEntregues > 0")
+    ResumoVendas resumoVendas(
+        @Param("inicio") LocalDate inicio,
+        @Param("fim") LocalDate fim);
+}
@@ -1,8 +1,14 @@
 package com.deliverytech.delivery_api.security;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -10,40 +16,103 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.deliverytech.delivery_api.repository.UsuarioRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+/**
+ * Autentica pelo header Bearer. Tokens já validados ficam em cache (chave = SHA-256 do token)
+ * até o {@code exp} do token, limitado a {@code jwt.cache.ttl-maximo} para que mudanças no
+ * usuário não fiquem invisíveis por tempo demais; no acerto não há parse, HMAC nem consulta ao banco.
+ */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    @Autowired
-    private JwtUtil jwtUtil;
-    @Autowired
-    private UsuarioRepository usuarioRepository;
+    static final String CACHE = "jwtAutenticacoes";
+
+    record TokenAutenticado(UserDetails usuario, Instant expiraEm) {
+    }
+
+    private final JwtUtil jwtUtil;
+    private final UsuarioRepository usuarioRepository;
+    private final Cache<String, TokenAutenticado> autenticacoes;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UsuarioRepository usuarioRepository, MeterRegistry meterRegistry,
+                                   @Value("${jwt.cache.maximum-size:10000}") long tamanhoMaximo,
+                                   @Value("${jwt.cache.ttl-maximo:15m}") Duration ttlMaximo) {
+        this.jwtUtil = jwtUtil;
+        this.usuarioRepository = usuarioRepository;
+        this.autenticacoes = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfter(Expiry.<String, TokenAutenticado>creating((chave, token) -> {
+                    Duration ateExpirar = Duration.between(Instant.now(), token.expiraEm());
+                    return ateExpirar.compareTo(ttlMaximo) < 0 ? ateExpirar : ttlMaximo;
+                }))
+                .recordStats()
+                .build();
+        // Mesmas chaves de tag dos caches do CacheManager (cache, cache.manager, name): o Prometheus
+        // rejeita metros de mesmo nome com conjuntos de tags diferentes
+        CaffeineCacheMetrics.monitor(meterRegistry, autenticacoes, CACHE,
+                "cache.manager", "jwtAuthenticationFilter", "name", CACHE);
+    }
 
      @Override
     protected void doFilterInternal(
-        HttpServletRequest request, 
-        HttpServletResponse response, 
+        HttpServletRequest request,
+        HttpServletResponse response,
         FilterChain filterChain
     ) throws ServletException, IOException {
         var token = this.recoverToken(request);
         if (token != null){
-            var login = jwtUtil.getEmailFromToken(token);
-            UserDetails user = usuarioRepository.findByEmail(login);
-
-            var authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+            TokenAutenticado autenticado = autenticar(token);
+            if (autenticado != null) {
+                UserDetails user = autenticado.usuario();
+                var authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
         }
         filterChain.doFilter(request, response);
     }
 
+    private TokenAutenticado autenticar(String token) {
+        String chave = hash(token);
+        TokenAutenticado autenticado = autenticacoes.getIfPresent(chave);
+        if (autenticado == null) {
+            Claims claims = jwtUtil.validarToken(token);
+            if (claims == null || claims.getSubject() == null || claims.getExpiration() == null) {
+                return null;
+            }
+            UserDetails user = usuarioRepository.findByEmail(claims.getSubject());
+            if (user == null) {
+                return null;
+            }
+            autenticado = new TokenAutenticado(user, claims.getExpiration().toInstant());
+            autenticacoes.put(chave, autenticado);
+        }
+        // A entrada pode sobreviver alguns instantes além do exp até a limpeza do cache
+        return autenticado.expiraEm().isAfter(Instant.now()) ? autenticado : null;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
     private String recoverToken(HttpServletRequest request){
         var authHeader = request.getHeader("Authorization");
         if(authHeader == null) return null;
         return authHeader.replace("Bearer ", "");
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,9 @@
 package com.deliverytech.delivery_api.service;
 
 import com.deliverytech.delivery_api.dto.request.ClienteRequest;
+import com.deliverytech.delivery_api.dto.response.ClienteResponse;
+import com.deliverytech.delivery_api.dto.response.PaginaResponse;
+import com.deliverytech.delivery_api.dto.response.RankingPedidosResponse;
 import com.deliverytech.delivery_api.model.Cliente;
 
 
@@ -23,7 +26,7 @@ public interface ClienteService {
     Optional<Cliente> buscarPorEmail(String email);
     
 
-    List<Cliente> listarAtivos();
+    PaginaResponse<ClienteResponse> listarAtivos(Long apos, int limite);
     
 
     List<Cliente> buscarPorNome(String nome);
@@ -42,4 +45,9 @@ public interface ClienteService {
      */
     Cliente ativarDesativarCliente(Long id);
 
+    /**
+     * Ranking dos clientes por número de pedidos entregues
+     */
+    List<RankingPedidosResponse> rankingPorPedidos();
+
 }
\ No newline at end of file
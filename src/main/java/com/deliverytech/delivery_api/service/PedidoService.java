@@ -4,12 +4,17 @@ import java.util.List;
 import com.deliverytech.delivery_api.model.Produto;
 import com.deliverytech.delivery_api.model.StatusPedido;
 import com.deliverytech.delivery_api.dto.request.PedidoRequest;
+import com.deliverytech.delivery_api.dto.response.PaginaResponse;
+import com.deliverytech.delivery_api.dto.response.PedidoResponse;
+import com.deliverytech.delivery_api.dto.response.TransicaoStatusResponse;
 import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.repository.PedidoExportacao;
 
 import java.time.LocalDateTime;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 
 public interface PedidoService {
@@ -18,8 +23,8 @@ public interface PedidoService {
     Pedido realizar(PedidoRequest pedidoRequest);
     Optional<Pedido> buscarPorId(Long id);
     Optional<Pedido> buscarPorIdComItens(Long id);
-    List<Pedido> listarPorCliente(Long clienteId);
-    List<Pedido> listarPorRestaurante(Long restauranteId);
+    PaginaResponse<Pedido> listarPorCliente(Long clienteId, Long apos, int limite);
+    PaginaResponse<PedidoResponse> listarPorRestaurante(Long restauranteId, Long apos, int limite);
     List<Pedido> listarPorStatus(StatusPedido status);
     List<Pedido> listarPorRestauranteEStatus(Long restauranteId, StatusPedido status);
     
@@ -31,8 +36,10 @@ public interface PedidoService {
     Pedido iniciarEntrega(Long id);
     Pedido finalizarEntrega(Long id);
     Pedido cancelar(Long id);
+    List<TransicaoStatusResponse> atualizarStatusEmLote(List<Long> pedidoIds, StatusPedido novoStatus);
     // Relatórios
     List<Pedido> listarPorPeriodo(Long restauranteId, LocalDateTime inicio, LocalDateTime fim);
+    void exportarPorPeriodo(Long restauranteId, LocalDateTime inicio, LocalDateTime fim, Consumer<PedidoExportacao> consumidor);
     Map<String, Object> obterEstatisticas(Long restauranteId, LocalDateTime inicio, LocalDateTime fim);
     List<Produto> listarTodos();
 }
@@ -1,6 +1,8 @@
 package com.deliverytech.delivery_api.service;
 
 import com.deliverytech.delivery_api.dto.request.ProdutoRequest;
+import com.deliverytech.delivery_api.dto.response.PaginaResponse;
+import com.deliverytech.delivery_api.dto.response.ProdutoResponse;
 import com.deliverytech.delivery_api.model.Produto;
 
 import java.math.BigDecimal;
@@ -22,9 +24,10 @@ public interface ProdutoService {
     Produto alterarDisponibilidade(Long id);
     
     // Consultas especializadas
-    List<Produto> buscarPorNome(Long restauranteId, String nome);
-    List<Produto> buscarPorCategoria(Long restauranteId, String categoria);
+    List<ProdutoResponse> buscarPorNome(Long restauranteId, String nome);
+    List<ProdutoResponse> buscarPorCategoria(Long restauranteId, String categoria);
+    List<ProdutoResponse> buscar(Long restauranteId, String termo);
     List<Produto> buscarPorFaixaDePreco(Long restauranteId, BigDecimal precoMin, BigDecimal precoMax);
-    List<Produto> produtosMaisVendidos(Long restauranteId);
-    List<Produto> listarTodos();
+    List<ProdutoResponse> produtosMaisVendidos(Long restauranteId);
+    PaginaResponse<Produto> listarTodos(Long apos, int limite);
 }
@@ -1,6 +1,10 @@
 package com.deliverytech.delivery_api.service;
 
 import com.deliverytech.delivery_api.dto.request.RestauranteRequest;
+import com.deliverytech.delivery_api.dto.response.PaginaResponse;
+import com.deliverytech.delivery_api.dto.response.RankingPedidosResponse;
+import com.deliverytech.delivery_api.dto.response.RestauranteProximoResponse;
+import com.deliverytech.delivery_api.dto.response.RestauranteResponse;
 import com.deliverytech.delivery_api.model.Restaurante;
 
 import java.util.List;
@@ -10,9 +14,10 @@ public interface RestauranteService {
     
     // Operações básicas
     Restaurante cadastrar(RestauranteRequest restauranteRequest);
-    Optional<Restaurante> buscarPorId(Long id);
-    Optional<Restaurante> buscarPorCnpj(String cnpj);
-    List<Restaurante> listarAtivos();
+    Optional<RestauranteResponse> buscarPorId(Long id);
+    boolean existePorId(Long id);
+    Optional<RestauranteResponse> buscarPorCnpj(String cnpj);
+    PaginaResponse<RestauranteResponse> listarAtivos(Long apos, int limite, boolean abertosAgora);
     List<Restaurante> buscarPorNome(String nome);
     List<Restaurante> buscarPorEspecialidade(String especialidade);
     Restaurante atualizar(Long id, RestauranteRequest restauranteRequest);
@@ -22,9 +27,10 @@ public interface RestauranteService {
     Restaurante ativarDesativarRestaurante(Long id);
     
     // Busca especializada
-    List<Restaurante> buscarComProdutosDisponiveis();
+    List<Restaurante> buscarComProdutosDisponiveis(boolean abertosAgora);
+    List<RestauranteProximoResponse> buscarProximos(Double latitude, Double longitude, int limite, Double raioKm);
     
     // Relatórios
-    List<Object[]> rankingPorPedidos();
+    List<RankingPedidosResponse> rankingPorPedidos();
 }
 
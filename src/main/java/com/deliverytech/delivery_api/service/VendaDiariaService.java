@@ -0,0 +1,16 @@
+package com.deliverytech.delivery_api.service;
+
+import com.deliverytech.delivery_api.event.PedidoStatusAlteradoEvent;
+
+public interface VendaDiariaService {
+
+    /**
+     * Acumula o pedido entregue ou cancelado na linha do seu restaurante e dia
+     */
+    void registrar(PedidoStatusAlteradoEvent evento);
+
+    /**
+     * Recalcula toda a tabela de vendas diárias a partir dos pedidos
+     */
+    int reconstruir();
+}
@@ -2,15 +2,23 @@ package com.deliverytech.delivery_api.service.impl;
 
 import com.deliverytech.delivery_api.model.Cliente;
 import com.deliverytech.delivery_api.dto.request.ClienteRequest; // ADICIONAR IMPORT
+import com.deliverytech.delivery_api.dto.response.ClienteResponse;
+import com.deliverytech.delivery_api.dto.response.PaginaResponse;
+import com.deliverytech.delivery_api.dto.response.RankingPedidosResponse;
+import com.deliverytech.delivery_api.ranking.RankingTopK.Posicao;
+import com.deliverytech.delivery_api.ranking.RankingsPedidos;
 import com.deliverytech.delivery_api.repository.ClienteRepository;
 import com.deliverytech.delivery_api.service.ClienteService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -18,7 +26,10 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class ClienteServiceImpl implements ClienteService {
 
+    static final int TAMANHO_RANKING = 10;
+
     private final ClienteRepository clienteRepository;
+    private final RankingsPedidos rankingsPedidos;
 
     /**
          * Cadastrar novo cliente com validações completas
@@ -76,13 +87,16 @@ public class ClienteServiceImpl implements ClienteService {
     }
 
     /**
-     * Listar todos os clientes ativos
+     * Listar clientes ativos paginados por cursor
      */
     @Override
     @Transactional(readOnly = true)
-    public List<Cliente> listarAtivos() {
-        log.debug("Listando clientes ativos");
-        return clienteRepository.findByAtivoTrue();
+    public PaginaResponse<ClienteResponse> listarAtivos(Long apos, int limite) {
+        log.debug("Listando clientes ativos após ID: {} (limite {})", apos, limite);
+        int tamanho = PaginaResponse.normalizarLimite(limite);
+        List<ClienteResponse> clientes = clienteRepository.findResumoAtivos(
+            apos != null ? apos : 0L, Limit.of(tamanho + 1));
+        return PaginaResponse.of(clientes, tamanho, ClienteResponse::getId);
     }
 
     /**
@@ -179,6 +193,26 @@ public class ClienteServiceImpl implements ClienteService {
         return clienteSalvo;
     }
 
+    /**
+     * Ranking dos clientes por número de pedidos entregues, pelo ranking em memória.
+     * O banco só é consultado pelos nomes dos clientes do ranking (chave primária).
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<RankingPedidosResponse> rankingPorPedidos() {
+        log.info("Gerando ranking de clientes por pedidos");
+        List<Posicao> ranking = rankingsPedidos.topClientes(TAMANHO_RANKING);
+        if (ranking.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, String> nomes = clienteRepository.findResumoByIdIn(ranking.stream().map(Posicao::id).toList())
+            .stream().collect(Collectors.toMap(ClienteResponse::getId, ClienteResponse::getNome));
+        return ranking.stream()
+            .filter(posicao -> nomes.containsKey(posicao.id()))
+            .map(posicao -> new RankingPedidosResponse(posicao.id(), nomes.get(posicao.id()), posicao.total()))
+            .toList();
+    }
+
     /**
      * VALIDAÇÕES DE NEGÓCIO COMPLETAS (método privado)
      */
@@ -1,28 +1,127 @@
 package com.deliverytech.delivery_api.service.impl;
 
+import com.deliverytech.delivery_api.dto.request.ItemPedidoRequest;
 import com.deliverytech.delivery_api.dto.request.PedidoRequest;
+import com.deliverytech.delivery_api.dto.response.ItemPedidoResponse;
+import com.deliverytech.delivery_api.dto.response.PaginaResponse;
+import com.deliverytech.delivery_api.dto.response.PedidoResponse;
+import com.deliverytech.delivery_api.dto.response.TransicaoStatusResponse;
+import com.deliverytech.delivery_api.dto.response.TransicaoStatusResponse.Resultado;
+import com.deliverytech.delivery_api.event.PedidoStatusAlteradoEvent;
+import com.deliverytech.delivery_api.mapper.ResponseMapper;
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.ItemPedido;
 import com.deliverytech.delivery_api.model.Pedido;
 import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
 import com.deliverytech.delivery_api.model.StatusPedido;
+import com.deliverytech.delivery_api.repository.ClienteRepository;
+import com.deliverytech.delivery_api.repository.ItemPedidoRepository;
+import com.deliverytech.delivery_api.repository.ItemPedidoResumo;
+import com.deliverytech.delivery_api.repository.PedidoExportacao;
 import com.deliverytech.delivery_api.repository.PedidoRepository;
+import com.deliverytech.delivery_api.repository.PedidoResumo;
+import com.deliverytech.delivery_api.repository.PedidoStatusAtual;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
 import com.deliverytech.delivery_api.service.PedidoService;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PedidoServiceImpl implements PedidoService {
 
+    // Cada conflito significa que o pedido avançou no ciclo, que tem no máximo 5 transições
+    private static final int MAX_TENTATIVAS_STATUS = 5;
+    private static final int LIMITE_LOTE_STATUS = 100;
+
     private final PedidoRepository pedidoRepository;
+    private final ItemPedidoRepository itemPedidoRepository;
+    private final ClienteRepository clienteRepository;
+    private final RestauranteRepository restauranteRepository;
+    private final ProdutoRepository produtoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ResponseMapper responseMapper;
 
+    /**
+     * Realiza um novo pedido.
+     * Todos os produtos do carrinho são carregados em uma única consulta (findAllById)
+     * e o pedido é gravado junto com seus itens em um único flush (cascade).
+     */
     @Override
+    @Transactional
     public Pedido realizar(PedidoRequest pedidoRequest) {
-        // lógica de criação de pedido
-        return new Pedido();
+        log.info("Iniciando pedido do cliente ID: {} no restaurante ID: {} com {} itens",
+                pedidoRequest.getClienteId(), pedidoRequest.getRestauranteId(), pedidoRequest.getItens().size());
+
+        Cliente cliente = clienteRepository.findById(pedidoRequest.getClienteId())
+            .orElseThrow(() -> new IllegalArgumentException("Cliente não encontrado: " + pedidoRequest.getClienteId()));
+        if (!Boolean.TRUE.equals(cliente.getAtivo())) {
+            throw new IllegalArgumentException("Cliente inativo: " + cliente.getId());
+        }
+
+        Restaurante restaurante = restauranteRepository.findById(pedidoRequest.getRestauranteId())
+            .orElseThrow(() -> new IllegalArgumentException("Restaurante não encontrado: " + pedidoRequest.getRestauranteId()));
+        if (!Boolean.TRUE.equals(restaurante.getAtivo())) {
+            throw new IllegalArgumentException("Restaurante inativo: " + restaurante.getId());
+        }
+
+        // Carregar todos os produtos do carrinho de uma vez só
+        Set<Long> produtoIds = pedidoRequest.getItens().stream()
+            .map(ItemPedidoRequest::getProdutoId)
+            .collect(Collectors.toSet());
+        Map<Long, Produto> produtos = produtoRepository.findAllById(produtoIds).stream()
+            .collect(Collectors.toMap(Produto::getId, Function.identity()));
+
+        Pedido pedido = new Pedido();
+        pedido.setCliente(cliente);
+        pedido.setRestaurante(restaurante);
+        pedido.setEnderecoEntrega(pedidoRequest.getEnderecoEntrega());
+        pedido.setObservacao(pedidoRequest.getObservacao());
+        pedido.setStatus(StatusPedido.REALIZADO);
+        pedido.setDataPedido(LocalDateTime.now());
+
+        for (ItemPedidoRequest itemRequest : pedidoRequest.getItens()) {
+            Produto produto = produtos.get(itemRequest.getProdutoId());
+            if (produto == null) {
+                throw new IllegalArgumentException("Produto não encontrado: " + itemRequest.getProdutoId());
+            }
+            if (!produto.getRestaurante().getId().equals(restaurante.getId())) {
+                throw new IllegalArgumentException("O produto não pertence ao restaurante informado: " + produto.getId());
+            }
+            if (!Boolean.TRUE.equals(produto.getAtivo())) {
+                throw new IllegalArgumentException("Produto indisponível: " + produto.getId());
+            }
+
+            ItemPedido item = new ItemPedido();
+            item.setProduto(produto);
+            item.setQuantidade(itemRequest.getQuantidade());
+            item.setObservacao(itemRequest.getObservacao());
+            item.inicializarPrecoUnitario();
+            item.calcularSubtotal();
+            pedido.adicionarItem(item);
+        }
+
+        Pedido pedidoSalvo = pedidoRepository.save(pedido);
+        log.info("Pedido realizado com sucesso - ID: {} - Total: {}", pedidoSalvo.getId(), pedidoSalvo.getTotal());
+
+        return pedidoSalvo;
     }
 
     @Override
@@ -31,19 +130,49 @@ public class PedidoServiceImpl implements PedidoService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Pedido> buscarPorIdComItens(Long id) {
-        // lógica de buscar com itens
-        return Optional.empty();
+        return pedidoRepository.findByIdWithItens(id);
     }
 
+    /**
+     * Histórico do cliente em duas fases: pagina os IDs pelo índice (cliente_id, id) e depois
+     * busca só esses pedidos com itens e produtos. Memória e tempo ficam limitados ao tamanho
+     * da página, qualquer que seja o total de pedidos do cliente.
+     */
     @Override
-    public List<Pedido> listarPorCliente(Long clienteId) {
-        return new ArrayList<>();
+    @Transactional(readOnly = true)
+    public PaginaResponse<Pedido> listarPorCliente(Long clienteId, Long apos, int limite) {
+        int tamanho = PaginaResponse.normalizarLimite(limite);
+        PaginaResponse<Long> ids = PaginaResponse.of(pedidoRepository.findIdsByClienteId(
+            clienteId, apos != null ? apos : Long.MAX_VALUE, Limit.of(tamanho + 1)), tamanho, Function.identity());
+        if (ids.getConteudo().isEmpty()) {
+            return new PaginaResponse<>(List.of(), null, false);
+        }
+        Map<Long, Pedido> pedidos = pedidoRepository.findAllWithItensByIdIn(ids.getConteudo()).stream()
+            .collect(Collectors.toMap(Pedido::getId, Function.identity()));
+        return ids.map(pedidos::get);
     }
 
     @Override
-    public List<Pedido> listarPorRestaurante(Long restauranteId) {
-        return new ArrayList<>();
+    @Transactional(readOnly = true)
+    public PaginaResponse<PedidoResponse> listarPorRestaurante(Long restauranteId, Long apos, int limite) {
+        int tamanho = PaginaResponse.normalizarLimite(limite);
+        List<PedidoResumo> resumos = pedidoRepository.findResumoByRestauranteId(
+            restauranteId, apos != null ? apos : Long.MAX_VALUE, Limit.of(tamanho + 1));
+        PaginaResponse<PedidoResumo> pagina = PaginaResponse.of(resumos, tamanho, PedidoResumo::id);
+        if (pagina.getConteudo().isEmpty()) {
+            return pagina.map(resumo -> responseMapper.toPedidoResponse(resumo, List.of()));
+        }
+
+        // Itens de toda a página em uma consulta, agrupados pelo pedido
+        Map<Long, List<ItemPedidoResponse>> itensPorPedido = itemPedidoRepository
+            .findResumoByPedidoIdIn(pagina.getConteudo().stream().map(PedidoResumo::id).toList())
+            .stream()
+            .collect(Collectors.groupingBy(ItemPedidoResumo::pedidoId,
+                Collectors.mapping(responseMapper::toItemPedidoResponse, Collectors.toList())));
+        return pagina.map(resumo ->
+            responseMapper.toPedidoResponse(resumo, itensPorPedido.getOrDefault(resumo.id(), List.of())));
     }
 
     @Override
@@ -52,31 +181,177 @@ public class PedidoServiceImpl implements PedidoService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Pedido> listarPorRestauranteEStatus(Long restauranteId, StatusPedido status) {
-        return new ArrayList<>();
+        return pedidoRepository.findByRestauranteIdAndStatus(restauranteId, status);
     }
 
+    /**
+     * Altera o status conforme a tabela de transições de {@link StatusPedido} e publica
+     * {@link PedidoStatusAlteradoEvent} na mesma transação.
+     * O UPDATE só é aplicado se o status ainda for o lido; se outra transação (restaurante,
+     * entregador) mudou o pedido nesse intervalo, a tentativa termina e uma nova transação
+     * relê o status, enquanto a transição continuar válida. Cada tentativa tem a própria
+     * transação para não reler o snapshot antigo (REPEATABLE READ no MySQL). Assim só um de
+     * dois comandos conflitantes vence, sem lock pessimista.
+     */
     @Override
     public Pedido atualizarStatus(Long id, StatusPedido novoStatus) {
-        return new Pedido();
+        LocalDateTime dataEntrega = novoStatus == StatusPedido.ENTREGUE ? LocalDateTime.now() : null;
+
+        for (int tentativa = 1; tentativa <= MAX_TENTATIVAS_STATUS; tentativa++) {
+            Pedido pedido = transactionTemplate.execute(tx -> tentarTransicao(id, novoStatus, dataEntrega));
+            if (pedido != null) {
+                return pedido;
+            }
+            log.debug("Status {} do pedido ID: {} conflitou com outra operação (tentativa {})", novoStatus, id, tentativa);
+        }
+        throw new IllegalArgumentException("Pedido alterado por outra operação, tente novamente: " + id);
+    }
+
+    // Devolve null se o status mudou entre a leitura e o UPDATE
+    private Pedido tentarTransicao(Long id, StatusPedido novoStatus, LocalDateTime dataEntrega) {
+        StatusPedido statusAnterior = pedidoRepository.findStatusById(id)
+            .orElseThrow(() -> new IllegalArgumentException("Pedido não encontrado: " + id));
+        validarTransicao(id, statusAnterior, novoStatus);
+        if (pedidoRepository.transicionarStatus(List.of(id), statusAnterior, novoStatus, dataEntrega) != 1) {
+            return null;
+        }
+
+        Pedido pedido = pedidoRepository.findByIdWithItens(id)
+            .orElseThrow(() -> new IllegalArgumentException("Pedido não encontrado: " + id));
+        log.info("Pedido ID: {} passou de {} para {}", id, statusAnterior, novoStatus);
+        eventPublisher.publishEvent(PedidoStatusAlteradoEvent.de(pedido, statusAnterior));
+        return pedido;
+    }
+
+    private static void validarTransicao(Long id, StatusPedido atual, StatusPedido novoStatus) {
+        if (atual.podeMudarPara(novoStatus)) {
+            return;
+        }
+        if (atual.isFinal()) {
+            throw new IllegalArgumentException("Pedido já finalizado com status " + atual + ": " + id);
+        }
+        if (novoStatus == StatusPedido.CANCELADO) {
+            throw new IllegalArgumentException("Pedido não pode ser cancelado no status " + atual + ": " + id);
+        }
+        throw new IllegalArgumentException("Pedido não pode passar de " + atual + " para " + novoStatus + ": " + id);
     }
 
     @Override
-    public Pedido confirmar(Long id) { return new Pedido(); }
+    public Pedido confirmar(Long id) { return atualizarStatus(id, StatusPedido.CONFIRMADO); }
     @Override
-    public Pedido iniciarPreparo(Long id) { return new Pedido(); }
+    public Pedido iniciarPreparo(Long id) { return atualizarStatus(id, StatusPedido.EM_PREPARO); }
     @Override
-    public Pedido finalizarPreparo(Long id) { return new Pedido(); }
+    public Pedido finalizarPreparo(Long id) { return atualizarStatus(id, StatusPedido.PRONTO); }
     @Override
-    public Pedido iniciarEntrega(Long id) { return new Pedido(); }
+    public Pedido iniciarEntrega(Long id) { return atualizarStatus(id, StatusPedido.EM_ENTREGA); }
     @Override
-    public Pedido finalizarEntrega(Long id) { return new Pedido(); }
+    public Pedido finalizarEntrega(Long id) { return atualizarStatus(id, StatusPedido.ENTREGUE); }
     @Override
-    public Pedido cancelar(Long id) { return new Pedido(); }
+    public Pedido cancelar(Long id) { return atualizarStatus(id, StatusPedido.CANCELADO); }
 
+    /**
+     * Aplica a mesma transição a vários pedidos em uma única transação: uma leitura dos status
+     * atuais e um UPDATE condicional por status de origem. Se outra transação alterou algum
+     * pedido no meio, o lote inteiro é desfeito e refeito a partir dos status novos, para que
+     * cada evento publicado corresponda a uma transição aplicada por este lote.
+     */
     @Override
+    public List<TransicaoStatusResponse> atualizarStatusEmLote(List<Long> pedidoIds, StatusPedido novoStatus) {
+        if (pedidoIds == null || pedidoIds.isEmpty() || pedidoIds.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Informe os IDs dos pedidos");
+        }
+        if (novoStatus == null) {
+            throw new IllegalArgumentException("Status é obrigatório");
+        }
+        Set<Long> ids = new LinkedHashSet<>(pedidoIds);
+        if (ids.size() > LIMITE_LOTE_STATUS) {
+            throw new IllegalArgumentException("No máximo " + LIMITE_LOTE_STATUS + " pedidos por lote");
+        }
+
+        for (int tentativa = 1; tentativa <= MAX_TENTATIVAS_STATUS; tentativa++) {
+            try {
+                return transactionTemplate.execute(tx -> aplicarLote(ids, novoStatus));
+            } catch (LoteDesatualizadoException e) {
+                log.debug("Lote de status {} conflitou com outra operação (tentativa {})", novoStatus, tentativa);
+            }
+        }
+        throw new IllegalArgumentException("Pedidos alterados por outra operação, tente novamente");
+    }
+
+    private List<TransicaoStatusResponse> aplicarLote(Set<Long> ids, StatusPedido novoStatus) {
+        Map<Long, StatusPedido> atuais = pedidoRepository.findStatusByIdIn(ids).stream()
+            .collect(Collectors.toMap(PedidoStatusAtual::id, PedidoStatusAtual::status));
+
+        Map<StatusPedido, List<Long>> porStatusAtual = new EnumMap<>(StatusPedido.class);
+        List<TransicaoStatusResponse> resultados = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            StatusPedido atual = atuais.get(id);
+            if (atual == null) {
+                resultados.add(new TransicaoStatusResponse(id, Resultado.NAO_ENCONTRADO, null));
+            } else if (atual.podeMudarPara(novoStatus)) {
+                porStatusAtual.computeIfAbsent(atual, status -> new ArrayList<>()).add(id);
+                resultados.add(new TransicaoStatusResponse(id, Resultado.APLICADO, novoStatus));
+            } else {
+                resultados.add(new TransicaoStatusResponse(id, Resultado.TRANSICAO_INVALIDA, atual));
+            }
+        }
+        if (porStatusAtual.isEmpty()) {
+            return resultados;
+        }
+
+        LocalDateTime dataEntrega = novoStatus == StatusPedido.ENTREGUE ? LocalDateTime.now() : null;
+        List<Long> aplicados = new ArrayList<>();
+        porStatusAtual.forEach((atual, grupo) -> {
+            if (pedidoRepository.transicionarStatus(grupo, atual, novoStatus, dataEntrega) != grupo.size()) {
+                throw new LoteDesatualizadoException();
+            }
+            aplicados.addAll(grupo);
+        });
+
+        // Na entrega o evento leva os itens vendidos (rankings): carrega o grafo de detalhe
+        List<Pedido> alterados = novoStatus == StatusPedido.ENTREGUE
+            ? pedidoRepository.findAllWithItensByIdIn(aplicados)
+            : pedidoRepository.findAllWithClienteERestauranteByIdIn(aplicados);
+        for (Pedido pedido : alterados) {
+            eventPublisher.publishEvent(PedidoStatusAlteradoEvent.de(pedido, atuais.get(pedido.getId())));
+        }
+        log.info("Lote de status {}: {} de {} pedidos alterados", novoStatus, aplicados.size(), ids.size());
+        return resultados;
+    }
+
+    // Desfaz a transação do lote (RuntimeException) para que ele seja refeito
+    private static class LoteDesatualizadoException extends RuntimeException {
+        LoteDesatualizadoException() {
+            super(null, null, false, false);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<Pedido> listarPorPeriodo(Long restauranteId, LocalDateTime inicio, LocalDateTime fim) {
-        return new ArrayList<>();
+        if (inicio.isAfter(fim)) {
+            throw new IllegalArgumentException("Data inicial não pode ser posterior à data final");
+        }
+        return pedidoRepository.findByRestauranteIdAndPeriodo(restauranteId, inicio, fim);
+    }
+
+    /**
+     * Entrega os pedidos do período um a um, direto do cursor JDBC, sem montar a lista em memória
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportarPorPeriodo(Long restauranteId, LocalDateTime inicio, LocalDateTime fim,
+                                   Consumer<PedidoExportacao> consumidor) {
+        if (inicio.isAfter(fim)) {
+            throw new IllegalArgumentException("Data inicial não pode ser posterior à data final");
+        }
+        log.info("Exportando pedidos do restaurante ID: {} de {} a {}", restauranteId, inicio, fim);
+
+        try (Stream<PedidoExportacao> pedidos = pedidoRepository.streamByRestauranteIdAndPeriodo(restauranteId, inicio, fim)) {
+            pedidos.forEach(consumidor);
+        }
     }
 
     @Override
@@ -1,14 +1,26 @@
 package com.deliverytech.delivery_api.service.impl;
 
+import com.deliverytech.delivery_api.busca.IndiceProdutos;
+import com.deliverytech.delivery_api.busca.IndiceProdutos.Campo;
+import com.deliverytech.delivery_api.config.CacheConfig;
 import com.deliverytech.delivery_api.dto.request.ProdutoRequest;
+import com.deliverytech.delivery_api.dto.response.PaginaResponse;
+import com.deliverytech.delivery_api.dto.response.ProdutoResponse;
+import com.deliverytech.delivery_api.event.ProdutoAlteradoEvent;
 import com.deliverytech.delivery_api.model.Produto;
 import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.ranking.RankingsPedidos;
 import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
 import com.deliverytech.delivery_api.service.ProdutoService;
 import com.deliverytech.delivery_api.service.RestauranteService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -21,8 +33,14 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class ProdutoServiceImpl implements ProdutoService {
 
+    static final int TAMANHO_MAIS_VENDIDOS = 10;
+
     private final ProdutoRepository produtoRepository;
     private final RestauranteService restauranteService;
+    private final RestauranteRepository restauranteRepository;
+    private final IndiceProdutos indiceProdutos;
+    private final RankingsPedidos rankingsPedidos;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Cadastra um novo produto
@@ -31,9 +49,10 @@ public class ProdutoServiceImpl implements ProdutoService {
     public Produto cadastrar(ProdutoRequest produtoRequest) {
         log.info("Iniciando cadastro de produto: {}", produtoRequest.getNome());
         
-        // Buscar o restaurante pelo ID
-        Restaurante restaurante = restauranteService.buscarPorId(produtoRequest.getRestauranteId())
-            .orElseThrow(() -> new IllegalArgumentException("Restaurante não encontrado: " + produtoRequest.getRestauranteId()));
+        // Buscar o restaurante gerenciado nesta transação (o cache do serviço guarda só DTOs)
+        Long restauranteId = produtoRequest.getRestauranteId();
+        Restaurante restaurante = restauranteRepository.findById(restauranteId)
+            .orElseThrow(() -> new IllegalArgumentException("Restaurante não encontrado: " + restauranteId));
 
         // Converter ProdutoRequest para Produto
         Produto produto = new Produto();
@@ -50,6 +69,7 @@ public class ProdutoServiceImpl implements ProdutoService {
         
         Produto produtoSalvo = produtoRepository.save(produto);
         log.info("Produto cadastrado com sucesso - ID: {}", produtoSalvo.getId());
+        eventPublisher.publishEvent(ProdutoAlteradoEvent.salvo(produtoSalvo, false));
         
         return produtoSalvo;
     }
@@ -72,7 +92,7 @@ public class ProdutoServiceImpl implements ProdutoService {
     public List<Produto> listarPorRestaurante(Long restauranteId) {
         log.info("Listando produtos do restaurante ID: {}", restauranteId);
         // Verificar se restaurante existe
-        if (!restauranteService.buscarPorId(restauranteId).isPresent()) {
+        if (!restauranteService.existePorId(restauranteId)) {
             throw new IllegalArgumentException("Restaurante não encontrado: " + restauranteId);
         }
         return produtoRepository.findByRestauranteId(restauranteId);
@@ -83,13 +103,14 @@ public class ProdutoServiceImpl implements ProdutoService {
      */
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CARDAPIO_DISPONIVEL, key = "#restauranteId")
     public List<Produto> listarDisponiveisPorRestaurante(Long restauranteId) {
         log.info("Listando produtos disponíveis do restaurante ID: {}", restauranteId);
         // Verificar se restaurante existe
-        if (!restauranteService.buscarPorId(restauranteId).isPresent()) {
+        if (!restauranteService.existePorId(restauranteId)) {
             throw new IllegalArgumentException("Restaurante não encontrado: " + restauranteId);
         }
-        return produtoRepository.findByRestauranteIdAndDisponivelTrue(restauranteId);
+        return produtoRepository.findByRestauranteIdAndAtivoTrue(restauranteId);
     }
 
     
@@ -107,15 +128,18 @@ public class ProdutoServiceImpl implements ProdutoService {
             .orElseThrow(() -> new IllegalArgumentException("Produto não encontrado: " + id));
         
         // Verificar se o restaurante existe
-        Restaurante restaurante = restauranteService.buscarPorId(produtoRequest.getRestauranteId())
-            .orElseThrow(() -> new IllegalArgumentException("Restaurante não encontrado: " + produtoRequest.getRestauranteId()));
+        Long restauranteId = produtoRequest.getRestauranteId();
+        if (!restauranteService.existePorId(restauranteId)) {
+            throw new IllegalArgumentException("Restaurante não encontrado: " + restauranteId);
+        }
         
         // Verificar se o produto pertence ao restaurante informado
-        if (!produto.getRestaurante().getId().equals(restaurante.getId())) {
+        if (!produto.getRestaurante().getId().equals(restauranteId)) {
             throw new IllegalArgumentException("O produto não pertence ao restaurante informado");
         }
 
         // Atualizar dados do produto
+        boolean disponivelAntes = produto.getAtivo();
         produto.setNome(produtoRequest.getNome());
         produto.setDescricao(produtoRequest.getDescricao());
         produto.setPreco(produtoRequest.getPreco());
@@ -131,6 +155,7 @@ public class ProdutoServiceImpl implements ProdutoService {
         
         Produto produtoSalvo = produtoRepository.save(produto);
         log.info("Produto atualizado com sucesso - ID: {}", produtoSalvo.getId());
+        eventPublisher.publishEvent(ProdutoAlteradoEvent.salvo(produtoSalvo, disponivelAntes));
         
         return produtoSalvo;
     }
@@ -148,6 +173,7 @@ public class ProdutoServiceImpl implements ProdutoService {
         try {
             produtoRepository.delete(produto);
             log.info("Produto excluído com sucesso - ID: {}", id);
+            eventPublisher.publishEvent(ProdutoAlteradoEvent.excluido(produto));
         } catch (Exception e) {
             log.error("Erro ao excluir produto - ID: {}", id, e);
             throw new IllegalStateException("Não foi possível excluir o produto. Ele pode estar associado a pedidos.");
@@ -164,8 +190,10 @@ public class ProdutoServiceImpl implements ProdutoService {
         Produto produto = buscarPorId(id)
             .orElseThrow(() -> new IllegalArgumentException("Produto não encontrado: " + id));
         
-        produto.setAtivo(!produto.getAtivo());
+        boolean disponivelAntes = produto.getAtivo();
+        produto.setAtivo(!disponivelAntes);
         Produto produtoSalvo = produtoRepository.save(produto);
+        eventPublisher.publishEvent(ProdutoAlteradoEvent.salvo(produtoSalvo, disponivelAntes));
         
         String status = produtoSalvo.getAtivo() ? "disponibilizado" : "indisponibilizado";
         log.info("Produto {} com sucesso - ID: {}", status, id);
@@ -174,35 +202,42 @@ public class ProdutoServiceImpl implements ProdutoService {
     }
 
     /**
-     * Busca produtos por nome e restaurante
+     * Busca produtos por nome e restaurante (índice em memória, sem acesso ao banco)
      */
     @Override
-    @Transactional(readOnly = true)
-    public List<Produto> buscarPorNome(Long restauranteId, String nome) {
-        log.info("Buscando produtos por nome: {} no restaurante ID: {}", nome, restauranteId);
-        
-        // Verificar se restaurante existe
-        if (!restauranteService.buscarPorId(restauranteId).isPresent()) {
-            throw new IllegalArgumentException("Restaurante não encontrado: " + restauranteId);
-        }
-        
-        return produtoRepository.findByRestauranteIdAndNomeContainingIgnoreCase(restauranteId, nome);
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<ProdutoResponse> buscarPorNome(Long restauranteId, String nome) {
+        log.debug("Buscando produtos por nome: {} no restaurante ID: {}", nome, restauranteId);
+        return buscarNoIndice(restauranteId, nome, Campo.NOME);
     }
 
     /**
-     * Busca produtos por categoria e restaurante
+     * Busca produtos por categoria e restaurante (índice em memória, sem acesso ao banco)
      */
     @Override
-    @Transactional(readOnly = true)
-    public List<Produto> buscarPorCategoria(Long restauranteId, String categoria) {
-        log.info("Buscando produtos por categoria: {} no restaurante ID: {}", categoria, restauranteId);
-        
-        // Verificar se restaurante existe
-        if (!restauranteService.buscarPorId(restauranteId).isPresent()) {
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<ProdutoResponse> buscarPorCategoria(Long restauranteId, String categoria) {
+        log.debug("Buscando produtos por categoria: {} no restaurante ID: {}", categoria, restauranteId);
+        return buscarNoIndice(restauranteId, categoria, Campo.CATEGORIA);
+    }
+
+    /**
+     * Busca do cardápio em nome, categoria e descrição (índice em memória, sem acesso ao banco)
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<ProdutoResponse> buscar(Long restauranteId, String termo) {
+        log.debug("Buscando produtos por termo: {} no restaurante ID: {}", termo, restauranteId);
+        return buscarNoIndice(restauranteId, termo, Campo.TODOS);
+    }
+
+    // SUPPORTS: sem transação, a busca não reserva conexão do pool.
+    // O banco só é consultado para distinguir restaurante inexistente de restaurante sem produtos
+    private List<ProdutoResponse> buscarNoIndice(Long restauranteId, String termo, Campo campo) {
+        if (!indiceProdutos.contemRestaurante(restauranteId) && !restauranteService.existePorId(restauranteId)) {
             throw new IllegalArgumentException("Restaurante não encontrado: " + restauranteId);
         }
-        
-        return produtoRepository.findByRestauranteIdAndCategoriaContainingIgnoreCase(restauranteId, categoria);
+        return indiceProdutos.buscar(restauranteId, termo, campo);
     }
 
     /**
@@ -215,7 +250,7 @@ public class ProdutoServiceImpl implements ProdutoService {
                 precoMin, precoMax, restauranteId);
         
         // Verificar se restaurante existe
-        if (!restauranteService.buscarPorId(restauranteId).isPresent()) {
+        if (!restauranteService.existePorId(restauranteId)) {
             throw new IllegalArgumentException("Restaurante não encontrado: " + restauranteId);
         }
         
@@ -235,19 +270,23 @@ public class ProdutoServiceImpl implements ProdutoService {
     }
 
     /**
-     * Produtos mais vendidos por restaurante
+     * Produtos do restaurante mais vendidos em pedidos entregues (ranking e índice em memória, sem acesso ao banco)
      */
     @Override
-    @Transactional(readOnly = true)
-    public List<Produto> produtosMaisVendidos(Long restauranteId) {
-        log.info("Buscando produtos mais vendidos do restaurante ID: {}", restauranteId);
-        
-        // Verificar se restaurante existe
-        if (!restauranteService.buscarPorId(restauranteId).isPresent()) {
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<ProdutoResponse> produtosMaisVendidos(Long restauranteId) {
+        log.debug("Buscando produtos mais vendidos do restaurante ID: {}", restauranteId);
+        // Só produtos ainda no cardápio (índice de busca)
+        List<ProdutoResponse> produtos = rankingsPedidos
+            .topProdutos(restauranteId, TAMANHO_MAIS_VENDIDOS, id -> indiceProdutos.produto(restauranteId, id) != null)
+            .stream()
+            .map(posicao -> indiceProdutos.produto(restauranteId, posicao.id()))
+            .toList();
+        if (produtos.isEmpty() && !indiceProdutos.contemRestaurante(restauranteId)
+                && !restauranteService.existePorId(restauranteId)) {
             throw new IllegalArgumentException("Restaurante não encontrado: " + restauranteId);
         }
-        
-        return produtoRepository.findMostSoldProductsByRestaurante(restauranteId);
+        return produtos;
     }
 
 
@@ -290,9 +329,12 @@ public class ProdutoServiceImpl implements ProdutoService {
     
     @Override
     @Transactional(readOnly = true)
-    public List<Produto> listarTodos() {
-        log.info("Listando todos os produtos");
-        return produtoRepository.findAll();
+    public PaginaResponse<Produto> listarTodos(Long apos, int limite) {
+        log.info("Listando produtos após ID: {} (limite {})", apos, limite);
+        int tamanho = PaginaResponse.normalizarLimite(limite);
+        List<Produto> produtos = produtoRepository.findByIdGreaterThanOrderByIdAsc(
+            apos != null ? apos : 0L, Limit.of(tamanho + 1));
+        return PaginaResponse.of(produtos, tamanho, Produto::getId);
     }
 
     
@@ -1,68 +1,184 @@
 package com.deliverytech.delivery_api.service.impl;
 
+import com.deliverytech.delivery_api.repository.ItemPedidoRepository;
 import com.deliverytech.delivery_api.repository.PedidoRepository;
+import com.deliverytech.delivery_api.repository.RelatorioPedidosPorDia;
+import com.deliverytech.delivery_api.repository.ResumoVendas;
+import com.deliverytech.delivery_api.repository.VendaDiariaRepository;
 import com.deliverytech.delivery_api.service.RelatorioService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Relatórios gerenciais calculados no banco (GROUP BY) sobre pedidos entregues.
+ * Totais por restaurante e por período leem a tabela consolidada VendaDiaria;
+ * produtos e clientes agregam os pedidos.
+ * Sem datas informadas, considera os últimos {@value #DIAS_PADRAO} dias.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class RelatorioServiceImpl implements RelatorioService {
 
+    static final int DIAS_PADRAO = 30;
+    private static final int LIMITE_MAXIMO = 100;
+
     private final PedidoRepository pedidoRepository;
+    private final ItemPedidoRepository itemPedidoRepository;
+    private final VendaDiariaRepository vendaDiariaRepository;
 
     @Override
     public List<Map<String, Object>> relatorioVendasPorRestaurante(LocalDate dataInicio, LocalDate dataFim) {
-        // Implementação simplificada - você pode usar queries nativas ou JPQL
-        return List.of(
-            Map.of("restaurante", "Restaurante A", "totalVendas", new BigDecimal("1500.00"), "quantidadePedidos", 25),
-            Map.of("restaurante", "Restaurante B", "totalVendas", new BigDecimal("1200.00"), "quantidadePedidos", 18)
-        );
+        Periodo periodo = Periodo.de(dataInicio, dataFim);
+        List<Map<String, Object>> relatorio = new ArrayList<>();
+        vendaDiariaRepository.relatorioVendasPorRestaurante(periodo.dataInicio(), periodo.dataFim()).forEach(linha -> {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("restaurante", linha.getNomeRestaurante());
+            item.put("totalVendas", linha.getTotalVendas());
+            item.put("quantidadePedidos", linha.getQuantidadePedidos());
+            relatorio.add(item);
+        });
+        return relatorio;
     }
 
     @Override
     public List<Map<String, Object>> relatorioProdutosMaisVendidos(int limite, LocalDate dataInicio, LocalDate dataFim) {
-        return List.of(
-            Map.of("produto", "Pizza Margherita", "quantidadeVendida", 50, "totalArrecadado", new BigDecimal("1000.00")),
-            Map.of("produto", "Hambúrguer", "quantidadeVendida", 35, "totalArrecadado", new BigDecimal("700.00"))
-        );
+        Periodo periodo = Periodo.de(dataInicio, dataFim);
+        List<Map<String, Object>> relatorio = new ArrayList<>();
+        itemPedidoRepository.relatorioProdutosMaisVendidos(periodo.inicio(), periodo.fim(), limite(limite))
+            .forEach(linha -> {
+                Map<String, Object> item = new LinkedHashMap<>();
+                item.put("produto", linha.getNomeProduto());
+                item.put("quantidadeVendida", linha.getQuantidadeVendida());
+                item.put("totalArrecadado", linha.getTotalArrecadado());
+                relatorio.add(item);
+            });
+        return relatorio;
     }
 
     @Override
     public List<Map<String, Object>> relatorioClientesAtivos(int limite, LocalDate dataInicio, LocalDate dataFim) {
-        return List.of(
-            Map.of("cliente", "João Silva", "quantidadePedidos", 12, "totalGasto", new BigDecimal("600.00")),
-            Map.of("cliente", "Maria Santos", "quantidadePedidos", 8, "totalGasto", new BigDecimal("450.00"))
-        );
+        Periodo periodo = Periodo.de(dataInicio, dataFim);
+        List<Map<String, Object>> relatorio = new ArrayList<>();
+        pedidoRepository.relatorioClientesAtivos(periodo.inicio(), periodo.fim(), limite(limite))
+            .forEach(linha -> {
+                Map<String, Object> item = new LinkedHashMap<>();
+                item.put("cliente", linha.getNomeCliente());
+                item.put("quantidadePedidos", linha.getQuantidadePedidos());
+                item.put("totalGasto", linha.getTotalGasto());
+                relatorio.add(item);
+            });
+        return relatorio;
     }
 
     @Override
     public Map<String, Object> relatorioPedidosPorPeriodo(LocalDate dataInicio, LocalDate dataFim, String agrupamento) {
-        return Map.of(
-            "periodo", dataInicio + " até " + dataFim,
-            "totalPedidos", 150,
-            "valorTotal", new BigDecimal("7500.00"),
-            "agrupamento", agrupamento != null ? agrupamento : "total"
-        );
+        Periodo periodo = Periodo.de(dataInicio, dataFim);
+        String tipo = agrupamento != null ? agrupamento.toLowerCase() : "total";
+        if (!List.of("dia", "mes", "ano", "total").contains(tipo)) {
+            throw new IllegalArgumentException("Agrupamento inválido: " + agrupamento);
+        }
+
+        // Uma linha por dia vinda de VendaDiaria (no máximo 366 por ano); mês e ano são somados a partir dos dias
+        Map<String, long[]> quantidades = new LinkedHashMap<>();
+        Map<String, BigDecimal> valores = new LinkedHashMap<>();
+        long totalPedidos = 0;
+        BigDecimal valorTotal = BigDecimal.ZERO;
+        for (RelatorioPedidosPorDia dia : vendaDiariaRepository.relatorioPedidosPorDia(periodo.dataInicio(), periodo.dataFim())) {
+            String chave = chavePeriodo(dia, tipo);
+            quantidades.computeIfAbsent(chave, k -> new long[1])[0] += dia.getQuantidadePedidos();
+            valores.merge(chave, dia.getTotalVendas(), BigDecimal::add);
+            totalPedidos += dia.getQuantidadePedidos();
+            valorTotal = valorTotal.add(dia.getTotalVendas());
+        }
+
+        Map<String, Object> relatorio = new LinkedHashMap<>();
+        relatorio.put("periodo", periodo.dataInicio() + " até " + periodo.dataFim());
+        relatorio.put("totalPedidos", totalPedidos);
+        relatorio.put("valorTotal", valorTotal);
+        relatorio.put("agrupamento", tipo);
+        if (!"total".equals(tipo)) {
+            List<Map<String, Object>> serie = new ArrayList<>();
+            quantidades.forEach((chave, quantidade) -> {
+                Map<String, Object> ponto = new LinkedHashMap<>();
+                ponto.put("periodo", chave);
+                ponto.put("totalPedidos", quantidade[0]);
+                ponto.put("valorTotal", valores.get(chave));
+                serie.add(ponto);
+            });
+            relatorio.put("serie", serie);
+        }
+        return relatorio;
     }
 
     @Override
     public Map<String, Object> resumoVendas(LocalDate dataInicio, LocalDate dataFim) {
-        return Map.of(
-            "totalPedidos", 150,
-            "valorTotalVendas", new BigDecimal("7500.00"),
-            "ticketMedio", new BigDecimal("50.00"),
-            "restaurantesAtivos", 5,
-            "clientesAtivos", 45
-        );
+        Periodo periodo = Periodo.de(dataInicio, dataFim);
+        ResumoVendas resumo = vendaDiariaRepository.resumoVendas(periodo.dataInicio(), periodo.dataFim());
+
+        long totalPedidos = resumo.getTotalPedidos();
+        BigDecimal valorTotal = resumo.getValorTotalVendas();
+        BigDecimal ticketMedio = totalPedidos == 0
+            ? BigDecimal.ZERO
+            : valorTotal.divide(BigDecimal.valueOf(totalPedidos), 2, RoundingMode.HALF_UP);
+
+        Map<String, Object> relatorio = new LinkedHashMap<>();
+        relatorio.put("totalPedidos", totalPedidos);
+        relatorio.put("valorTotalVendas", valorTotal);
+        relatorio.put("ticketMedio", ticketMedio);
+        relatorio.put("restaurantesAtivos", resumo.getRestaurantesAtivos());
+        // Clientes distintos não são somáveis entre dias, por isso vêm dos pedidos
+        relatorio.put("clientesAtivos", pedidoRepository.contarClientesAtivos(periodo.inicio(), periodo.fim()));
+        return relatorio;
+    }
+
+    private static Limit limite(int limite) {
+        return Limit.of(Math.max(1, Math.min(limite, LIMITE_MAXIMO)));
+    }
+
+    private static String chavePeriodo(RelatorioPedidosPorDia dia, String agrupamento) {
+        return switch (agrupamento) {
+            case "dia" -> LocalDate.of(dia.getAno(), dia.getMes(), dia.getDia()).toString();
+            case "mes" -> String.format("%04d-%02d", dia.getAno(), dia.getMes());
+            case "ano" -> String.valueOf(dia.getAno());
+            default -> "total";
+        };
+    }
+
+    /**
+     * Intervalo de datas inclusivo convertido para [inicio, fim) em data/hora,
+     * para que o filtro aproveite os índices em data_pedido.
+     */
+    record Periodo(LocalDate dataInicio, LocalDate dataFim) {
+
+        static Periodo de(LocalDate dataInicio, LocalDate dataFim) {
+            LocalDate fim = dataFim != null ? dataFim : LocalDate.now();
+            LocalDate inicio = dataInicio != null ? dataInicio : fim.minusDays(DIAS_PADRAO);
+            if (inicio.isAfter(fim)) {
+                throw new IllegalArgumentException("Data inicial posterior à data final: " + inicio + " > " + fim);
+            }
+            return new Periodo(inicio, fim);
+        }
+
+        LocalDateTime inicio() {
+            return dataInicio.atStartOfDay();
+        }
+
+        LocalDateTime fim() {
+            return dataFim.plusDays(1).atStartOfDay();
+        }
     }
 }
@@ -1,16 +1,39 @@
 package com.deliverytech.delivery_api.service.impl;
 
+import com.deliverytech.delivery_api.busca.IndiceDisponibilidade;
+import com.deliverytech.delivery_api.busca.IndiceHorarios;
+import com.deliverytech.delivery_api.busca.IndiceRestaurantesProximos;
+import com.deliverytech.delivery_api.config.CacheConfig;
+import com.deliverytech.delivery_api.dto.request.ExpedienteRequest;
 import com.deliverytech.delivery_api.dto.request.RestauranteRequest;
+import com.deliverytech.delivery_api.dto.response.PaginaResponse;
+import com.deliverytech.delivery_api.dto.response.RankingPedidosResponse;
+import com.deliverytech.delivery_api.dto.response.RestauranteProximoResponse;
+import com.deliverytech.delivery_api.dto.response.RestauranteResponse;
+import com.deliverytech.delivery_api.event.RestauranteAlteradoEvent;
+import com.deliverytech.delivery_api.mapper.ResponseMapper;
+import com.deliverytech.delivery_api.model.Expediente;
 import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.ranking.RankingTopK.Posicao;
+import com.deliverytech.delivery_api.ranking.RankingsPedidos;
 import com.deliverytech.delivery_api.repository.RestauranteRepository;
 import com.deliverytech.delivery_api.service.RestauranteService;
+import com.deliverytech.delivery_api.validation.Validacoes;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -18,7 +41,20 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class RestauranteServiceImpl implements RestauranteService {
 
+    // Busca por proximidade: até LIMITE_PROXIMOS_MAXIMO restaurantes num raio de até RAIO_MAXIMO_KM
+    static final int LIMITE_PROXIMOS_PADRAO = 10;
+    static final int LIMITE_PROXIMOS_MAXIMO = 50;
+    static final double RAIO_PADRAO_KM = 10.0;
+    static final double RAIO_MAXIMO_KM = 50.0;
+    static final int TAMANHO_RANKING = 10;
+
     private final RestauranteRepository restauranteRepository;
+    private final IndiceRestaurantesProximos indiceRestaurantesProximos;
+    private final IndiceHorarios indiceHorarios;
+    private final IndiceDisponibilidade indiceDisponibilidade;
+    private final RankingsPedidos rankingsPedidos;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ResponseMapper responseMapper;
 
     /**
      * Cadastra um novo restaurante
@@ -36,6 +72,9 @@ public class RestauranteServiceImpl implements RestauranteService {
         restaurante.setEspecialidade(restauranteRequest.getEspecialidade());
         restaurante.setDescricao(restauranteRequest.getDescricao());
         restaurante.setHorarioFuncionamento(restauranteRequest.getHorarioFuncionamento());
+        restaurante.setLatitude(restauranteRequest.getLatitude());
+        restaurante.setLongitude(restauranteRequest.getLongitude());
+        restaurante.setExpedientes(paraExpedientes(restauranteRequest.getExpedientes()));
         
         // Validar CNPJ único
         if (restauranteRepository.existsByCnpj(restaurante.getCnpj())) {
@@ -49,6 +88,7 @@ public class RestauranteServiceImpl implements RestauranteService {
         restaurante.setAtivo(true);
         
         Restaurante restauranteSalvo = restauranteRepository.save(restaurante);
+        eventPublisher.publishEvent(RestauranteAlteradoEvent.de(restauranteSalvo));
         log.info("Restaurante cadastrado com sucesso - ID: {}", restauranteSalvo.getId());
         
         return restauranteSalvo;
@@ -59,9 +99,19 @@ public class RestauranteServiceImpl implements RestauranteService {
      */
     @Override
     @Transactional(readOnly = true)
-    public Optional<Restaurante> buscarPorId(Long id) {
+    @Cacheable(cacheNames = CacheConfig.RESTAURANTES, key = "#id", unless = "#result == null")
+    public Optional<RestauranteResponse> buscarPorId(Long id) {
         log.info("Buscando restaurante por ID: {}", id);
-        return restauranteRepository.findById(id);
+        return restauranteRepository.findById(id).map(responseMapper::toRestauranteResponse);
+    }
+
+    /**
+     * Verifica se o restaurante existe sem carregar a entidade
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public boolean existePorId(Long id) {
+        return restauranteRepository.existsById(id);
     }
 
     /**
@@ -69,19 +119,29 @@ public class RestauranteServiceImpl implements RestauranteService {
      */
     @Override
     @Transactional(readOnly = true)
-    public Optional<Restaurante> buscarPorCnpj(String cnpj) {
+    @Cacheable(cacheNames = CacheConfig.RESTAURANTES_POR_CNPJ, key = "#cnpj", unless = "#result == null")
+    public Optional<RestauranteResponse> buscarPorCnpj(String cnpj) {
         log.info("Buscando restaurante por CNPJ: {}", cnpj);
-        return restauranteRepository.findByCnpj(cnpj);
+        return restauranteRepository.findByCnpj(cnpj).map(responseMapper::toRestauranteResponse);
     }
 
     /**
-     * Lista todos os restaurantes ativos
+     * Lista restaurantes ativos paginados por cursor; com abertosAgora, só os abertos neste momento
+     * (IDs da página escolhidos no índice de horários, sem SQL para os fechados)
      */
     @Override
     @Transactional(readOnly = true)
-    public List<Restaurante> listarAtivos() {
-        log.info("Listando todos os restaurantes ativos");
-        return restauranteRepository.findByAtivoTrue();
+    public PaginaResponse<RestauranteResponse> listarAtivos(Long apos, int limite, boolean abertosAgora) {
+        log.info("Listando restaurantes ativos após ID: {} (limite {}, abertos agora: {})", apos, limite, abertosAgora);
+        int tamanho = PaginaResponse.normalizarLimite(limite);
+        if (abertosAgora) {
+            List<Long> ids = indiceHorarios.abertos(apos, tamanho + 1, indiceHorarios.agora());
+            List<RestauranteResponse> restaurantes = ids.isEmpty() ? List.of() : restauranteRepository.findResumoByIdIn(ids);
+            return PaginaResponse.of(restaurantes, tamanho, RestauranteResponse::getId);
+        }
+        List<RestauranteResponse> restaurantes = restauranteRepository.findResumoAtivos(
+            apos != null ? apos : 0L, Limit.of(tamanho + 1));
+        return PaginaResponse.of(restaurantes, tamanho, RestauranteResponse::getId);
     }
 
     /**
@@ -111,8 +171,7 @@ public class RestauranteServiceImpl implements RestauranteService {
     public Restaurante atualizar(Long id, RestauranteRequest restauranteRequest) {
         log.info("Atualizando restaurante ID: {}", id);
         
-        Restaurante restaurante = buscarPorId(id)
-            .orElseThrow(() -> new IllegalArgumentException("Restaurante não encontrado: " + id));
+        Restaurante restaurante = carregar(id);
 
         // Verificar se CNPJ não está sendo usado por outro restaurante
         if (!restaurante.getCnpj().equals(restauranteRequest.getCnpj()) && 
@@ -129,11 +188,14 @@ public class RestauranteServiceImpl implements RestauranteService {
         restauranteParaValidacao.setEspecialidade(restauranteRequest.getEspecialidade());
         restauranteParaValidacao.setDescricao(restauranteRequest.getDescricao());
         restauranteParaValidacao.setHorarioFuncionamento(restauranteRequest.getHorarioFuncionamento());
+        restauranteParaValidacao.setLatitude(restauranteRequest.getLatitude());
+        restauranteParaValidacao.setLongitude(restauranteRequest.getLongitude());
 
         // Validar dados atualizados
         validarDadosRestaurante(restauranteParaValidacao);
 
         // Atualizar campos
+        String cnpjAnterior = restaurante.getCnpj();
         restaurante.setNome(restauranteRequest.getNome());
         restaurante.setCnpj(restauranteRequest.getCnpj());
         restaurante.setEndereco(restauranteRequest.getEndereco());
@@ -141,8 +203,13 @@ public class RestauranteServiceImpl implements RestauranteService {
         restaurante.setEspecialidade(restauranteRequest.getEspecialidade());
         restaurante.setDescricao(restauranteRequest.getDescricao());
         restaurante.setHorarioFuncionamento(restauranteRequest.getHorarioFuncionamento());
+        restaurante.setLatitude(restauranteRequest.getLatitude());
+        restaurante.setLongitude(restauranteRequest.getLongitude());
+        restaurante.getExpedientes().clear();
+        restaurante.getExpedientes().addAll(paraExpedientes(restauranteRequest.getExpedientes()));
         
         Restaurante restauranteSalvo = restauranteRepository.save(restaurante);
+        eventPublisher.publishEvent(RestauranteAlteradoEvent.de(restauranteSalvo, cnpjAnterior));
         log.info("Restaurante atualizado com sucesso - ID: {}", restauranteSalvo.getId());
         
         return restauranteSalvo;
@@ -155,11 +222,11 @@ public class RestauranteServiceImpl implements RestauranteService {
     public void inativar(Long id) {
         log.info("Inativando restaurante ID: {}", id);
         
-        Restaurante restaurante = buscarPorId(id)
-            .orElseThrow(() -> new IllegalArgumentException("Restaurante não encontrado: " + id));
+        Restaurante restaurante = carregar(id);
         
         restaurante.inativar();
         restauranteRepository.save(restaurante);
+        eventPublisher.publishEvent(RestauranteAlteradoEvent.de(restaurante));
         
         log.info("Restaurante inativado com sucesso - ID: {}", id);
     }
@@ -171,11 +238,11 @@ public class RestauranteServiceImpl implements RestauranteService {
     public Restaurante ativarDesativarRestaurante(Long id) {
         log.info("Alterando status do restaurante ID: {}", id);
         
-        Restaurante restaurante = buscarPorId(id)
-            .orElseThrow(() -> new IllegalArgumentException("Restaurante não encontrado: " + id));
+        Restaurante restaurante = carregar(id);
         
         restaurante.setAtivo(!restaurante.getAtivo());
         Restaurante restauranteSalvo = restauranteRepository.save(restaurante);
+        eventPublisher.publishEvent(RestauranteAlteradoEvent.de(restauranteSalvo));
         
         String statusAtual = restauranteSalvo.getAtivo() ? "ativado" : "desativado";
         log.info("Restaurante {} com sucesso - ID: {}", statusAtual, id);
@@ -188,19 +255,66 @@ public class RestauranteServiceImpl implements RestauranteService {
      */
     @Override
     @Transactional(readOnly = true)
-    public List<Restaurante> buscarComProdutosDisponiveis() {
-        log.info("Buscando restaurantes com produtos disponíveis");
-        return restauranteRepository.findRestaurantesWithProdutosDisponiveis();
+    public List<Restaurante> buscarComProdutosDisponiveis(boolean abertosAgora) {
+        log.info("Buscando restaurantes com produtos disponíveis (abertos agora: {})", abertosAgora);
+        // IDs do conjunto materializado; "aberto agora" é um teste de bit por restaurante
+        List<Long> ids = new ArrayList<>(indiceDisponibilidade.restaurantes());
+        if (abertosAgora) {
+            LocalDateTime agora = indiceHorarios.agora();
+            ids.removeIf(id -> !indiceHorarios.estaAberto(id, agora));
+        }
+        return ids.isEmpty() ? List.of() : restauranteRepository.findAtivosByIdIn(ids);
     }
 
     /**
-     * Ranking de restaurantes por número de pedidos
+     * Restaurantes ativos e abertos agora mais próximos do ponto, pelos índices em memória (sem banco)
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<RestauranteProximoResponse> buscarProximos(Double latitude, Double longitude, int limite, Double raioKm) {
+        if (latitude == null || latitude < -90 || latitude > 90) {
+            throw new IllegalArgumentException("Latitude deve estar entre -90 e 90");
+        }
+        if (longitude == null || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Longitude deve estar entre -180 e 180");
+        }
+        double raio = raioKm != null ? Math.min(raioKm, RAIO_MAXIMO_KM) : RAIO_PADRAO_KM;
+        if (raio <= 0) {
+            throw new IllegalArgumentException("Raio deve ser maior que zero");
+        }
+        int tamanho = limite < 1 ? LIMITE_PROXIMOS_PADRAO : Math.min(limite, LIMITE_PROXIMOS_MAXIMO);
+        LocalDateTime agora = indiceHorarios.agora();
+        return indiceRestaurantesProximos.buscarProximos(latitude, longitude, tamanho, raio,
+            id -> indiceHorarios.estaAberto(id, agora));
+    }
+
+    /**
+     * Ranking dos restaurantes ativos por número de pedidos entregues, pelo ranking em memória.
+     * O banco só é consultado pelos nomes dos restaurantes do ranking (chave primária).
      */
     @Override
     @Transactional(readOnly = true)
-    public List<Object[]> rankingPorPedidos() {
+    public List<RankingPedidosResponse> rankingPorPedidos() {
         log.info("Gerando ranking de restaurantes por pedidos");
-        return restauranteRepository.rankingRestaurantesPorPedidos();
+        List<Posicao> ranking = rankingsPedidos.topRestaurantes(TAMANHO_RANKING, indiceHorarios::estaAtivo);
+        if (ranking.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, String> nomes = restauranteRepository.findResumoByIdIn(ranking.stream().map(Posicao::id).toList())
+            .stream().collect(Collectors.toMap(RestauranteResponse::getId, RestauranteResponse::getNome));
+        return ranking.stream()
+            .filter(posicao -> nomes.containsKey(posicao.id()))
+            .map(posicao -> new RankingPedidosResponse(posicao.id(), nomes.get(posicao.id()), posicao.total()))
+            .toList();
+    }
+
+    private static List<Expediente> paraExpedientes(List<ExpedienteRequest> expedientes) {
+        if (expedientes == null) {
+            return new ArrayList<>();
+        }
+        return expedientes.stream()
+            .map(expediente -> new Expediente(expediente.getDiaSemana(), expediente.getAbertura(), expediente.getFechamento()))
+            .collect(Collectors.toCollection(ArrayList::new));
     }
 
     /**
@@ -223,10 +337,14 @@ public class RestauranteServiceImpl implements RestauranteService {
             throw new IllegalArgumentException("Nome não pode ter mais de 100 caracteres");
         }
 
-        if (restaurante.getCnpj().length() != 14 || !restaurante.getCnpj().matches("\\d+")) {
+        if (!Validacoes.isSomenteDigitos(restaurante.getCnpj(), 14, 14)) {
             throw new IllegalArgumentException("CNPJ deve ter 14 dígitos numéricos");
         }
 
+        if (!Validacoes.isCnpj(restaurante.getCnpj())) {
+            throw new IllegalArgumentException("CNPJ inválido: dígitos verificadores não conferem");
+        }
+
         if (restaurante.getEndereco() == null || restaurante.getEndereco().trim().isEmpty()) {
             throw new IllegalArgumentException("Endereço é obrigatório");
         }
@@ -235,10 +353,14 @@ public class RestauranteServiceImpl implements RestauranteService {
             throw new IllegalArgumentException("Telefone é obrigatório");
         }
 
-        if (!restaurante.getTelefone().matches("\\d{10,11}")) {
+        if (!Validacoes.isSomenteDigitos(restaurante.getTelefone(), 10, 11)) {
             throw new IllegalArgumentException("Telefone deve ter entre 10 e 11 dígitos");
         }
 
+        if ((restaurante.getLatitude() == null) != (restaurante.getLongitude() == null)) {
+            throw new IllegalArgumentException("Latitude e longitude devem ser informadas juntas");
+        }
+
         if (restaurante.getEspecialidade() == null || restaurante.getEspecialidade().trim().isEmpty()) {
             throw new IllegalArgumentException("Especialidade é obrigatória");
         }
@@ -247,4 +369,9 @@ public class RestauranteServiceImpl implements RestauranteService {
             throw new IllegalArgumentException("Horário de funcionamento é obrigatório");
         }
     }
+
+    private Restaurante carregar(Long id) {
+        return restauranteRepository.findById(id)
+            .orElseThrow(() -> new IllegalArgumentException("Restaurante não encontrado: " + id));
+    }
 }
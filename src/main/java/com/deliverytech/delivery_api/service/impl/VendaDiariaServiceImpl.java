@@ -0,0 +1,90 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.event.PedidoStatusAlteradoEvent;
+import com.deliverytech.delivery_api.repository.VendaDiariaRepository;
+import com.deliverytech.delivery_api.service.VendaDiariaService;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Mantém a tabela VendaDiaria: um incremento atômico por pedido finalizado, na mesma
+ * transação da mudança de status, e reconstrução completa sob demanda.
+ */
+@Slf4j
+@Service
+public class VendaDiariaServiceImpl implements VendaDiariaService {
+
+    private final VendaDiariaRepository vendaDiariaRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public VendaDiariaServiceImpl(VendaDiariaRepository vendaDiariaRepository, JdbcTemplate jdbcTemplate) {
+        this.vendaDiariaRepository = vendaDiariaRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @EventListener
+    @Transactional
+    public void registrar(PedidoStatusAlteradoEvent evento) {
+        long entregues = 0;
+        long cancelados = 0;
+        BigDecimal valor = BigDecimal.ZERO;
+        switch (evento.statusNovo()) {
+            case ENTREGUE -> {
+                entregues = 1;
+                valor = evento.total() != null ? evento.total() : BigDecimal.ZERO;
+            }
+            case CANCELADO -> cancelados = 1;
+            default -> {
+                return;
+            }
+        }
+        if (evento.restauranteId() == null || evento.dataPedido() == null) {
+            log.warn("Pedido ID: {} sem restaurante ou data; não entra nas vendas diárias", evento.pedidoId());
+            return;
+        }
+
+        Long restauranteId = evento.restauranteId();
+        LocalDate dia = evento.dataPedido().toLocalDate();
+        if (vendaDiariaRepository.acumular(restauranteId, dia, entregues, valor, cancelados) == 0
+                && !criarLinha(restauranteId, dia, entregues, valor, cancelados)) {
+            // Outra transação criou a linha entre o UPDATE e o INSERT
+            vendaDiariaRepository.acumular(restauranteId, dia, entregues, valor, cancelados);
+        }
+    }
+
+    /**
+     * Reconstrução completa. Pedidos finalizados durante a execução podem ficar de fora;
+     * rodar fora do horário de pico ou repetir em seguida.
+     */
+    @Override
+    @Transactional
+    public int reconstruir() {
+        vendaDiariaRepository.deleteAllInBatch();
+        int linhas = vendaDiariaRepository.reconstruir();
+        log.info("Vendas diárias reconstruídas: {} linhas", linhas);
+        return linhas;
+    }
+
+    // INSERT na conexão e transação do pedido (sem segunda conexão do pool). Pelo JdbcTemplate,
+    // e não pelo EntityManager, para que a chave duplicada não marque a transação para rollback;
+    // H2 e MySQL seguem com a transação utilizável depois do erro
+    private boolean criarLinha(Long restauranteId, LocalDate dia, long entregues, BigDecimal valor, long cancelados) {
+        try {
+            jdbcTemplate.update("INSERT INTO venda_diaria (restaurante_id, dia, pedidos_entregues, valor_total, "
+                    + "pedidos_cancelados) VALUES (?, ?, ?, ?, ?)", restauranteId, dia, entregues, valor, cancelados);
+            return true;
+        } catch (DuplicateKeyException e) {
+            log.debug("Venda diária de {} para o restaurante ID: {} já criada por outra transação", dia, restauranteId);
+            return false;
+        }
+    }
+}
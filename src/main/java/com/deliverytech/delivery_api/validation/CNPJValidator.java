@@ -0,0 +1,19 @@
+package com.deliverytech.delivery_api.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class CNPJValidator implements ConstraintValidator<ValidCNPJ, String> {
+
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+
+        // Presença é responsabilidade de @NotBlank
+        if (value == null || value.isEmpty()) {
+            return true;
+        }
+
+        // 14 dígitos, sem máscara, com os dígitos verificadores conferidos
+        return Validacoes.isCnpj(value);
+    }
+}
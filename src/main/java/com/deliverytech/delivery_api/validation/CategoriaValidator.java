@@ -1,26 +1,10 @@
 package com.deliverytech.delivery_api.validation;
 
-import java.util.Arrays;
-
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
 public class CategoriaValidator implements ConstraintValidator<ValidCategoria, String> {
 
-    // Lista de categorias permitidas
-    private static final String[] CATEGORIAS_PERMITIDAS = {
-        "COMIDA CASEIRA",
-        "FAST FOOD",
-        "JAPONESA",
-        "ITALIANA",
-        "PIZZARIA",
-        "VEGETARIANA",
-        "SAUDÁVEL",
-        "LANCHES",
-        "DOCES E BOLOS",
-        "CAFETERIA"
-    };
-
     @Override
     public boolean isValid(String value, ConstraintValidatorContext context) {
 
@@ -28,6 +12,7 @@ public class CategoriaValidator implements ConstraintValidator<ValidCategoria, S
             return true;
         }
 
-        return Arrays.asList(CATEGORIAS_PERMITIDAS).contains(value.toUpperCase());
+        // Lista de categorias permitidas em Validacoes
+        return Validacoes.isCategoriaPermitida(value);
     }
-}
\ No newline at end of file
+}
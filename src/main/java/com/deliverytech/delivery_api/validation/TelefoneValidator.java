@@ -14,6 +14,6 @@ public class TelefoneValidator implements ConstraintValidator<ValidTelefone, Str
 
         // Aceita os formatos:
         // (99) 99999-9999 ou 1199999999
-        return value.matches("\\(\\d{2}\\)\\s\\d{5}-\\d{4}") || value.matches("\\d{11}");
+        return Validacoes.isTelefone(value);
     }
 }
\ No newline at end of file
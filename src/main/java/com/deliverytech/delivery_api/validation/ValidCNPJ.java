@@ -0,0 +1,22 @@
+package com.deliverytech.delivery_api.validation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+// CNPJ com 14 dígitos e dígitos verificadores corretos; a lógica está em CNPJValidator
+@Documented
+@Constraint(validatedBy = CNPJValidator.class)
+@Target({ElementType.FIELD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidCNPJ {
+
+    String message() default "CNPJ inválido";
+    Class<?>[] groups() default {};
+    Class<? extends Payload>[] payload() default {};
+}
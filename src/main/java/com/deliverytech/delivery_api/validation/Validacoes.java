@@ -0,0 +1,107 @@
+package com.deliverytech.delivery_api.validation;
+
+/**
+ * Regras de formato usadas pelos validadores de Bean Validation e pelos serviços.
+ * Todas percorrem os caracteres diretamente: nenhuma compila regex nem aloca objetos por chamada.
+ */
+public final class Validacoes {
+
+    // Comparadas sem diferenciar maiúsculas, sem converter a entrada
+    private static final String[] CATEGORIAS_PERMITIDAS = {
+        "COMIDA CASEIRA",
+        "FAST FOOD",
+        "JAPONESA",
+        "ITALIANA",
+        "PIZZARIA",
+        "VEGETARIANA",
+        "SAUDÁVEL",
+        "LANCHES",
+        "DOCES E BOLOS",
+        "CAFETERIA"
+    };
+
+    private Validacoes() {
+    }
+
+    /**
+     * "00000-000" ou "00000000"
+     */
+    public static boolean isCep(String valor) {
+        if (valor.length() == 8) {
+            return isDigitos(valor, 0, 8);
+        }
+        return valor.length() == 9 && valor.charAt(5) == '-' && isDigitos(valor, 0, 5) && isDigitos(valor, 6, 9);
+    }
+
+    /**
+     * "(99) 99999-9999" ou 11 dígitos
+     */
+    public static boolean isTelefone(String valor) {
+        if (valor.length() == 11) {
+            return isDigitos(valor, 0, 11);
+        }
+        return valor.length() == 15
+            && valor.charAt(0) == '(' && valor.charAt(3) == ')' && valor.charAt(4) == ' ' && valor.charAt(10) == '-'
+            && isDigitos(valor, 1, 3) && isDigitos(valor, 5, 10) && isDigitos(valor, 11, 15);
+    }
+
+    /**
+     * Somente dígitos, com tamanho entre minimo e maximo
+     */
+    public static boolean isSomenteDigitos(String valor, int minimo, int maximo) {
+        return valor.length() >= minimo && valor.length() <= maximo && isDigitos(valor, 0, valor.length());
+    }
+
+    /**
+     * 14 dígitos com os dois dígitos verificadores corretos (módulo 11).
+     * Sequências repetidas ("00000000000000") passam no cálculo, mas não são CNPJs emitidos.
+     */
+    public static boolean isCnpj(String valor) {
+        if (!isSomenteDigitos(valor, 14, 14) || isRepetido(valor)) {
+            return false;
+        }
+        return valor.charAt(12) - '0' == digitoVerificadorCnpj(valor, 12)
+            && valor.charAt(13) - '0' == digitoVerificadorCnpj(valor, 13);
+    }
+
+    /**
+     * Categoria da lista permitida, sem diferenciar maiúsculas ("pizzaria", "Saudável")
+     */
+    public static boolean isCategoriaPermitida(String valor) {
+        for (String categoria : CATEGORIAS_PERMITIDAS) {
+            if (categoria.equalsIgnoreCase(valor)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Pesos 2..9 da direita para a esquerda, recomeçando em 2 após o 9
+    private static int digitoVerificadorCnpj(String cnpj, int tamanho) {
+        int soma = 0;
+        for (int i = 0; i < tamanho; i++) {
+            soma += (cnpj.charAt(i) - '0') * ((tamanho - 1 - i) % 8 + 2);
+        }
+        int resto = soma % 11;
+        return resto < 2 ? 0 : 11 - resto;
+    }
+
+    private static boolean isDigitos(String valor, int inicio, int fim) {
+        for (int i = inicio; i < fim; i++) {
+            char c = valor.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isRepetido(String valor) {
+        for (int i = 1; i < valor.length(); i++) {
+            if (valor.charAt(i) != valor.charAt(0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,56 @@
+package com.deliverytech.delivery_api.busca;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.deliverytech.delivery_api.model.Expediente;
+
+class HorarioSemanalTest {
+
+    @Test
+    void turnosDoDiaEQueCruzamAMeiaNoite() {
+        HorarioSemanal horario = HorarioSemanal.compilar(List.of(
+                expediente(DayOfWeek.MONDAY, "11:00", "15:00"),
+                expediente(DayOfWeek.MONDAY, "18:00", "02:00"),
+                expediente(DayOfWeek.SUNDAY, "20:00", "01:00")));
+
+        assertThat(horario.estaAberto(DayOfWeek.MONDAY, minuto("10:59"))).isFalse();
+        assertThat(horario.estaAberto(DayOfWeek.MONDAY, minuto("11:00"))).isTrue();
+        assertThat(horario.estaAberto(DayOfWeek.MONDAY, minuto("14:59"))).isTrue();
+        // Fechamento não incluído
+        assertThat(horario.estaAberto(DayOfWeek.MONDAY, minuto("15:00"))).isFalse();
+        assertThat(horario.estaAberto(DayOfWeek.TUESDAY, minuto("01:59"))).isTrue();
+        assertThat(horario.estaAberto(DayOfWeek.TUESDAY, minuto("02:00"))).isFalse();
+        // Domingo à noite continua na segunda de madrugada
+        assertThat(horario.estaAberto(DayOfWeek.MONDAY, minuto("00:30"))).isTrue();
+        assertThat(horario.estaAberto(DayOfWeek.MONDAY, minuto("01:00"))).isFalse();
+        assertThat(horario.estaAberto(LocalDateTime.of(2025, 7, 6, 23, 0))).isTrue(); // domingo
+        assertThat(horario.estaAberto(LocalDateTime.of(2025, 7, 5, 23, 0))).isFalse(); // sábado
+    }
+
+    @Test
+    void vinteEQuatroHorasESemExpedientes() {
+        HorarioSemanal diaInteiro = HorarioSemanal.compilar(List.of(expediente(DayOfWeek.FRIDAY, "00:00", "00:00")));
+
+        assertThat(diaInteiro.estaAberto(DayOfWeek.FRIDAY, 0)).isTrue();
+        assertThat(diaInteiro.estaAberto(DayOfWeek.FRIDAY, HorarioSemanal.MINUTOS_DIA - 1)).isTrue();
+        assertThat(diaInteiro.estaAberto(DayOfWeek.SATURDAY, 0)).isFalse();
+        assertThat(HorarioSemanal.compilar(List.of())).isSameAs(HorarioSemanal.SEMPRE_ABERTO);
+        assertThat(HorarioSemanal.SEMPRE_ABERTO.estaAberto(DayOfWeek.SUNDAY, HorarioSemanal.MINUTOS_DIA - 1)).isTrue();
+    }
+
+    private static Expediente expediente(DayOfWeek dia, String abertura, String fechamento) {
+        return new Expediente(dia, LocalTime.parse(abertura), LocalTime.parse(fechamento));
+    }
+
+    private static int minuto(String horario) {
+        LocalTime hora = LocalTime.parse(horario);
+        return hora.getHour() * 60 + hora.getMinute();
+    }
+}
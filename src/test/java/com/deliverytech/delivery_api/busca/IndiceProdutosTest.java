@@ -0,0 +1,74 @@
+package com.deliverytech.delivery_api.busca;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.deliverytech.delivery_api.busca.IndiceProdutos.Campo;
+import com.deliverytech.delivery_api.dto.response.ProdutoResponse;
+import com.deliverytech.delivery_api.event.ProdutoAlteradoEvent;
+import com.deliverytech.delivery_api.repository.ProdutoBusca;
+
+class IndiceProdutosTest {
+
+    private final IndiceProdutos indice = new IndiceProdutos(null);
+
+    @BeforeEach
+    void setUp() {
+        indice.carregar(List.of(
+                produto(1L, 1L, "Pão de Queijo", "Lanches", "Porção com 10 unidades"),
+                produto(2L, 1L, "Açaí 500ml", "Sobremesas", "Com granola e banana"),
+                produto(3L, 1L, "Suco de Laranja", "Bebidas", "Natural, sem açúcar"),
+                produto(4L, 2L, "Queijo Quente", "Lanches", "Pão de forma")));
+    }
+
+    @Test
+    void buscaPorTrechoSemAcentoNemMaiusculas() {
+        assertThat(nomes(1L, "quei", Campo.NOME)).containsExactly("Pão de Queijo");
+        assertThat(nomes(1L, "PAO DE QUEIJO", Campo.NOME)).containsExactly("Pão de Queijo");
+        assertThat(nomes(1L, "acai", Campo.NOME)).containsExactly("Açaí 500ml");
+        assertThat(nomes(1L, "açaí", Campo.NOME)).containsExactly("Açaí 500ml");
+        // Todas as palavras, em qualquer ordem; palavras curtas (sem trigrama) conferidas direto no texto
+        assertThat(nomes(1L, "queijo pa", Campo.NOME)).containsExactly("Pão de Queijo");
+        assertThat(nomes(1L, "de", Campo.NOME)).containsExactly("Pão de Queijo", "Suco de Laranja");
+        assertThat(nomes(1L, "queijo laranja", Campo.NOME)).isEmpty();
+        assertThat(nomes(1L, "", Campo.NOME)).hasSize(3);
+    }
+
+    @Test
+    void respeitaCampoERestaurante() {
+        assertThat(nomes(1L, "bebi", Campo.NOME)).isEmpty();
+        assertThat(nomes(1L, "bebi", Campo.CATEGORIA)).containsExactly("Suco de Laranja");
+        assertThat(nomes(1L, "granola", Campo.TODOS)).containsExactly("Açaí 500ml");
+        assertThat(nomes(1L, "acucar", Campo.TODOS)).containsExactly("Suco de Laranja");
+        assertThat(nomes(2L, "queijo", Campo.NOME)).containsExactly("Queijo Quente");
+        assertThat(nomes(3L, "queijo", Campo.NOME)).isEmpty();
+    }
+
+    @Test
+    void alteracoesRefletemNaBusca() {
+        ProdutoBusca renomeado = produto(3L, 1L, "Suco de Maracujá", "Bebidas", "Natural");
+        indice.atualizar(new ProdutoAlteradoEvent(3L, 1L, renomeado, 0));
+        indice.atualizar(new ProdutoAlteradoEvent(5L, 1L, produto(5L, 1L, "Suco de Uva", "Bebidas", null), 1));
+        indice.atualizar(new ProdutoAlteradoEvent(1L, 1L, null, -1));
+
+        assertThat(nomes(1L, "suco", Campo.NOME)).containsExactly("Suco de Maracujá", "Suco de Uva");
+        assertThat(nomes(1L, "laranja", Campo.NOME)).isEmpty();
+        assertThat(nomes(1L, "queijo", Campo.NOME)).isEmpty();
+
+        indice.atualizar(new ProdutoAlteradoEvent(4L, 2L, null, -1));
+        assertThat(indice.contemRestaurante(2L)).isFalse();
+    }
+
+    private List<String> nomes(Long restauranteId, String termo, Campo campo) {
+        return indice.buscar(restauranteId, termo, campo).stream().map(ProdutoResponse::getNome).toList();
+    }
+
+    private static ProdutoBusca produto(Long id, Long restauranteId, String nome, String categoria, String descricao) {
+        return new ProdutoBusca(id, restauranteId, nome, categoria, descricao, new BigDecimal("10.00"), true);
+    }
+}
@@ -0,0 +1,75 @@
+package com.deliverytech.delivery_api.busca;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.deliverytech.delivery_api.dto.response.RestauranteProximoResponse;
+import com.deliverytech.delivery_api.event.RestauranteAlteradoEvent;
+import com.deliverytech.delivery_api.repository.RestauranteLocalizacao;
+
+class IndiceRestaurantesProximosTest {
+
+    private final IndiceRestaurantesProximos indice = new IndiceRestaurantesProximos(null);
+
+    @Test
+    void mesmoResultadoQueAVarreduraCompleta() {
+        Random random = new Random(42);
+        List<RestauranteLocalizacao> restaurantes = new ArrayList<>();
+        for (long id = 1; id <= 20_000; id++) {
+            restaurantes.add(restaurante(id, -24.0 + random.nextDouble() * 0.7, -47.0 + random.nextDouble() * 0.7));
+        }
+        indice.carregar(restaurantes);
+
+        for (int i = 0; i < 200; i++) {
+            double latitude = -24.1 + random.nextDouble() * 0.9;
+            double longitude = -47.1 + random.nextDouble() * 0.9;
+            List<Double> esperadas = restaurantes.stream()
+                    .map(r -> distancia(latitude, longitude, r))
+                    .filter(distancia -> distancia <= 2.0)
+                    .sorted()
+                    .limit(10)
+                    .toList();
+
+            // Compara distâncias: o índice ordena pela aproximação plana, que só troca empates de poucos metros
+            assertThat(indice.buscarProximos(latitude, longitude, 10, 2.0))
+                    .extracting(RestauranteProximoResponse::getDistanciaKm)
+                    .usingElementComparator((a, b) -> Math.abs(a - b) <= 0.002 ? 0 : Double.compare(a, b))
+                    .containsExactlyElementsOf(esperadas);
+        }
+    }
+
+    @Test
+    void alteracoesRefletemNaBusca() {
+        indice.carregar(List.of(
+                restaurante(1L, -23.5614, -46.6559),
+                restaurante(2L, -23.5505, -46.6333)));
+
+        // Restaurante 1 muda para perto do cliente; 2 é inativado; 3 é cadastrado a 20 km
+        indice.atualizar(new RestauranteAlteradoEvent(1L, true, restaurante(1L, -23.5506, -46.6334), List.of(), Set.of()));
+        indice.atualizar(new RestauranteAlteradoEvent(2L, false, null, List.of(), Set.of()));
+        indice.atualizar(new RestauranteAlteradoEvent(3L, true, restaurante(3L, -23.7305, -46.6333), List.of(), Set.of()));
+
+        List<RestauranteProximoResponse> proximos = indice.buscarProximos(-23.5505, -46.6333, 10, 50.0);
+        assertThat(proximos).extracting(RestauranteProximoResponse::getId).containsExactly(1L, 3L);
+        assertThat(proximos.get(0).getDistanciaKm()).isLessThan(0.02);
+        assertThat(proximos.get(1).getDistanciaKm()).isBetween(19.9, 20.1);
+        assertThat(indice.buscarProximos(-23.5505, -46.6333, 10, 5.0)).hasSize(1);
+        assertThat(indice.tamanho()).isEqualTo(2);
+    }
+
+    private static double distancia(double latitude, double longitude, RestauranteLocalizacao restaurante) {
+        return IndiceRestaurantesProximos.distanciaKm(latitude, longitude, restaurante.latitude(), restaurante.longitude());
+    }
+
+    private static RestauranteLocalizacao restaurante(Long id, double latitude, double longitude) {
+        return new RestauranteLocalizacao(id, "Restaurante " + id, "Lanches", "1133334444",
+                new BigDecimal("5.00"), latitude, longitude);
+    }
+}
@@ -0,0 +1,30 @@
+package com.deliverytech.delivery_api.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Todos os caches publicam hit/miss no registro (Prometheus recusa metros com tags divergentes).
+ */
+@SpringBootTest
+class CacheMetricasTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @ParameterizedTest
+    @ValueSource(strings = { CacheConfig.RESTAURANTES, CacheConfig.RESTAURANTES_POR_CNPJ,
+            CacheConfig.CARDAPIO_DISPONIVEL, "jwtAutenticacoes" })
+    void cacheGetsRegistradoParaCadaCache(String cache) {
+        assertThat(meterRegistry.find("cache.gets").tag("cache", cache).tag("result", "hit").functionCounters())
+                .isNotEmpty();
+        assertThat(meterRegistry.find("cache.gets").tag("cache", cache).tag("result", "miss").functionCounters())
+                .isNotEmpty();
+    }
+}
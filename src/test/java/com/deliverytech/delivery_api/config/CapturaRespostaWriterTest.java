@@ -0,0 +1,89 @@
+package com.deliverytech.delivery_api.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CapturaRespostaWriterTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void filaCheiaDescartaSemBloquearEContaNaMetrica() throws IOException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CapturaRespostaWriter writer = new CapturaRespostaWriter(diretorio, 1, 100_000_000, 5, registry);
+
+        int enviadas = 10_000;
+        for (int i = 0; i < enviadas; i++) {
+            writer.enfileirar(captura(i));
+        }
+        writer.close();
+
+        double descartadas = registry.get("captura.respostas.descartadas").counter().count();
+        assertThat(descartadas).isPositive();
+        assertThat(contarCapturas(arquivos()) + (long) descartadas).isEqualTo(enviadas);
+    }
+
+    @Test
+    void rotacionaPorTamanhoEMantemApenasOsUltimosArquivos() throws IOException {
+        CapturaRespostaWriter writer = new CapturaRespostaWriter(diretorio, 10_000, 2_048, 3, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 200; i++) {
+            writer.enfileirar(captura(i));
+        }
+        writer.close();
+
+        List<Path> arquivos = arquivos();
+        assertThat(arquivos).hasSize(4).contains(diretorio.resolve(CapturaRespostaWriter.ARQUIVO_ATUAL));
+        for (Path arquivo : arquivos) {
+            assertThat(Files.size(arquivo)).isLessThanOrEqualTo(2_048);
+        }
+    }
+
+    @Test
+    void capturaDesabilitadaNaoCriaWriterNemFiltro() {
+        new ApplicationContextRunner()
+                .withUserConfiguration(FilterConfig.class)
+                .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+                .withPropertyValues("captura.habilitada=false", "captura.diretorio=" + diretorio)
+                .run(contexto -> {
+                    assertThat(contexto).doesNotHaveBean(CapturaRespostaWriter.class);
+                    assertThat(contexto).doesNotHaveBean(FilterRegistrationBean.class);
+                    assertThat(contexto.getBean(MeterRegistry.class).find("captura.respostas.fila").gauge()).isNull();
+                });
+    }
+
+    private CapturaRespostaWriter.Captura captura(int i) {
+        return new CapturaRespostaWriter.Captura(LocalDateTime.now(), "GET", "http://localhost/api/teste/" + i, 200,
+                "application/json", new byte[0], ("{\"id\":" + i + "}").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<Path> arquivos() throws IOException {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos.toList();
+        }
+    }
+
+    private long contarCapturas(List<Path> arquivos) throws IOException {
+        long total = 0;
+        for (Path arquivo : arquivos) {
+            total += Files.readAllLines(arquivo).stream().filter(l -> l.startsWith("=== ENTREGA")).count();
+        }
+        return total;
+    }
+}
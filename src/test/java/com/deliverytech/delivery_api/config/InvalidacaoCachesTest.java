@@ -0,0 +1,32 @@
+package com.deliverytech.delivery_api.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import com.deliverytech.delivery_api.event.RestauranteAlteradoEvent;
+import com.deliverytech.delivery_api.model.Restaurante;
+
+class InvalidacaoCachesTest {
+
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(
+            CacheConfig.RESTAURANTES, CacheConfig.RESTAURANTES_POR_CNPJ, CacheConfig.CARDAPIO_DISPONIVEL);
+    private final InvalidacaoCaches invalidacao = new InvalidacaoCaches(cacheManager);
+
+    @Test
+    void trocaDeCnpjRemoveSoOAntigoEONovo() {
+        Cache porCnpj = cacheManager.getCache(CacheConfig.RESTAURANTES_POR_CNPJ);
+        porCnpj.put("11111111000111", "restaurante 1");
+        porCnpj.put("22222222000122", "restaurante 2");
+        cacheManager.getCache(CacheConfig.RESTAURANTES).put(1L, "restaurante 1");
+        Restaurante alterado = Restaurante.builder().id(1L).cnpj("33333333000133").ativo(true).build();
+
+        invalidacao.restauranteAlterado(RestauranteAlteradoEvent.de(alterado, "11111111000111"));
+
+        assertThat(cacheManager.getCache(CacheConfig.RESTAURANTES).get(1L)).isNull();
+        assertThat(porCnpj.get("11111111000111")).isNull();
+        assertThat(porCnpj.get("22222222000122")).isNotNull();
+    }
+}
@@ -0,0 +1,33 @@
+package com.deliverytech.delivery_api.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+class LimiteConexoesDataSourceTest {
+
+    @Test
+    void conexoesAlemDoLimiteEsperamAteUmaSerFechada() throws Exception {
+        LimiteConexoesDataSource dataSource =
+                new LimiteConexoesDataSource(new DriverManagerDataSource("jdbc:h2:mem:limite"), 2, 50);
+
+        Connection primeira = dataSource.getConnection();
+        Connection segunda = dataSource.getConnection();
+        assertThat(dataSource.getDisponiveis()).isZero();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        primeira.close();
+        primeira.close();
+        assertThat(dataSource.getDisponiveis()).isEqualTo(1);
+        try (Connection terceira = dataSource.getConnection()) {
+            assertThat(terceira.isValid(1)).isTrue();
+        }
+        segunda.close();
+        assertThat(dataSource.getDisponiveis()).isEqualTo(2);
+    }
+}
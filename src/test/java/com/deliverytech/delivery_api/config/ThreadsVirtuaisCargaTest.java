@@ -0,0 +1,196 @@
+package com.deliverytech.delivery_api.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.deliverytech.delivery_api.dto.request.ItemPedidoRequest;
+import com.deliverytech.delivery_api.dto.request.PedidoRequest;
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.model.Role;
+import com.deliverytech.delivery_api.model.Usuario;
+import com.deliverytech.delivery_api.repository.ClienteRepository;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.repository.UsuarioRepository;
+import com.deliverytech.delivery_api.security.JwtUtil;
+import com.deliverytech.delivery_api.service.PedidoService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Teste de carga opcional: N conexões simultâneas listando os pedidos de um cliente
+ * (consultas JPA a cada requisição).
+ * Rodar uma vez em cada modo e comparar o p99:
+ * <pre>
+ * mvn test -Dtest=ThreadsVirtuaisCargaTest -Dcarga.conexoes=2000 -Dspring.threads.virtual.enabled=false
+ * mvn test -Dtest=ThreadsVirtuaisCargaTest -Dcarga.conexoes=2000 -Dspring.threads.virtual.enabled=true
+ * </pre>
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        // Os logs DEBUG por requisição serializariam tudo no console
+        "spring.jpa.show-sql=false",
+        "logging.level.org.springframework.web=WARN",
+        "logging.level.org.springframework.security=WARN",
+        "logging.level.web=WARN",
+        "logging.level.com.deliverytech=WARN",
+        "logging.level.com.deliverytech.delivery_api.config.ThreadsVirtuaisCargaTest=INFO",
+        "captura.habilitada=false",
+        "server.tomcat.max-connections=20000",
+        "server.tomcat.accept-count=5000"
+})
+@EnabledIfSystemProperty(named = "carga.conexoes", matches = "\\d+")
+class ThreadsVirtuaisCargaTest {
+
+    @LocalServerPort
+    private int porta;
+    @Value("${spring.threads.virtual.enabled}")
+    private boolean threadsVirtuais;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+    @Autowired
+    private ClienteRepository clienteRepository;
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+    @Autowired
+    private ProdutoRepository produtoRepository;
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Test
+    void latenciaComConexoesSimultaneas() throws Exception {
+        int conexoes = Integer.getInteger("carga.conexoes");
+        int requisicoesPorConexao = Integer.getInteger("carga.requisicoes", 10);
+        URI uri = URI.create("http://localhost:" + porta + "/api/pedidos/cliente/" + criarPedidos() + "?limit=5");
+        String token = criarToken();
+
+        try (ExecutorService clientes = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient http = HttpClient.newBuilder()
+                    .executor(clientes)
+                    .connectTimeout(Duration.ofSeconds(60))
+                    .build();
+            disparar(http, clientes, uri, token, Math.min(conexoes, 200), requisicoesPorConexao);
+
+            long inicio = System.nanoTime();
+            long[] latencias = disparar(http, clientes, uri, token, conexoes, requisicoesPorConexao);
+            long duracao = System.nanoTime() - inicio;
+
+            Arrays.sort(latencias);
+            log.info("Carga: {} conexões x {} requisições, threads virtuais={}",
+                    conexoes, requisicoesPorConexao, threadsVirtuais);
+            log.info(String.format("vazão=%,.0f req/s p50=%.1f ms p99=%.1f ms máx=%.1f ms",
+                    latencias.length / (duracao / 1e9),
+                    percentil(latencias, 0.50), percentil(latencias, 0.99), latencias[latencias.length - 1] / 1e6));
+        }
+    }
+
+    private long[] disparar(HttpClient http, ExecutorService clientes, URI uri, String token,
+                            int conexoes, int requisicoesPorConexao) throws Exception {
+        HttpRequest requisicao = HttpRequest.newBuilder(uri)
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(120))
+                .GET()
+                .build();
+        long[] latencias = new long[conexoes * requisicoesPorConexao];
+        Map<Integer, Integer> falhas = new ConcurrentHashMap<>();
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> futuros = new ArrayList<>();
+        for (int c = 0; c < conexoes; c++) {
+            int base = c * requisicoesPorConexao;
+            futuros.add(clientes.submit(() -> {
+                largada.await();
+                for (int i = 0; i < requisicoesPorConexao; i++) {
+                    long inicio = System.nanoTime();
+                    HttpResponse<Void> resposta = http.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                    latencias[base + i] = System.nanoTime() - inicio;
+                    if (resposta.statusCode() != 200) {
+                        falhas.merge(resposta.statusCode(), 1, Integer::sum);
+                    }
+                }
+                return null;
+            }));
+        }
+        largada.countDown();
+        for (Future<?> futuro : futuros) {
+            futuro.get();
+        }
+        assertThat(falhas).as("respostas diferentes de 200 por status").isEmpty();
+        return latencias;
+    }
+
+    private static double percentil(long[] ordenadas, double percentil) {
+        int indice = (int) Math.ceil(percentil * ordenadas.length) - 1;
+        return ordenadas[Math.max(indice, 0)] / 1e6;
+    }
+
+    // Retorna o ID do cliente, com alguns pedidos para listar
+    private Long criarPedidos() {
+        Cliente cliente = clienteRepository.save(Cliente.builder()
+                .nome("Cliente Carga")
+                .email("carga" + System.nanoTime() + "@email.com")
+                .telefone("11999999999")
+                .endereco("Rua da Carga, 100")
+                .build());
+        Restaurante restaurante = restauranteRepository.save(Restaurante.builder()
+                .nome("Restaurante Carga")
+                .telefone("1133334444")
+                .TaxaEntrega(new BigDecimal("4.00"))
+                .build());
+        Produto produto = produtoRepository.save(Produto.builder()
+                .nome("Produto Carga")
+                .categoria("Lanches")
+                .preco(new BigDecimal("20.00"))
+                .restaurante(restaurante)
+                .build());
+        for (int i = 0; i < 5; i++) {
+            pedidoService.realizar(PedidoRequest.builder()
+                    .clienteId(cliente.getId())
+                    .restauranteId(restaurante.getId())
+                    .enderecoEntrega("Rua da Carga, 100")
+                    .itens(List.of(ItemPedidoRequest.builder().produtoId(produto.getId()).quantidade(2).build()))
+                    .build());
+        }
+        return cliente.getId();
+    }
+
+    private String criarToken() {
+        String email = "carga" + System.nanoTime() + "@email.com";
+        usuarioRepository.save(Usuario.builder()
+                .nome("Usuário Carga")
+                .email(email)
+                .senha("x")
+                .role(Role.CLIENTE)
+                .ativo(true)
+                .dataCriacao(LocalDateTime.now())
+                .build());
+        return jwtUtil.gerarToken(email);
+    }
+}
@@ -0,0 +1,115 @@
+package com.deliverytech.delivery_api.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.deliverytech.delivery_api.model.StatusPedido;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PedidoStatusHubTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private PedidoStatusHub hub;
+
+    @AfterEach
+    void fechar() {
+        hub.fechar();
+    }
+
+    @Test
+    void entregaApenasAosCanaisDoPedido() throws InterruptedException {
+        hub = new PedidoStatusHub(registry, 16, Duration.ofMinutes(1));
+        EmitterGravador restaurante = new EmitterGravador(null);
+        EmitterGravador outroRestaurante = new EmitterGravador(null);
+        EmitterGravador cliente = new EmitterGravador(null);
+        hub.assinarRestaurante(1L, restaurante);
+        hub.assinarRestaurante(2L, outroRestaurante);
+        hub.assinarCliente(10L, cliente);
+
+        hub.publicar(evento(7L, 1L, 10L));
+
+        assertThat(restaurante.proximo().pedidoId()).isEqualTo(7L);
+        assertThat(cliente.proximo().pedidoId()).isEqualTo(7L);
+        assertThat(outroRestaurante.recebidos.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void assinanteLentoEDesconectadoSemAtrasarOsDemais() throws InterruptedException {
+        hub = new PedidoStatusHub(registry, 4, Duration.ofMinutes(1));
+        CountDownLatch liberarLento = new CountDownLatch(1);
+        EmitterGravador lento = new EmitterGravador(liberarLento);
+        EmitterGravador rapido = new EmitterGravador(null);
+        hub.assinarRestaurante(1L, lento);
+        hub.assinarRestaurante(1L, rapido);
+
+        // A publicação não espera o envio: com o lento travado, o buffer dele enche e ele sai,
+        // enquanto o rápido continua recebendo cada evento
+        for (long pedido = 1; pedido <= 20; pedido++) {
+            hub.publicar(evento(pedido, 1L, 10L));
+            assertThat(rapido.proximo().pedidoId()).isEqualTo(pedido);
+        }
+        assertThat(registry.get("pedidos.stream.desconectados").counter().count()).isEqualTo(1.0);
+        assertThat(hub.assinantes()).isEqualTo(1);
+        liberarLento.countDown();
+        assertThat(lento.completado.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(lento.recebidos.size()).isLessThanOrEqualTo(1);
+    }
+
+    private static PedidoStatusAlteradoEvent evento(Long pedidoId, Long restauranteId, Long clienteId) {
+        return new PedidoStatusAlteradoEvent(pedidoId, restauranteId, clienteId, StatusPedido.REALIZADO,
+                StatusPedido.CONFIRMADO, new BigDecimal("30.00"), LocalDateTime.now());
+    }
+
+    // Emitter sem conexão HTTP: guarda os eventos enviados e, se houver trava, bloqueia no envio
+    private static class EmitterGravador extends SseEmitter {
+
+        final BlockingQueue<PedidoStatusAlteradoEvent> recebidos = new LinkedBlockingQueue<>();
+        final CountDownLatch completado = new CountDownLatch(1);
+        private final CountDownLatch trava;
+
+        EmitterGravador(CountDownLatch trava) {
+            this.trava = trava;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (trava != null) {
+                try {
+                    trava.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            for (DataWithMediaType dado : builder.build()) {
+                if (dado.getData() instanceof PedidoStatusAlteradoEvent evento) {
+                    recebidos.add(evento);
+                }
+            }
+        }
+
+        @Override
+        public void complete() {
+            completado.countDown();
+        }
+
+        PedidoStatusAlteradoEvent proximo() throws InterruptedException {
+            PedidoStatusAlteradoEvent evento = recebidos.poll(5, TimeUnit.SECONDS);
+            assertThat(evento).isNotNull();
+            return evento;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.deliverytech.delivery_api.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import com.deliverytech.delivery_api.dto.response.ClienteResponse;
+import com.deliverytech.delivery_api.dto.response.ItemPedidoResponse;
+import com.deliverytech.delivery_api.dto.response.PedidoResponse;
+import com.deliverytech.delivery_api.dto.response.ProdutoResponse;
+import com.deliverytech.delivery_api.dto.response.RestauranteResponse;
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.ItemPedido;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.model.StatusPedido;
+import com.deliverytech.delivery_api.repository.ItemPedidoResumo;
+import com.deliverytech.delivery_api.repository.PedidoResumo;
+
+class ResponseMapperTest {
+
+    private final ResponseMapper mapper = Mappers.getMapper(ResponseMapper.class);
+
+    @Test
+    void pedidoLevaIdsTotalEItens() {
+        Restaurante restaurante = Restaurante.builder().id(2L).nome("Restaurante").build();
+        Produto produto = Produto.builder().id(5L).nome("Pizza").preco(new BigDecimal("30.00")).build();
+        Pedido pedido = Pedido.builder()
+                .id(1L)
+                .cliente(Cliente.builder().id(3L).build())
+                .restaurante(restaurante)
+                .status(StatusPedido.REALIZADO)
+                .itens(new ArrayList<>())
+                .build();
+        ItemPedido item = ItemPedido.builder().produto(produto).quantidade(2).build();
+        item.inicializarPrecoUnitario();
+        item.calcularSubtotal();
+        pedido.adicionarItem(item);
+
+        PedidoResponse response = mapper.toPedidoResponse(pedido);
+
+        assertThat(response.getClienteId()).isEqualTo(3L);
+        assertThat(response.getRestauranteId()).isEqualTo(2L);
+        assertThat(response.getValorTotal()).isEqualByComparingTo("60.00");
+        assertThat(response.getItens()).singleElement().satisfies(i -> {
+            assertThat(i.getProdutoId()).isEqualTo(5L);
+            assertThat(i.getNomeProduto()).isEqualTo("Pizza");
+            assertThat(i.getQuantidade()).isEqualTo(2);
+        });
+    }
+
+    @Test
+    void disponibilidadeDoProdutoVemDoCampoAtivo() {
+        Produto produto = Produto.builder().id(1L).nome("Suco").disponivel(true).ativo(false).build();
+
+        ProdutoResponse response = mapper.toProdutoResponse(produto);
+
+        assertThat(response.getDisponivel()).isFalse();
+    }
+
+    @Test
+    void resumoDaListagemLevaColunasEItens() {
+        PedidoResumo resumo = new PedidoResumo(1L, 3L, 2L, StatusPedido.CONFIRMADO,
+                new BigDecimal("60.00"), LocalDateTime.of(2024, 5, 1, 12, 0));
+        ItemPedidoResponse item = mapper.toItemPedidoResponse(
+                new ItemPedidoResumo(1L, 5L, "Pizza", 2, new BigDecimal("30.00")));
+
+        PedidoResponse response = mapper.toPedidoResponse(resumo, List.of(item));
+
+        assertThat(response.getId()).isEqualTo(1L);
+        assertThat(response.getClienteId()).isEqualTo(3L);
+        assertThat(response.getRestauranteId()).isEqualTo(2L);
+        assertThat(response.getStatus()).isEqualTo(StatusPedido.CONFIRMADO);
+        assertThat(response.getValorTotal()).isEqualByComparingTo("60.00");
+        assertThat(response.getDataPedido()).isEqualTo(resumo.dataPedido());
+        assertThat(response.getItens()).singleElement().satisfies(i -> {
+            assertThat(i.getProdutoId()).isEqualTo(5L);
+            assertThat(i.getNomeProduto()).isEqualTo("Pizza");
+            assertThat(i.getQuantidade()).isEqualTo(2);
+            assertThat(i.getPrecoUnitario()).isEqualByComparingTo("30.00");
+        });
+    }
+
+    @Test
+    void restauranteLevaTaxaDeEntrega() {
+        Restaurante restaurante = Restaurante.builder().id(2L).nome("Pizzaria").categoria("Italiana")
+                .TaxaEntrega(new BigDecimal("5.50")).ativo(true).build();
+
+        RestauranteResponse response = mapper.toRestauranteResponse(restaurante);
+
+        assertThat(response.getNome()).isEqualTo("Pizzaria");
+        assertThat(response.getTaxaEntrega()).isEqualByComparingTo("5.50");
+        assertThat(response.getAtivo()).isTrue();
+    }
+
+    @Test
+    void dataDeCadastroDoClienteVemDaDataDeCriacao() {
+        LocalDateTime criacao = LocalDateTime.of(2024, 1, 2, 3, 4);
+        Cliente cliente = Cliente.builder().id(3L).nome("Ana").email("ana@email.com").dataCriacao(criacao).build();
+
+        ClienteResponse response = mapper.toClienteResponse(cliente);
+
+        assertThat(response.getEmail()).isEqualTo("ana@email.com");
+        assertThat(response.getDataCadastro()).isEqualTo(criacao);
+    }
+}
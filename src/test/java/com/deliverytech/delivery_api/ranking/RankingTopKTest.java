@@ -0,0 +1,58 @@
+package com.deliverytech.delivery_api.ranking;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.deliverytech.delivery_api.ranking.RankingTopK.Posicao;
+
+class RankingTopKTest {
+
+    private final RankingTopK ranking = new RankingTopK();
+
+    @Test
+    void ordenaPorTotalEDesempataPeloMenorId() {
+        ranking.somar(3L, 5);
+        ranking.somar(1L, 2);
+        ranking.somar(2L, 5);
+        ranking.somar(1L, 4);
+
+        assertThat(ranking.topo(3)).containsExactly(new Posicao(1L, 6), new Posicao(2L, 5), new Posicao(3L, 5));
+        assertThat(ranking.topo(2, id -> id != 1L)).containsExactly(new Posicao(2L, 5), new Posicao(3L, 5));
+        assertThat(ranking.topo(10)).hasSize(3);
+    }
+
+    @Test
+    void totalZeradoSaiDoRanking() {
+        ranking.somar(1L, 2);
+        ranking.somar(2L, 1);
+        ranking.somar(1L, -2);
+
+        assertThat(ranking.total(1L)).isZero();
+        assertThat(ranking.topo(10)).containsExactly(new Posicao(2L, 1));
+    }
+
+    @Test
+    void topoConfereComOrdenacaoCompleta() {
+        Random random = new Random(42);
+        Map<Long, Long> totais = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            long id = random.nextInt(500);
+            ranking.somar(id, 1);
+            totais.merge(id, 1L, Long::sum);
+        }
+
+        List<Posicao> esperado = totais.entrySet().stream()
+                .map(entrada -> new Posicao(entrada.getKey(), entrada.getValue()))
+                .sorted(Comparator.comparingLong(Posicao::total).reversed().thenComparingLong(Posicao::id))
+                .limit(20)
+                .toList();
+        assertThat(ranking.topo(20)).isEqualTo(esperado);
+    }
+}
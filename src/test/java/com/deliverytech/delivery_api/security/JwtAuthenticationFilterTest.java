@@ -0,0 +1,79 @@
+package com.deliverytech.delivery_api.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.deliverytech.delivery_api.model.Role;
+import com.deliverytech.delivery_api.model.Usuario;
+import com.deliverytech.delivery_api.repository.UsuarioRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+class JwtAuthenticationFilterTest {
+
+    @Autowired
+    private JwtAuthenticationFilter filter;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void limparContexto() {
+        SecurityContextHolder.clearContext();
+        entityManagerFactory.unwrap(SessionFactory.class).getStatistics().setStatisticsEnabled(false);
+    }
+
+    @Test
+    void tokenJaValidadoNaoConsultaOBanco() throws Exception {
+        String email = "jwt" + System.nanoTime() + "@email.com";
+        usuarioRepository.save(Usuario.builder()
+                .nome("Usuário JWT")
+                .email(email)
+                .senha("x")
+                .role(Role.CLIENTE)
+                .ativo(true)
+                .dataCriacao(LocalDateTime.now())
+                .build());
+        String token = jwtUtil.gerarToken(email);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        statistics.clear();
+        assertThat(autenticar(token).getName()).isEqualTo(email);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        assertThat(autenticar(token).getName()).isEqualTo(email);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void tokenInvalidoNaoAutentica() throws Exception {
+        assertThat(autenticar("token-invalido")).isNull();
+    }
+
+    private Authentication autenticar(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/restaurantes");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,135 @@
+package com.deliverytech.delivery_api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.deliverytech.delivery_api.dto.request.ItemPedidoRequest;
+import com.deliverytech.delivery_api.dto.request.PedidoRequest;
+import com.deliverytech.delivery_api.dto.response.PaginaResponse;
+import com.deliverytech.delivery_api.dto.response.PedidoResponse;
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.ClienteRepository;
+import com.deliverytech.delivery_api.repository.PedidoRepository;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Listagem de pedidos do restaurante por projeção: mesmo conteúdo da listagem por entidades,
+ * com menos consultas. A memória alocada por requisição é medida em ListagemPedidosBenchmark (perfil jmh).
+ */
+@SpringBootTest
+class ListagemProjecaoTest {
+
+    private static final int PEDIDOS = 100;
+    private static final int ITENS_POR_PEDIDO = 3;
+
+    @Autowired
+    private PedidoService pedidoService;
+    @Autowired
+    private PedidoRepository pedidoRepository;
+    @Autowired
+    private ClienteRepository clienteRepository;
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+    @Autowired
+    private ProdutoRepository produtoRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Restaurante restaurante;
+
+    @BeforeEach
+    void setUp() {
+        Cliente cliente = clienteRepository.save(Cliente.builder()
+                .nome("Cliente Projeção")
+                .email("projecao" + System.nanoTime() + "@email.com")
+                .telefone("11999999999")
+                .endereco("Rua do Teste, 100")
+                .build());
+        restaurante = restauranteRepository.save(Restaurante.builder()
+                .nome("Restaurante Projeção")
+                .telefone("1133334444")
+                .TaxaEntrega(new BigDecimal("4.00"))
+                .build());
+        List<ItemPedidoRequest> itens = new ArrayList<>();
+        for (int i = 0; i < ITENS_POR_PEDIDO; i++) {
+            Produto produto = produtoRepository.save(Produto.builder()
+                    .nome("Produto " + i)
+                    .categoria("Lanches")
+                    .preco(new BigDecimal("20.00"))
+                    .restaurante(restaurante)
+                    .build());
+            itens.add(ItemPedidoRequest.builder().produtoId(produto.getId()).quantidade(i + 1).build());
+        }
+        for (int i = 0; i < PEDIDOS; i++) {
+            pedidoService.realizar(PedidoRequest.builder()
+                    .clienteId(cliente.getId())
+                    .restauranteId(restaurante.getId())
+                    .enderecoEntrega("Rua do Teste, 100")
+                    .itens(itens)
+                    .build());
+        }
+    }
+
+    @Test
+    void projecaoTrazOsMesmosPedidosComMenosConsultas() {
+        // Ligadas só aqui: um contexto com outras propriedades recriaria o banco H2 compartilhado
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.setStatisticsEnabled(true);
+        estatisticas.clear();
+
+        PaginaResponse<PedidoResponse> pagina = pedidoService.listarPorRestaurante(restaurante.getId(), null, PEDIDOS);
+
+        // Uma consulta para os pedidos e uma para os itens da página; cliente e restaurante não são lidos
+        long consultas = estatisticas.getPrepareStatementCount();
+        long entidadesCarregadas = estatisticas.getEntityLoadCount();
+        estatisticas.setStatisticsEnabled(false);
+        assertThat(consultas).isEqualTo(2);
+        assertThat(entidadesCarregadas).isZero();
+        assertThat(pagina.getConteudo()).hasSize(PEDIDOS);
+        List<Pedido> entidades = listarEntidades();
+        for (int i = 0; i < PEDIDOS; i++) {
+            PedidoResponse resposta = pagina.getConteudo().get(i);
+            Pedido pedido = entidades.get(i);
+            assertThat(resposta.getId()).isEqualTo(pedido.getId());
+            assertThat(resposta.getClienteId()).isEqualTo(pedido.getCliente().getId());
+            assertThat(resposta.getValorTotal()).isEqualByComparingTo(pedido.getTotal());
+            assertThat(resposta.getItens()).extracting("produtoId")
+                    .containsExactlyElementsOf(pedido.getItens().stream().map(item -> item.getProduto().getId()).toList());
+        }
+    }
+
+    // Caminho por entidades: pagina os IDs e carrega pedido com cliente, restaurante, itens e produtos.
+    // O limite vai na consulta de IDs; com JOIN FETCH de coleção o Hibernate paginaria em memória
+    private List<Pedido> listarEntidades() {
+        return transactionTemplate.execute(status -> {
+            List<Long> ids = entityManager.createQuery(
+                            "SELECT p.id FROM Pedido p WHERE p.restaurante.id = :restauranteId ORDER BY p.id DESC", Long.class)
+                    .setParameter("restauranteId", restaurante.getId())
+                    .setMaxResults(PEDIDOS)
+                    .getResultList();
+            return pedidoRepository.findAllWithItensByIdIn(ids);
+        });
+    }
+}
@@ -0,0 +1,202 @@
+package com.deliverytech.delivery_api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.deliverytech.delivery_api.dto.request.ItemPedidoRequest;
+import com.deliverytech.delivery_api.dto.request.PedidoRequest;
+import com.deliverytech.delivery_api.dto.response.PaginaResponse;
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.ItemPedido;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.model.StatusPedido;
+import com.deliverytech.delivery_api.repository.ClienteRepository;
+import com.deliverytech.delivery_api.repository.PedidoRepository;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Guarda contra N+1 nas consultas de pedidos: o número de comandos SQL não pode crescer
+ * com a quantidade de pedidos, clientes ou produtos listados.
+ */
+@SpringBootTest
+class PedidoConsultasTest {
+
+    private static final int PEDIDOS = 30;
+
+    @Autowired
+    private PedidoService pedidoService;
+    @Autowired
+    private PedidoRepository pedidoRepository;
+    @Autowired
+    private ClienteRepository clienteRepository;
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+    @Autowired
+    private ProdutoRepository produtoRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Restaurante restaurante;
+    private Cliente primeiroCliente;
+    private List<ItemPedidoRequest> itens;
+
+    @BeforeEach
+    void setUp() {
+        restaurante = restauranteRepository.save(Restaurante.builder()
+                .nome("Restaurante Consultas")
+                .telefone("1133334444")
+                .TaxaEntrega(new BigDecimal("4.00"))
+                .build());
+        itens = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Produto produto = produtoRepository.save(Produto.builder()
+                    .nome("Produto Consultas " + i)
+                    .categoria("Lanches")
+                    .preco(new BigDecimal("15.00"))
+                    .restaurante(restaurante)
+                    .build());
+            itens.add(ItemPedidoRequest.builder().produtoId(produto.getId()).quantidade(1).build());
+        }
+        // Um cliente por pedido: um SELECT por cliente apareceria na contagem
+        for (int i = 0; i < PEDIDOS; i++) {
+            Cliente cliente = clienteRepository.save(Cliente.builder()
+                    .nome("Cliente Consultas " + i)
+                    .email("consultas" + System.nanoTime() + "@email.com")
+                    .telefone("11999999999")
+                    .endereco("Rua do Teste, 100")
+                    .build());
+            if (i == 0) {
+                primeiroCliente = cliente;
+            }
+            pedidoService.realizar(PedidoRequest.builder()
+                    .clienteId(cliente.getId())
+                    .restauranteId(restaurante.getId())
+                    .enderecoEntrega("Rua do Teste, 100")
+                    .itens(itens)
+                    .build());
+        }
+    }
+
+    @Test
+    void listagemPorStatusUsaUmaConsulta() throws Exception {
+        Statistics estatisticas = iniciarContagem();
+        List<Pedido> pedidos = pedidoService.listarPorRestauranteEStatus(restaurante.getId(), StatusPedido.REALIZADO);
+        long comandos = encerrarContagem(estatisticas);
+
+        assertThat(pedidos).hasSize(PEDIDOS);
+        assertThat(comandos).isEqualTo(1);
+        // Serializada fora da transação: nada pode ter ficado LAZY
+        JsonNode json = objectMapper.valueToTree(pedidos);
+        assertThat(json.get(0).at("/cliente/nome").asText()).startsWith("Cliente Consultas");
+        assertThat(json.get(0).at("/itens/0/produto/nome").asText()).startsWith("Produto Consultas");
+    }
+
+    @Test
+    void detalheEPaginaDoClienteTemConsultasFixas() {
+        Statistics estatisticas = iniciarContagem();
+        PaginaResponse<Pedido> pagina = pedidoService.listarPorCliente(primeiroCliente.getId(), null, 20);
+        assertThat(encerrarContagem(estatisticas)).isEqualTo(2);
+        objectMapper.valueToTree(pagina);
+
+        Long id = pagina.getConteudo().get(0).getId();
+        estatisticas = iniciarContagem();
+        Pedido pedido = pedidoService.buscarPorIdComItens(id).orElseThrow();
+        assertThat(encerrarContagem(estatisticas)).isEqualTo(1);
+        assertThat(pedido.getItens()).extracting(item -> item.getProduto().getNome()).hasSize(3);
+        assertThat(pedido.getRestaurante().getNome()).isEqualTo("Restaurante Consultas");
+    }
+
+    @Test
+    void historicoLongoPaginadoComConsultasFixasPorPagina() {
+        for (int i = 1; i < 250; i++) {
+            pedidoService.realizar(PedidoRequest.builder()
+                    .clienteId(primeiroCliente.getId())
+                    .restauranteId(restaurante.getId())
+                    .enderecoEntrega("Rua do Teste, 100")
+                    .itens(itens)
+                    .build());
+        }
+
+        List<Long> vistos = new ArrayList<>();
+        String cursor = null;
+        do {
+            Statistics estatisticas = iniciarContagem();
+            PaginaResponse<Pedido> pagina = pedidoService.listarPorCliente(
+                    primeiroCliente.getId(), PaginaResponse.decodificarCursor(cursor), PaginaResponse.LIMITE_MAXIMO);
+            // IDs da página + pedidos com itens e produtos, independentemente do tamanho do histórico
+            assertThat(encerrarContagem(estatisticas)).isEqualTo(2);
+            assertThat(pagina.getConteudo()).allSatisfy(pedido -> assertThat(pedido.getItens()).hasSize(3));
+            pagina.getConteudo().forEach(pedido -> vistos.add(pedido.getId()));
+            cursor = pagina.getProximoCursor();
+        } while (cursor != null);
+
+        assertThat(vistos).hasSize(250).doesNotHaveDuplicates().isSortedAccordingTo((a, b) -> Long.compare(b, a));
+    }
+
+    @Test
+    void pedidoCarregadoComoProxySerializaSemCamposDoHibernate() {
+        Long id = pedidoService.listarPorCliente(primeiroCliente.getId(), null, 1).getConteudo().get(0).getId();
+
+        JsonNode json = transactionTemplate.execute(status -> {
+            Pedido proxy = pedidoRepository.getReferenceById(id);
+            return objectMapper.valueToTree(proxy);
+        });
+
+        assertThat(json.get("id").asLong()).isEqualTo(id);
+        assertThat(json.has("hibernateLazyInitializer")).isFalse();
+        assertThat(json.get("itens")).hasSize(3);
+    }
+
+    @Test
+    void navegacaoForaDoGrafoCarregaEmLotes() {
+        Statistics estatisticas = iniciarContagem();
+        long produtosLidos = transactionTemplate.execute(status -> pedidoRepository.findByRestauranteId(restaurante.getId())
+                .stream()
+                .peek(pedido -> pedido.getCliente().getNome())
+                .flatMap(pedido -> pedido.getItens().stream())
+                .map(ItemPedido::getProduto)
+                .map(Produto::getNome)
+                .count());
+        long comandos = encerrarContagem(estatisticas);
+
+        assertThat(produtosLidos).isEqualTo(PEDIDOS * 3);
+        // Pedidos + clientes, itens e produtos em lotes de 50, em vez de 1 + 3 × PEDIDOS
+        assertThat(comandos).isLessThanOrEqualTo(4);
+    }
+
+    // Estatísticas ligadas só durante a medição: um contexto com outras propriedades recriaria o banco H2
+    private Statistics iniciarContagem() {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.setStatisticsEnabled(true);
+        estatisticas.clear();
+        return estatisticas;
+    }
+
+    private static long encerrarContagem(Statistics estatisticas) {
+        long comandos = estatisticas.getPrepareStatementCount();
+        estatisticas.setStatisticsEnabled(false);
+        return comandos;
+    }
+}
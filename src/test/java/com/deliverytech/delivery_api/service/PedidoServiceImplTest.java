@@ -0,0 +1,167 @@
+package com.deliverytech.delivery_api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.deliverytech.delivery_api.dto.request.ItemPedidoRequest;
+import com.deliverytech.delivery_api.dto.request.PedidoRequest;
+import com.deliverytech.delivery_api.dto.response.PaginaResponse;
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.ClienteRepository;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Mede quantos comandos SQL a realização de um pedido custa conforme o tamanho do carrinho.
+ */
+@SpringBootTest
+class PedidoServiceImplTest {
+
+    @Autowired
+    private PedidoService pedidoService;
+    @Autowired
+    private ClienteRepository clienteRepository;
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+    @Autowired
+    private ProdutoRepository produtoRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Cliente cliente;
+    private Restaurante restaurante;
+    private List<Produto> cardapio;
+
+    @BeforeEach
+    void setUp() {
+        cliente = clienteRepository.save(Cliente.builder()
+                .nome("Cliente Benchmark")
+                .email("benchmark" + System.nanoTime() + "@email.com")
+                .telefone("11999999999")
+                .endereco("Rua do Teste, 100")
+                .build());
+
+        restaurante = restauranteRepository.save(Restaurante.builder()
+                .nome("Restaurante Benchmark")
+                .telefone("1133334444")
+                .TaxaEntrega(new BigDecimal("4.00"))
+                .build());
+
+        cardapio = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            cardapio.add(produtoRepository.save(Produto.builder()
+                    .nome("Produto " + i)
+                    .categoria("Lanches")
+                    .preco(new BigDecimal("10.00").add(BigDecimal.valueOf(i)))
+                    .restaurante(restaurante)
+                    .build()));
+        }
+    }
+
+    // Estatísticas ligadas só durante a medição: o contexto (e o banco em memória) é o mesmo das outras classes
+    @AfterEach
+    void desligarEstatisticas() {
+        entityManagerFactory.unwrap(SessionFactory.class).getStatistics().setStatisticsEnabled(false);
+    }
+
+    @Test
+    void realizarCalculaTotalDosItens() {
+        Pedido pedido = pedidoService.realizar(pedidoCom(3));
+
+        // 11.00 * 1 + 12.00 * 2 + 13.00 * 3
+        assertThat(pedido.getId()).isNotNull();
+        assertThat(pedido.getItens()).hasSize(3);
+        assertThat(pedido.getTotal()).isEqualByComparingTo("74.00");
+    }
+
+    @Test
+    void comandosSqlPorTamanhoDoCarrinho() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        Map<Integer, Long> comandosPorCarrinho = new LinkedHashMap<>();
+
+        for (int tamanho : new int[] {1, 5, 10, 15}) {
+            statistics.clear();
+            pedidoService.realizar(pedidoCom(tamanho));
+            comandosPorCarrinho.put(tamanho, statistics.getPrepareStatementCount());
+        }
+
+        // Produtos em uma única consulta e itens em um único lote: o custo não cresce com o carrinho
+        // (folga de 1 para uma eventual nova reserva de IDs na sequence)
+        long base = comandosPorCarrinho.get(1);
+        comandosPorCarrinho.values().forEach(comandos ->
+                assertThat(comandos).isLessThanOrEqualTo(base + 1));
+    }
+
+    @Test
+    void pedidoCom20ItensGravaItensEmLote() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        // Aquece os otimizadores pooled, que consultam a sequence duas vezes no primeiro uso
+        pedidoService.realizar(pedidoCom(1));
+        statistics.clear();
+
+        pedidoService.realizar(pedidoCom(20));
+
+        // cliente + restaurante + produtos + INSERT pedido + lote de INSERT itens,
+        // mais no máximo uma nova reserva de IDs em cada sequence
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(21);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(7);
+    }
+
+    @Test
+    void listarPorClientePercorrePaginasPorCursor() {
+        List<Long> realizados = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            realizados.add(pedidoService.realizar(pedidoCom(i)).getId());
+        }
+
+        List<Long> percorridos = new ArrayList<>();
+        Long cursor = null;
+        PaginaResponse<Pedido> pagina;
+        do {
+            pagina = pedidoService.listarPorCliente(cliente.getId(), cursor, 2);
+            assertThat(pagina.getConteudo()).hasSizeLessThanOrEqualTo(2);
+            // Itens já carregados: acessíveis fora da transação
+            pagina.getConteudo().forEach(p -> assertThat(p.getItens()).isNotEmpty());
+            pagina.getConteudo().forEach(p -> percorridos.add(p.getId()));
+            cursor = PaginaResponse.decodificarCursor(pagina.getProximoCursor());
+        } while (pagina.isTemMais());
+
+        assertThat(percorridos).containsExactlyElementsOf(realizados.reversed());
+    }
+
+    private PedidoRequest pedidoCom(int quantidadeItens) {
+        List<ItemPedidoRequest> itens = new ArrayList<>();
+        for (int i = 0; i < quantidadeItens; i++) {
+            itens.add(ItemPedidoRequest.builder()
+                    .produtoId(cardapio.get(i).getId())
+                    .quantidade(i + 1)
+                    .build());
+        }
+        return PedidoRequest.builder()
+                .clienteId(cliente.getId())
+                .restauranteId(restaurante.getId())
+                .enderecoEntrega("Rua do Teste, 100")
+                .itens(itens)
+                .build();
+    }
+}
@@ -0,0 +1,311 @@
+package com.deliverytech.delivery_api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongFunction;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.deliverytech.delivery_api.dto.request.ItemPedidoRequest;
+import com.deliverytech.delivery_api.dto.request.PedidoRequest;
+import com.deliverytech.delivery_api.dto.response.TransicaoStatusResponse;
+import com.deliverytech.delivery_api.dto.response.TransicaoStatusResponse.Resultado;
+import com.deliverytech.delivery_api.event.PedidoStatusAlteradoEvent;
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.model.StatusPedido;
+import com.deliverytech.delivery_api.model.VendaDiaria;
+import com.deliverytech.delivery_api.model.VendaDiariaId;
+import com.deliverytech.delivery_api.repository.ClienteRepository;
+import com.deliverytech.delivery_api.repository.PedidoRepository;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.repository.VendaDiariaRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Ciclo de vida do pedido: transições válidas e comandos concorrentes sobre o mesmo pedido.
+ */
+@SpringBootTest
+class PedidoTransicaoStatusTest {
+
+    @Autowired
+    private PedidoService pedidoService;
+    @Autowired
+    private PedidoRepository pedidoRepository;
+    @Autowired
+    private ClienteRepository clienteRepository;
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+    @Autowired
+    private ProdutoRepository produtoRepository;
+    @Autowired
+    private VendaDiariaRepository vendaDiariaRepository;
+    @Autowired
+    private VendaDiariaService vendaDiariaService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Cliente cliente;
+    private Restaurante restaurante;
+    private Produto produto;
+
+    @BeforeEach
+    void setUp() {
+        cliente = clienteRepository.save(Cliente.builder()
+                .nome("Cliente Status")
+                .email("status" + System.nanoTime() + "@email.com")
+                .telefone("11999999999")
+                .endereco("Rua do Teste, 100")
+                .build());
+        restaurante = restauranteRepository.save(Restaurante.builder()
+                .nome("Restaurante Status")
+                .telefone("1133334444")
+                .TaxaEntrega(new BigDecimal("4.00"))
+                .build());
+        produto = produtoRepository.save(Produto.builder()
+                .nome("Produto Status")
+                .categoria("Lanches")
+                .preco(new BigDecimal("25.00"))
+                .restaurante(restaurante)
+                .build());
+    }
+
+    // Estatísticas ligadas só durante a medição: o contexto (e o banco em memória) é o mesmo das outras classes
+    @AfterEach
+    void desligarEstatisticas() {
+        entityManagerFactory.unwrap(SessionFactory.class).getStatistics().setStatisticsEnabled(false);
+    }
+
+    @Test
+    void cicloCompletoRespeitaTabelaDeTransicoes() {
+        Long id = realizar();
+
+        assertThatThrownBy(() -> pedidoService.finalizarEntrega(id))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        pedidoService.confirmar(id);
+        pedidoService.iniciarPreparo(id);
+        pedidoService.finalizarPreparo(id);
+        pedidoService.iniciarEntrega(id);
+        assertThatThrownBy(() -> pedidoService.cancelar(id))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("não pode ser cancelado");
+
+        Pedido entregue = pedidoService.finalizarEntrega(id);
+        assertThat(entregue.getStatus()).isEqualTo(StatusPedido.ENTREGUE);
+        assertThat(entregue.getDataEntrega()).isNotNull();
+        assertThatThrownBy(() -> pedidoService.confirmar(id))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("já finalizado");
+    }
+
+    @Test
+    void cancelamentoEColetaConcorrentesTemUmUnicoVencedor() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < 20; i++) {
+                Long id = realizar();
+                pedidoService.confirmar(id);
+                pedidoService.iniciarPreparo(id);
+                pedidoService.finalizarPreparo(id);
+
+                // Restaurante cancela enquanto o entregador coleta o pedido pronto
+                List<Boolean> sucessos = concorrentes(executor, id, pedidoService::cancelar, pedidoService::iniciarEntrega);
+
+                assertThat(sucessos).containsOnlyOnce(true);
+                StatusPedido esperado = sucessos.get(0) ? StatusPedido.CANCELADO : StatusPedido.EM_ENTREGA;
+                assertThat(pedidoRepository.findStatusById(id)).contains(esperado);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void entregaRepetidaConcorrenteContaUmaVezNaVendaDiaria() throws Exception {
+        Long id = realizar();
+        pedidoService.confirmar(id);
+        pedidoService.iniciarPreparo(id);
+        pedidoService.finalizarPreparo(id);
+        pedidoService.iniciarEntrega(id);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Boolean> sucessos;
+        try {
+            LongFunction<Pedido> finalizar = pedidoService::finalizarEntrega;
+            sucessos = concorrentes(executor, id,
+                    finalizar, finalizar, finalizar, finalizar, finalizar, finalizar, finalizar, finalizar);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(sucessos).containsOnlyOnce(true);
+        VendaDiaria venda = vendaDiariaRepository
+                .findById(new VendaDiariaId(restaurante.getId(), LocalDate.now()))
+                .orElseThrow();
+        assertThat(venda.getPedidosEntregues()).isEqualTo(1L);
+        assertThat(venda.getValorTotal()).isEqualByComparingTo("25.00");
+    }
+
+    @Test
+    void loteReportaResultadoPorPedidoComConsultasFixas() {
+        List<Long> realizados = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            realizados.add(realizar());
+        }
+        Long jaConfirmado = realizar();
+        pedidoService.confirmar(jaConfirmado);
+        List<Long> ids = new ArrayList<>(realizados);
+        ids.add(jaConfirmado);
+        ids.add(Long.MAX_VALUE);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        statistics.clear();
+        List<TransicaoStatusResponse> resultados = pedidoService.atualizarStatusEmLote(ids, StatusPedido.CONFIRMADO);
+
+        assertThat(resultados).extracting(TransicaoStatusResponse::getPedidoId).containsExactlyElementsOf(ids);
+        assertThat(resultados.subList(0, 20)).allSatisfy(r -> {
+            assertThat(r.getResultado()).isEqualTo(Resultado.APLICADO);
+            assertThat(r.getStatus()).isEqualTo(StatusPedido.CONFIRMADO);
+        });
+        assertThat(resultados.get(20).getResultado()).isEqualTo(Resultado.TRANSICAO_INVALIDA);
+        assertThat(resultados.get(21).getResultado()).isEqualTo(Resultado.NAO_ENCONTRADO);
+        // Leitura dos status, um UPDATE para o grupo REALIZADO e a carga para os eventos
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+        realizados.forEach(id -> assertThat(pedidoRepository.findStatusById(id)).contains(StatusPedido.CONFIRMADO));
+    }
+
+    @Test
+    void loteConcorrenteComCancelamentoNaoAplicaDuasVezes() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int rodada = 0; rodada < 10; rodada++) {
+                List<Long> prontos = new ArrayList<>();
+                for (int i = 0; i < 5; i++) {
+                    Long id = realizar();
+                    pedidoService.confirmar(id);
+                    pedidoService.iniciarPreparo(id);
+                    pedidoService.finalizarPreparo(id);
+                    prontos.add(id);
+                }
+                Long disputado = prontos.get(rodada % prontos.size());
+
+                CountDownLatch largada = new CountDownLatch(1);
+                Future<List<TransicaoStatusResponse>> lote = executor.submit(() -> {
+                    largada.await();
+                    return pedidoService.atualizarStatusEmLote(prontos, StatusPedido.EM_ENTREGA);
+                });
+                Future<Boolean> cancelamento = executor.submit(() -> {
+                    largada.await();
+                    try {
+                        pedidoService.cancelar(disputado);
+                        return true;
+                    } catch (IllegalArgumentException e) {
+                        return false;
+                    }
+                });
+                largada.countDown();
+
+                TransicaoStatusResponse resultadoDisputado = lote.get().stream()
+                        .filter(r -> r.getPedidoId().equals(disputado))
+                        .findFirst().orElseThrow();
+                boolean loteVenceu = resultadoDisputado.getResultado() == Resultado.APLICADO;
+                assertThat(loteVenceu).isNotEqualTo(cancelamento.get());
+                assertThat(pedidoRepository.findStatusById(disputado))
+                        .contains(loteVenceu ? StatusPedido.EM_ENTREGA : StatusPedido.CANCELADO);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void linhaDaVendaDiariaCriadaAoMesmoTempoNaoPerdeIncremento() throws Exception {
+        PedidoStatusAlteradoEvent entrega = new PedidoStatusAlteradoEvent(1L, restaurante.getId(), cliente.getId(),
+                StatusPedido.EM_ENTREGA, StatusPedido.ENTREGUE, new BigDecimal("10.00"), LocalDateTime.now());
+        CountDownLatch inserida = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // A primeira transação cria a linha e segura o commit; a segunda (na sua única conexão)
+            // espera por ela e soma na mesma linha
+            Future<?> primeira = executor.submit(() -> transactionTemplate.executeWithoutResult(tx -> {
+                vendaDiariaService.registrar(entrega);
+                inserida.countDown();
+                try {
+                    Thread.sleep(300);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            inserida.await();
+            vendaDiariaService.registrar(entrega);
+            primeira.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        VendaDiaria venda = vendaDiariaRepository
+                .findById(new VendaDiariaId(restaurante.getId(), LocalDate.now()))
+                .orElseThrow();
+        assertThat(venda.getPedidosEntregues()).isEqualTo(2L);
+        assertThat(venda.getValorTotal()).isEqualByComparingTo("20.00");
+    }
+
+    // Dispara os comandos ao mesmo tempo; true para os que concluíram, false para os recusados
+    @SafeVarargs
+    private static List<Boolean> concorrentes(ExecutorService executor, Long id, LongFunction<Pedido>... comandos)
+            throws Exception {
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Boolean>> futuros = new ArrayList<>();
+        for (LongFunction<Pedido> comando : comandos) {
+            futuros.add(executor.submit(() -> {
+                largada.await();
+                try {
+                    comando.apply(id);
+                    return true;
+                } catch (IllegalArgumentException e) {
+                    return false;
+                }
+            }));
+        }
+        largada.countDown();
+        List<Boolean> sucessos = new ArrayList<>();
+        for (Future<Boolean> futuro : futuros) {
+            sucessos.add(futuro.get());
+        }
+        return sucessos;
+    }
+
+    private Long realizar() {
+        return pedidoService.realizar(PedidoRequest.builder()
+                .clienteId(cliente.getId())
+                .restauranteId(restaurante.getId())
+                .enderecoEntrega("Rua do Teste, 100")
+                .itens(List.of(ItemPedidoRequest.builder().produtoId(produto.getId()).quantidade(1).build()))
+                .build()).getId();
+    }
+}
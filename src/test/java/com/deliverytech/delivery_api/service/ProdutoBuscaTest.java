@@ -0,0 +1,83 @@
+package com.deliverytech.delivery_api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.deliverytech.delivery_api.dto.request.ProdutoRequest;
+import com.deliverytech.delivery_api.dto.response.ProdutoResponse;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Busca do cardápio pelo índice em memória: acompanha cadastro, alteração e exclusão
+ * e responde sem abrir sessão nem executar SQL.
+ */
+@SpringBootTest
+class ProdutoBuscaTest {
+
+    @Autowired
+    private ProdutoService produtoService;
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void buscaAcompanhaAlteracoesSemConsultarOBanco() {
+        Restaurante restaurante = restauranteRepository.save(Restaurante.builder()
+                .nome("Restaurante Busca")
+                .telefone("1133334444")
+                .TaxaEntrega(new BigDecimal("4.00"))
+                .build());
+        Produto pao = produtoService.cadastrar(request(restaurante, "Pão de Queijo", "Lanches"));
+        Produto suco = produtoService.cadastrar(request(restaurante, "Suco de Laranja", "Bebidas"));
+
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.setStatisticsEnabled(true);
+        estatisticas.clear();
+        for (int i = 0; i < 100; i++) {
+            produtoService.buscarPorNome(restaurante.getId(), "pao de quei");
+        }
+        long sessoes = estatisticas.getSessionOpenCount();
+        long comandos = estatisticas.getPrepareStatementCount();
+        estatisticas.setStatisticsEnabled(false);
+
+        assertThat(sessoes).isZero();
+        assertThat(comandos).isZero();
+        assertThat(produtoService.buscarPorNome(restaurante.getId(), "PÃO"))
+                .extracting(ProdutoResponse::getId).containsExactly(pao.getId());
+        assertThat(produtoService.buscarPorCategoria(restaurante.getId(), "bebida"))
+                .extracting(ProdutoResponse::getId).containsExactly(suco.getId());
+
+        produtoService.atualizar(suco.getId(), request(restaurante, "Suco de Maracujá", "Bebidas"));
+        produtoService.excluir(pao.getId());
+
+        assertThat(produtoService.buscar(restaurante.getId(), "maracuja"))
+                .extracting(ProdutoResponse::getNome).containsExactly("Suco de Maracujá");
+        assertThat(produtoService.buscar(restaurante.getId(), "laranja")).isEmpty();
+        assertThat(produtoService.buscar(restaurante.getId(), "queijo")).isEmpty();
+        assertThatThrownBy(() -> produtoService.buscar(Long.MAX_VALUE, "suco"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Restaurante não encontrado");
+    }
+
+    private static ProdutoRequest request(Restaurante restaurante, String nome, String categoria) {
+        return ProdutoRequest.builder()
+                .nome(nome)
+                .categoria(categoria)
+                .preco(new BigDecimal("12.00"))
+                .restauranteId(restaurante.getId())
+                .build();
+    }
+}
@@ -0,0 +1,172 @@
+package com.deliverytech.delivery_api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.deliverytech.delivery_api.dto.request.ItemPedidoRequest;
+import com.deliverytech.delivery_api.dto.request.PedidoRequest;
+import com.deliverytech.delivery_api.dto.request.ProdutoRequest;
+import com.deliverytech.delivery_api.dto.response.ProdutoResponse;
+import com.deliverytech.delivery_api.dto.response.RankingPedidosResponse;
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.model.StatusPedido;
+import com.deliverytech.delivery_api.ranking.RankingTopK.Posicao;
+import com.deliverytech.delivery_api.ranking.RankingsPedidos;
+import com.deliverytech.delivery_api.repository.ClienteRepository;
+import com.deliverytech.delivery_api.repository.PedidoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Rankings de pedidos entregues: somam a cada entrega (individual ou em lote), respondem sem
+ * agrupar no banco e a reconciliação incorpora entregas gravadas fora do serviço.
+ */
+@SpringBootTest
+class RankingsPedidosTest {
+
+    @Autowired
+    private PedidoService pedidoService;
+    @Autowired
+    private ProdutoService produtoService;
+    @Autowired
+    private RestauranteService restauranteService;
+    @Autowired
+    private ClienteRepository clienteRepository;
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+    @Autowired
+    private PedidoRepository pedidoRepository;
+    @Autowired
+    private RankingsPedidos rankingsPedidos;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Cliente cliente;
+    private Restaurante pizzaria;
+    private Restaurante lanchonete;
+    private Produto pizza;
+    private Produto refrigerante;
+    private Produto lanche;
+
+    @BeforeEach
+    void setUp() {
+        cliente = clienteRepository.save(Cliente.builder()
+                .nome("Cliente Ranking")
+                .email("ranking" + System.nanoTime() + "@email.com")
+                .telefone("11999999999")
+                .endereco("Rua do Teste, 100")
+                .build());
+        pizzaria = restaurante("Pizzaria Ranking");
+        lanchonete = restaurante("Lanchonete Ranking");
+        pizza = produtoService.cadastrar(produto(pizzaria, "Pizza"));
+        refrigerante = produtoService.cadastrar(produto(pizzaria, "Refrigerante"));
+        lanche = produtoService.cadastrar(produto(lanchonete, "Lanche"));
+    }
+
+    @Test
+    void entregasSomamNosRankings() {
+        entregar(realizar(pizzaria, Map.of(pizza, 1, refrigerante, 2)));
+        Long emLote = realizar(pizzaria, Map.of(refrigerante, 2));
+        for (StatusPedido status : List.of(StatusPedido.CONFIRMADO, StatusPedido.EM_PREPARO, StatusPedido.PRONTO,
+                StatusPedido.EM_ENTREGA, StatusPedido.ENTREGUE)) {
+            pedidoService.atualizarStatusEmLote(List.of(emLote), status);
+        }
+        entregar(realizar(lanchonete, Map.of(lanche, 1)));
+        // Cancelado e ainda em andamento não contam
+        pedidoService.cancelar(realizar(lanchonete, Map.of(lanche, 5)));
+        pedidoService.confirmar(realizar(lanchonete, Map.of(lanche, 5)));
+
+        assertThat(rankingsPedidos.topRestaurantes(10, id -> id == pizzaria.getId() || id == lanchonete.getId()))
+                .containsExactly(new Posicao(pizzaria.getId(), 2), new Posicao(lanchonete.getId(), 1));
+        assertThat(rankingsPedidos.topClientes(1000)).contains(new Posicao(cliente.getId(), 3));
+
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.setStatisticsEnabled(true);
+        estatisticas.clear();
+        List<ProdutoResponse> maisVendidos = produtoService.produtosMaisVendidos(pizzaria.getId());
+        long comandosProdutos = estatisticas.getPrepareStatementCount();
+        estatisticas.clear();
+        List<RankingPedidosResponse> ranking = restauranteService.rankingPorPedidos();
+        long comandosRanking = estatisticas.getPrepareStatementCount();
+        estatisticas.setStatisticsEnabled(false);
+
+        assertThat(maisVendidos).extracting(ProdutoResponse::getId)
+                .containsExactly(refrigerante.getId(), pizza.getId());
+        assertThat(comandosProdutos).isZero();
+        // Só os nomes dos restaurantes do ranking, pela chave primária
+        assertThat(comandosRanking).isLessThanOrEqualTo(1);
+        assertThat(ranking).isSortedAccordingTo(
+                Comparator.comparing(RankingPedidosResponse::getTotalPedidos).reversed());
+    }
+
+    @Test
+    void reconciliacaoIncorporaEntregasGravadasDireto() {
+        Long pedidoId = realizar(lanchonete, Map.of(lanche, 4));
+        transactionTemplate.executeWithoutResult(tx -> pedidoRepository.transicionarStatus(
+                List.of(pedidoId), StatusPedido.REALIZADO, StatusPedido.ENTREGUE, null));
+        assertThat(rankingsPedidos.topProdutos(lanchonete.getId(), 10, id -> true)).isEmpty();
+
+        rankingsPedidos.reconstruir();
+
+        assertThat(rankingsPedidos.topProdutos(lanchonete.getId(), 10, id -> true))
+                .containsExactly(new Posicao(lanche.getId(), 4));
+        assertThat(rankingsPedidos.topRestaurantes(10, id -> id == lanchonete.getId()))
+                .containsExactly(new Posicao(lanchonete.getId(), 1));
+    }
+
+    private Long realizar(Restaurante restaurante, Map<Produto, Integer> itens) {
+        return pedidoService.realizar(PedidoRequest.builder()
+                .clienteId(cliente.getId())
+                .restauranteId(restaurante.getId())
+                .enderecoEntrega("Rua do Teste, 100")
+                .itens(itens.entrySet().stream()
+                        .map(item -> ItemPedidoRequest.builder()
+                                .produtoId(item.getKey().getId())
+                                .quantidade(item.getValue())
+                                .build())
+                        .toList())
+                .build()).getId();
+    }
+
+    private void entregar(Long id) {
+        pedidoService.confirmar(id);
+        pedidoService.iniciarPreparo(id);
+        pedidoService.finalizarPreparo(id);
+        pedidoService.iniciarEntrega(id);
+        pedidoService.finalizarEntrega(id);
+    }
+
+    private Restaurante restaurante(String nome) {
+        return restauranteRepository.save(Restaurante.builder()
+                .nome(nome)
+                .telefone("1133334444")
+                .TaxaEntrega(new BigDecimal("4.00"))
+                .build());
+    }
+
+    private static ProdutoRequest produto(Restaurante restaurante, String nome) {
+        return ProdutoRequest.builder()
+                .nome(nome)
+                .categoria("Lanches")
+                .preco(new BigDecimal("12.00"))
+                .restauranteId(restaurante.getId())
+                .build();
+    }
+}
@@ -0,0 +1,237 @@
+package com.deliverytech.delivery_api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.ItemPedido;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.model.StatusPedido;
+import com.deliverytech.delivery_api.repository.ClienteRepository;
+import com.deliverytech.delivery_api.repository.PedidoRepository;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Confere os relatórios agregados no banco e, sob demanda, mede seu tempo sobre um volume grande de pedidos:
+ * {@code mvn test -Dtest=RelatorioServiceImplTest -Drelatorio.volume=1000000 -DargLine=-Xmx3g}
+ */
+@Slf4j
+@SpringBootTest
+class RelatorioServiceImplTest {
+
+    // Janela isolada dos pedidos criados pelos demais testes (que usam a data atual)
+    private static final LocalDate INICIO = LocalDate.of(2020, 1, 1);
+    private static final LocalDate FIM = LocalDate.of(2020, 12, 31);
+
+    @Autowired
+    private RelatorioService relatorioService;
+    @Autowired
+    private ClienteRepository clienteRepository;
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+    @Autowired
+    private ProdutoRepository produtoRepository;
+    @Autowired
+    private PedidoRepository pedidoRepository;
+    @Autowired
+    private PedidoService pedidoService;
+    @Autowired
+    private VendaDiariaService vendaDiariaService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @Transactional
+    void relatoriosAgregamApenasPedidosEntreguesNoPeriodo() {
+        Cliente ana = novoCliente("Ana");
+        Cliente bruno = novoCliente("Bruno");
+        Restaurante pizzaria = novoRestaurante("Pizzaria Teste");
+        Restaurante sushi = novoRestaurante("Sushi Teste");
+        Produto pizza = novoProduto("Pizza Teste", "40.00", pizzaria);
+        Produto temaki = novoProduto("Temaki Teste", "25.00", sushi);
+
+        novoPedido(ana, pizza, 2, StatusPedido.ENTREGUE, LocalDateTime.of(2020, 3, 10, 12, 0));   // 80.00
+        novoPedido(ana, pizza, 1, StatusPedido.ENTREGUE, LocalDateTime.of(2020, 3, 31, 23, 59));  // 40.00
+        novoPedido(bruno, temaki, 2, StatusPedido.ENTREGUE, LocalDateTime.of(2020, 4, 1, 0, 0));  // 50.00
+        novoPedido(bruno, pizza, 5, StatusPedido.CANCELADO, LocalDateTime.of(2020, 3, 15, 12, 0));
+        novoPedido(bruno, temaki, 5, StatusPedido.ENTREGUE, LocalDateTime.of(2021, 1, 1, 0, 0));
+        // Pedidos gravados direto no repositório não passam pela mudança de status
+        vendaDiariaService.reconstruir();
+
+        List<Map<String, Object>> vendas = relatorioService.relatorioVendasPorRestaurante(INICIO, FIM);
+        assertThat(vendas).extracting(m -> m.get("restaurante")).containsExactly("Pizzaria Teste", "Sushi Teste");
+        assertThat((BigDecimal) vendas.get(0).get("totalVendas")).isEqualByComparingTo("120.00");
+        assertThat(vendas.get(0).get("quantidadePedidos")).isEqualTo(2L);
+
+        List<Map<String, Object>> produtos = relatorioService.relatorioProdutosMaisVendidos(1, INICIO, FIM);
+        assertThat(produtos).hasSize(1);
+        assertThat(produtos.get(0).get("produto")).isEqualTo("Pizza Teste");
+        assertThat(produtos.get(0).get("quantidadeVendida")).isEqualTo(3L);
+
+        List<Map<String, Object>> clientes = relatorioService.relatorioClientesAtivos(10, INICIO, FIM);
+        assertThat(clientes).extracting(m -> m.get("cliente")).containsExactly("Ana", "Bruno");
+
+        Map<String, Object> porMes = relatorioService.relatorioPedidosPorPeriodo(INICIO, FIM, "mes");
+        assertThat(porMes.get("totalPedidos")).isEqualTo(3L);
+        assertThat(porMes.get("serie")).asList().hasSize(2);
+
+        Map<String, Object> resumo = relatorioService.resumoVendas(INICIO, FIM);
+        assertThat(resumo.get("totalPedidos")).isEqualTo(3L);
+        assertThat((BigDecimal) resumo.get("ticketMedio")).isEqualByComparingTo("56.67");
+        assertThat(resumo.get("restaurantesAtivos")).isEqualTo(2L);
+        assertThat(resumo.get("clientesAtivos")).isEqualTo(2L);
+    }
+
+    @Test
+    @Transactional
+    void pedidosFinalizadosAtualizamVendasDiarias() {
+        LocalDate dia = LocalDate.of(2019, 5, 10);
+        Cliente cliente = novoCliente("Carla");
+        Produto pizza = novoProduto("Pizza Diaria", "40.00", novoRestaurante("Pizzaria Diaria"));
+        Pedido almoco = novoPedido(cliente, pizza, 1, StatusPedido.EM_ENTREGA, dia.atTime(12, 0));
+        Pedido jantar = novoPedido(cliente, pizza, 2, StatusPedido.EM_ENTREGA, dia.atTime(20, 0));
+        Pedido desistencia = novoPedido(cliente, pizza, 3, StatusPedido.CONFIRMADO, dia.atTime(21, 0));
+
+        pedidoService.finalizarEntrega(almoco.getId());
+        pedidoService.finalizarEntrega(jantar.getId());
+        pedidoService.cancelar(desistencia.getId());
+
+        Map<String, Object> incremental = relatorioService.resumoVendas(dia, dia);
+        assertThat(incremental.get("totalPedidos")).isEqualTo(2L);
+        assertThat((BigDecimal) incremental.get("valorTotalVendas")).isEqualByComparingTo("120.00");
+
+        vendaDiariaService.reconstruir();
+        assertThat(relatorioService.resumoVendas(dia, dia)).isEqualTo(incremental);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "relatorio.volume", matches = "\\d+")
+    void tempoDosRelatoriosComVolume() {
+        int volume = Integer.parseInt(System.getProperty("relatorio.volume"));
+        long inicioCarga = System.nanoTime();
+        gerarPedidos(volume, 50, 1_000, 200);
+        log.info("Carga de {} pedidos: {} ms", volume, (System.nanoTime() - inicioCarga) / 1_000_000);
+        long inicioReconstrucao = System.nanoTime();
+        int linhas = vendaDiariaService.reconstruir();
+        log.info("Reconstrução de vendas diárias ({} linhas): {} ms", linhas,
+                (System.nanoTime() - inicioReconstrucao) / 1_000_000);
+
+        medir("vendas-por-restaurante", () -> relatorioService.relatorioVendasPorRestaurante(INICIO, FIM));
+        medir("produtos-mais-vendidos", () -> relatorioService.relatorioProdutosMaisVendidos(10, INICIO, FIM));
+        medir("clientes-ativos", () -> relatorioService.relatorioClientesAtivos(10, INICIO, FIM));
+        medir("pedidos-por-periodo (mes)", () -> relatorioService.relatorioPedidosPorPeriodo(INICIO, FIM, "mes"));
+        medir("resumo-vendas", () -> relatorioService.resumoVendas(INICIO, FIM));
+        medir("resumo-vendas (1 semana)", () -> relatorioService.resumoVendas(
+                LocalDate.of(2020, 6, 1), LocalDate.of(2020, 6, 7)));
+    }
+
+    // Mede só a primeira execução: o H2 reaproveita o resultado de uma consulta idêntica sobre tabelas inalteradas
+    private void medir(String nome, Supplier<?> relatorio) {
+        long inicio = System.nanoTime();
+        relatorio.get();
+        log.info("Relatório {}: {} ms", nome, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Gera pedidos entregues (um item cada) espalhados por 2020, via JDBC em lote.
+     * IDs começam bem acima das sequences para não colidir com os inserts do Hibernate.
+     */
+    private void gerarPedidos(int volume, int restaurantes, int clientes, int produtos) {
+        List<Long> clienteIds = new ArrayList<>();
+        for (int i = 0; i < clientes; i++) {
+            clienteIds.add(novoCliente("Cliente Volume " + i).getId());
+        }
+        List<Produto> cardapio = new ArrayList<>();
+        for (int r = 0; r < restaurantes; r++) {
+            Restaurante restaurante = novoRestaurante("Restaurante Volume " + r);
+            for (int p = 0; p < produtos / restaurantes; p++) {
+                cardapio.add(novoProduto("Produto Volume " + r + "-" + p, String.valueOf(10 + p), restaurante));
+            }
+        }
+
+        Random random = new Random(42);
+        long baseId = 1_000_000_000L;
+        int lote = 10_000;
+        for (int inicio = 0; inicio < volume; inicio += lote) {
+            List<Object[]> pedidos = new ArrayList<>(lote);
+            List<Object[]> itens = new ArrayList<>(lote);
+            for (int i = inicio; i < Math.min(inicio + lote, volume); i++) {
+                Produto produto = cardapio.get(random.nextInt(cardapio.size()));
+                int quantidade = 1 + random.nextInt(3);
+                BigDecimal total = produto.getPreco().multiply(BigDecimal.valueOf(quantidade));
+                LocalDateTime data = INICIO.atStartOfDay().plusMinutes(random.nextInt(366 * 24 * 60));
+                StatusPedido status = random.nextInt(10) == 0 ? StatusPedido.CANCELADO : StatusPedido.ENTREGUE;
+                pedidos.add(new Object[] { baseId + i, clienteIds.get(random.nextInt(clienteIds.size())),
+                        produto.getRestaurante().getId(), status.name(), total, "Rua Volume", Timestamp.valueOf(data) });
+                itens.add(new Object[] { baseId + i, baseId + i, produto.getId(), quantidade, produto.getPreco(), total });
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO pedido (id, cliente_id, restaurante_id, status, total, "
+                    + "endereco_entrega, data_pedido) VALUES (?, ?, ?, ?, ?, ?, ?)", pedidos);
+            jdbcTemplate.batchUpdate("INSERT INTO item_pedido (id, pedido_id, produto_id, quantidade, "
+                    + "preco_unitario, subtotal) VALUES (?, ?, ?, ?, ?, ?)", itens);
+        }
+    }
+
+    private Cliente novoCliente(String nome) {
+        return clienteRepository.save(Cliente.builder()
+                .nome(nome)
+                .email("relatorio" + System.nanoTime() + "@email.com")
+                .telefone("11999999999")
+                .endereco("Rua do Teste, 100")
+                .build());
+    }
+
+    private Restaurante novoRestaurante(String nome) {
+        return restauranteRepository.save(Restaurante.builder()
+                .nome(nome)
+                .telefone("1133334444")
+                .TaxaEntrega(new BigDecimal("4.00"))
+                .build());
+    }
+
+    private Produto novoProduto(String nome, String preco, Restaurante restaurante) {
+        return produtoRepository.save(Produto.builder()
+                .nome(nome)
+                .categoria("Teste")
+                .preco(new BigDecimal(preco))
+                .restaurante(restaurante)
+                .build());
+    }
+
+    private Pedido novoPedido(Cliente cliente, Produto produto, int quantidade, StatusPedido status, LocalDateTime data) {
+        Pedido pedido = Pedido.builder()
+                .cliente(cliente)
+                .restaurante(produto.getRestaurante())
+                .status(status)
+                .dataPedido(data)
+                .enderecoEntrega("Rua do Teste, 100")
+                .itens(new ArrayList<>())
+                .build();
+        ItemPedido item = ItemPedido.builder().produto(produto).quantidade(quantidade).build();
+        item.inicializarPrecoUnitario();
+        item.calcularSubtotal();
+        pedido.adicionarItem(item);
+        return pedidoRepository.save(pedido);
+    }
+}
@@ -0,0 +1,118 @@
+package com.deliverytech.delivery_api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.deliverytech.delivery_api.busca.IndiceHorarios;
+import com.deliverytech.delivery_api.dto.request.ExpedienteRequest;
+import com.deliverytech.delivery_api.dto.request.ProdutoRequest;
+import com.deliverytech.delivery_api.dto.request.RestauranteRequest;
+import com.deliverytech.delivery_api.dto.response.PaginaResponse;
+import com.deliverytech.delivery_api.dto.response.RestauranteResponse;
+import com.deliverytech.delivery_api.model.Restaurante;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Filtro "aberto agora" pelos horários compilados: acompanha cadastro e alteração
+ * e não acrescenta SQL às listagens.
+ */
+@SpringBootTest
+class RestauranteAbertosTest {
+
+    @Autowired
+    private RestauranteService restauranteService;
+    @Autowired
+    private ProdutoService produtoService;
+    @Autowired
+    private IndiceHorarios indiceHorarios;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void listagensFiltramAbertosSemConsultasExtras() {
+        DayOfWeek hoje = indiceHorarios.agora().getDayOfWeek();
+        // 24 h todos os dias; só daqui a três dias; 24 h, mas inativado
+        Restaurante aberto = cadastrar("Sempre Aberto", DayOfWeek.values());
+        Restaurante fechado = cadastrar("Abre Outro Dia", hoje.plus(3));
+        Restaurante inativo = cadastrar("Aberto Mas Inativo", DayOfWeek.values());
+        restauranteService.inativar(inativo.getId());
+
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.setStatisticsEnabled(true);
+        estatisticas.clear();
+        PaginaResponse<RestauranteResponse> pagina = restauranteService.listarAtivos(aberto.getId() - 1, 100, true);
+        long comandosListagem = estatisticas.getPrepareStatementCount();
+        estatisticas.clear();
+        List<Restaurante> comProdutos = restauranteService.buscarComProdutosDisponiveis(true);
+        long comandosComProdutos = estatisticas.getPrepareStatementCount();
+        estatisticas.setStatisticsEnabled(false);
+
+        assertThat(pagina.getConteudo()).extracting(RestauranteResponse::getId)
+                .contains(aberto.getId())
+                .doesNotContain(fechado.getId(), inativo.getId());
+        assertThat(comandosListagem).isEqualTo(1);
+        assertThat(comProdutos).extracting(Restaurante::getId)
+                .contains(aberto.getId())
+                .doesNotContain(fechado.getId(), inativo.getId());
+        assertThat(comandosComProdutos).isEqualTo(1);
+        assertThat(restauranteService.buscarComProdutosDisponiveis(false)).extracting(Restaurante::getId)
+                .contains(aberto.getId(), fechado.getId());
+
+        // Passa a abrir hoje o dia todo
+        restauranteService.atualizar(fechado.getId(), request("Abre Outro Dia", fechado.getCnpj(), hoje));
+        assertThat(restauranteService.listarAtivos(aberto.getId() - 1, 100, true).getConteudo())
+                .extracting(RestauranteResponse::getId)
+                .contains(aberto.getId(), fechado.getId());
+    }
+
+    private Restaurante cadastrar(String nome, DayOfWeek... dias) {
+        Restaurante restaurante = restauranteService.cadastrar(request(nome, cnpj(System.nanoTime()), dias));
+        produtoService.cadastrar(ProdutoRequest.builder()
+                .nome("Prato " + nome)
+                .categoria("Lanches")
+                .preco(new BigDecimal("20.00"))
+                .restauranteId(restaurante.getId())
+                .build());
+        return restaurante;
+    }
+
+    private static RestauranteRequest request(String nome, String cnpj, DayOfWeek... dias) {
+        return RestauranteRequest.builder()
+                .nome(nome)
+                .cnpj(cnpj)
+                .endereco("Rua do Teste, 100")
+                .telefone("1133334444")
+                .especialidade("Lanches")
+                .horarioFuncionamento("Conforme expedientes")
+                .expedientes(Arrays.stream(dias)
+                        .map(dia -> new ExpedienteRequest(dia, LocalTime.MIDNIGHT, LocalTime.MIDNIGHT))
+                        .toList())
+                .build();
+    }
+
+    // 12 dígitos da base seguidos dos dois dígitos verificadores
+    private static String cnpj(long base) {
+        StringBuilder cnpj = new StringBuilder(String.format("%012d", base % 1_000_000_000_000L));
+        for (int tamanho = 12; tamanho <= 13; tamanho++) {
+            int soma = 0;
+            for (int i = 0; i < tamanho; i++) {
+                soma += (cnpj.charAt(i) - '0') * ((tamanho - 1 - i) % 8 + 2);
+            }
+            int resto = soma % 11;
+            cnpj.append(resto < 2 ? 0 : 11 - resto);
+        }
+        return cnpj.toString();
+    }
+}
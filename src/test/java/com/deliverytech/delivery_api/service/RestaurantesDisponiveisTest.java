@@ -0,0 +1,114 @@
+package com.deliverytech.delivery_api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.deliverytech.delivery_api.busca.IndiceDisponibilidade;
+import com.deliverytech.delivery_api.dto.request.ProdutoRequest;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Conjunto de restaurantes com produtos disponíveis: contadores acompanham cadastro, disponibilidade
+ * e exclusão; a reconciliação incorpora gravações feitas fora do serviço.
+ */
+@SpringBootTest
+class RestaurantesDisponiveisTest {
+
+    @Autowired
+    private RestauranteService restauranteService;
+    @Autowired
+    private ProdutoService produtoService;
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+    @Autowired
+    private ProdutoRepository produtoRepository;
+    @Autowired
+    private IndiceDisponibilidade indiceDisponibilidade;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void contadoresAcompanhamAsAlteracoesDosProdutos() {
+        Restaurante restaurante = restaurante("Restaurante Disponibilidade");
+        Produto lanche = produtoService.cadastrar(request(restaurante, "Lanche"));
+        Produto suco = produtoService.cadastrar(request(restaurante, "Suco"));
+        assertThat(indiceDisponibilidade.disponiveis(restaurante.getId())).isEqualTo(2);
+
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.setStatisticsEnabled(true);
+        estatisticas.clear();
+        assertThat(restauranteService.buscarComProdutosDisponiveis(false))
+                .extracting(Restaurante::getId).contains(restaurante.getId());
+        // Só os restaurantes do conjunto, pela chave primária
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+        estatisticas.setStatisticsEnabled(false);
+
+        // O cardápio disponível usa a mesma definição do conjunto
+        assertThat(produtoService.listarDisponiveisPorRestaurante(restaurante.getId()))
+                .extracting(Produto::getId).containsExactlyInAnyOrder(lanche.getId(), suco.getId());
+
+        produtoService.alterarDisponibilidade(lanche.getId());
+        assertThat(indiceDisponibilidade.restaurantes()).contains(restaurante.getId());
+        assertThat(produtoService.listarDisponiveisPorRestaurante(restaurante.getId()))
+                .extracting(Produto::getId).containsExactly(suco.getId());
+        produtoService.alterarDisponibilidade(suco.getId());
+        assertThat(indiceDisponibilidade.restaurantes()).doesNotContain(restaurante.getId());
+        assertThat(restauranteService.buscarComProdutosDisponiveis(false))
+                .extracting(Restaurante::getId).doesNotContain(restaurante.getId());
+
+        produtoService.alterarDisponibilidade(suco.getId());
+        assertThat(indiceDisponibilidade.disponiveis(restaurante.getId())).isEqualTo(1);
+        produtoService.excluir(suco.getId());
+        // Excluir um indisponível não mexe no contador
+        produtoService.excluir(lanche.getId());
+        assertThat(indiceDisponibilidade.disponiveis(restaurante.getId())).isZero();
+        assertThat(indiceDisponibilidade.restaurantes()).doesNotContain(restaurante.getId());
+    }
+
+    @Test
+    void reconciliacaoIncorporaGravacoesDiretas() {
+        Restaurante restaurante = restaurante("Restaurante Reconciliação");
+        produtoRepository.save(Produto.builder()
+                .nome("Gravado Direto")
+                .categoria("Lanches")
+                .preco(new BigDecimal("9.00"))
+                .restaurante(restaurante)
+                .build());
+        assertThat(indiceDisponibilidade.restaurantes()).doesNotContain(restaurante.getId());
+
+        indiceDisponibilidade.reconstruir();
+
+        assertThat(indiceDisponibilidade.disponiveis(restaurante.getId())).isEqualTo(1);
+        assertThat(restauranteService.buscarComProdutosDisponiveis(false))
+                .extracting(Restaurante::getId).contains(restaurante.getId());
+    }
+
+    private Restaurante restaurante(String nome) {
+        return restauranteRepository.save(Restaurante.builder()
+                .nome(nome)
+                .telefone("1133334444")
+                .TaxaEntrega(new BigDecimal("4.00"))
+                .build());
+    }
+
+    private static ProdutoRequest request(Restaurante restaurante, String nome) {
+        return ProdutoRequest.builder()
+                .nome(nome)
+                .categoria("Lanches")
+                .preco(new BigDecimal("12.00"))
+                .restauranteId(restaurante.getId())
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.deliverytech.delivery_api.validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class ValidacoesTest {
+
+    @Test
+    void formatosDeCepETelefone() {
+        assertThat(Validacoes.isCep("01310-100")).isTrue();
+        assertThat(Validacoes.isCep("01310100")).isTrue();
+        assertThat(Validacoes.isCep("01310 100")).isFalse();
+        assertThat(Validacoes.isCep("0131010A")).isFalse();
+        assertThat(Validacoes.isCep("013101000")).isFalse();
+
+        assertThat(Validacoes.isTelefone("(11) 99999-9999")).isTrue();
+        assertThat(Validacoes.isTelefone("11999999999")).isTrue();
+        assertThat(Validacoes.isTelefone("(11)99999-9999")).isFalse();
+        assertThat(Validacoes.isTelefone("(11) 9999-99999")).isFalse();
+        assertThat(Validacoes.isTelefone("1199999999")).isFalse();
+
+        assertThat(Validacoes.isSomenteDigitos("1133334444", 10, 11)).isTrue();
+        assertThat(Validacoes.isSomenteDigitos("113333444", 10, 11)).isFalse();
+        assertThat(Validacoes.isSomenteDigitos("11 3333444", 10, 11)).isFalse();
+    }
+
+    @Test
+    void categoriaSemDiferenciarMaiusculas() {
+        assertThat(Validacoes.isCategoriaPermitida("Pizzaria")).isTrue();
+        assertThat(Validacoes.isCategoriaPermitida("saudável")).isTrue();
+        assertThat(Validacoes.isCategoriaPermitida("doces e bolos")).isTrue();
+        assertThat(Validacoes.isCategoriaPermitida("Churrascaria")).isFalse();
+    }
+
+    @Test
+    void cnpjConfereDigitosVerificadores() {
+        assertThat(Validacoes.isCnpj("11222333000181")).isTrue();
+        assertThat(Validacoes.isCnpj("11444777000161")).isTrue();
+        assertThat(Validacoes.isCnpj("11222333000182")).isFalse();
+        assertThat(Validacoes.isCnpj("11222333000191")).isFalse();
+        assertThat(Validacoes.isCnpj("00000000000000")).isFalse();
+        assertThat(Validacoes.isCnpj("11.222.333/0001-81")).isFalse();
+        assertThat(Validacoes.isCnpj("1122233300018")).isFalse();
+    }
+}